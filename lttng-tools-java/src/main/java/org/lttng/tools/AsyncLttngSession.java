@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous view of a {@link ILttngSession}, obtained with
+ * {@link ILttngSession#async(Executor)}. Every operation is run on the
+ * executor, and returns a future of what the corresponding session method
+ * returns.
+ *
+ * Operations on one session are run one after the other, in the order in
+ * which they were requested, so that for example a "start" requested after
+ * an "enable" sees the event enabled. Operations on different sessions can
+ * run concurrently.
+ */
+public final class AsyncLttngSession {
+
+    private final ILttngSession session;
+    private final Executor executor;
+
+    /* The last operation that was requested, guarded by "this" */
+    private CompletableFuture<?> lastOperation = CompletableFuture.completedFuture(null);
+
+    /**
+     * Constructor
+     *
+     * @param session
+     *            The session on which to run the operations
+     * @param executor
+     *            The executor on which to run the operations
+     */
+    AsyncLttngSession(ILttngSession session, Executor executor) {
+        this.session = session;
+        this.executor = executor;
+    }
+
+    /**
+     * @return The wrapped session
+     */
+    public ILttngSession getSession() {
+        return session;
+    }
+
+    /**
+     * Enable an individual event, specifying a loglevel and filter string.
+     *
+     * @param eventName
+     *            The name of the event to enable
+     * @param loglevel
+     *            The loglevel, will be passed as-is to lttng. May be null to
+     *            not specify it.
+     * @param loglevelOnly
+     *            True to use this log level only (--loglevel-only), or false to
+     *            include all more severe levels (--loglevel). Ignored if
+     *            "loglevel" is null.
+     * @param filter
+     *            The filter string, may be null to not specify one.
+     * @return A future of whether the command executed successfully
+     *         (return code = 0)
+     * @see ILttngSession#enableEvent(String, String, boolean, String)
+     */
+    public CompletableFuture<Boolean> enableEvent(String eventName, String loglevel, boolean loglevelOnly, String filter) {
+        return submit(() -> Boolean.valueOf(session.enableEvent(eventName, loglevel, loglevelOnly, filter)));
+    }
+
+    /**
+     * Enable individual event(s) with no loglevel/filter specified.
+     *
+     * @param enabledEvents
+     *            The list of events to enable. Should not be null or empty
+     * @return A future of whether the command executed successfully
+     *         (return code = 0)
+     * @see ILttngSession#enableEvents(String...)
+     */
+    public CompletableFuture<Boolean> enableEvents(String... enabledEvents) {
+        return submit(() -> Boolean.valueOf(session.enableEvents(enabledEvents)));
+    }
+
+    /**
+     * Enable all events in the session (as with "enable-event -a").
+     *
+     * @return A future of whether the command executed successfully
+     *         (return code = 0)
+     * @see ILttngSession#enableAllEvents()
+     */
+    public CompletableFuture<Boolean> enableAllEvents() {
+        return submit(() -> Boolean.valueOf(session.enableAllEvents()));
+    }
+
+    /**
+     * Send a disable-event command.
+     *
+     * @param disabledEvents
+     *            The list of disabled events. Should not be null or empty
+     * @return A future of whether the command executed successfully
+     *         (return code = 0)
+     * @see ILttngSession#disableEvents(String...)
+     */
+    public CompletableFuture<Boolean> disableEvents(String... disabledEvents) {
+        return submit(() -> Boolean.valueOf(session.disableEvents(disabledEvents)));
+    }
+
+    /**
+     * Disable all events currently enabled in the session.
+     *
+     * @return A future of whether the command executed successfully
+     *         (return code = 0)
+     * @see ILttngSession#disableAllEvents()
+     */
+    public CompletableFuture<Boolean> disableAllEvents() {
+        return submit(() -> Boolean.valueOf(session.disableAllEvents()));
+    }
+
+    /**
+     * Enable an application context in the session.
+     *
+     * @param retrieverName
+     *            The name of the retriever, or "provider", of the app context
+     * @param contextName
+     *            The name of the context
+     * @return A future of whether the command executed successfully
+     *         (return code = 0)
+     * @see ILttngSession#enableAppContext(String, String)
+     */
+    public CompletableFuture<Boolean> enableAppContext(String retrieverName, String contextName) {
+        return submit(() -> Boolean.valueOf(session.enableAppContext(retrieverName, contextName)));
+    }
+
+    /**
+     * Start tracing.
+     *
+     * @return A future of whether the command executed successfully
+     *         (return code = 0)
+     * @see ILttngSession#start()
+     */
+    public CompletableFuture<Boolean> start() {
+        return submit(() -> Boolean.valueOf(session.start()));
+    }
+
+    /**
+     * Stop tracing.
+     *
+     * @return A future of whether the command executed successfully
+     *         (return code = 0)
+     * @see ILttngSession#stop()
+     */
+    public CompletableFuture<Boolean> stop() {
+        return submit(() -> Boolean.valueOf(session.stop()));
+    }
+
+    /**
+     * Get the current content of the trace in text form.
+     *
+     * @return A future of the output of Babeltrace on the session's trace
+     * @see ILttngSession#view()
+     */
+    public CompletableFuture<List<String>> view() {
+        return submit(session::view);
+    }
+
+    /**
+     * Same as {@link ILttngSession#viewEvents()}, but with all the events
+     * read before the future completes.
+     *
+     * @return A future of the events of the session's current trace, or of
+     *         null if the trace could not be viewed
+     * @see ILttngSession#viewEvents()
+     */
+    public CompletableFuture<List<TraceEvent>> viewEvents() {
+        return submit(() -> {
+            try (Stream<TraceEvent> events = session.viewEvents()) {
+                return (events == null ? null : events.collect(Collectors.toList()));
+            }
+        });
+    }
+
+    /**
+     * Destroy the session.
+     *
+     * @return A future completing once the session is destroyed
+     * @see ILttngSession#close()
+     */
+    public CompletableFuture<Void> close() {
+        return submit(() -> {
+            session.close();
+            return null;
+        });
+    }
+
+    /**
+     * Run an operation on several sessions concurrently, and wait until it
+     * completed on all of them. Operations requested earlier on the same
+     * session, like enabling events, are completed first.
+     *
+     * @param sessions
+     *            The sessions
+     * @param operation
+     *            The operation to run, for example AsyncLttngSession::start
+     * @return If the operation succeeded on all the sessions
+     */
+    public static boolean forAll(List<AsyncLttngSession> sessions,
+            Function<AsyncLttngSession, CompletableFuture<Boolean>> operation) {
+        List<CompletableFuture<Boolean>> results = sessions.stream()
+                .map(operation)
+                .collect(Collectors.toList());
+        boolean success = true;
+        for (CompletableFuture<Boolean> result : results) {
+            success &= result.join().booleanValue();
+        }
+        return success;
+    }
+
+    private synchronized <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        /* Run after the previous operation, whether it succeeded or not */
+        CompletableFuture<T> future = lastOperation
+                .handle((result, exception) -> null)
+                .thenApplyAsync(ignored -> operation.get(), executor);
+        lastOperation = future;
+        return future;
+    }
+}
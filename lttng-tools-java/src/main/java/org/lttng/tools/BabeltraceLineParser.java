@@ -0,0 +1,503 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser of the text lines printed by Babeltrace (1 or 2), for example:
+ *
+ * <pre>
+ * [13:37:00.123456789] (+0.000001000) host lttng_jul:event: { cpu_id = 0 }, { _app_retriever_context = { "value" } }, { msg = "Hello", logger_name = "org.lttng", int_loglevel = 800 }
+ * </pre>
+ *
+ * The line is scanned once, character by character, without regular
+ * expressions or intermediate substrings. The last group of fields is the
+ * payload, the ones before are contexts.
+ */
+final class BabeltraceLineParser {
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    /**
+     * Thrown internally when the line does not have the expected format
+     */
+    private static final class InvalidLineException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        InvalidLineException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final InvalidLineException INVALID_LINE = new InvalidLineException();
+
+    private final String line;
+    private final int length;
+    private int pos = 0;
+
+    /* Timestamp of the event, set by parseTimestamp() */
+    private long epochNanos;
+    private long timeOfDayNanos;
+
+    private BabeltraceLineParser(String line) {
+        this.line = line;
+        this.length = line.length();
+    }
+
+    /**
+     * Parse one line.
+     *
+     * @param line
+     *            The text line
+     * @return The event, or null if the line is not an event
+     */
+    static TraceEvent parse(String line) {
+        if (line == null) {
+            return null;
+        }
+        try {
+            return new BabeltraceLineParser(line).parseEvent();
+        } catch (InvalidLineException e) {
+            return null;
+        }
+    }
+
+    private TraceEvent parseEvent() throws InvalidLineException {
+        skipSpaces();
+        expect('[');
+        parseTimestamp();
+        expect(']');
+
+        /* Optional delta with the previous event */
+        skipSpaces();
+        if (peek() == '(') {
+            while (pos < length && line.charAt(pos) != ')') {
+                pos++;
+            }
+            expect(')');
+        }
+
+        /*
+         * Optional host name, then the event name, which is followed by a
+         * colon. The event name itself may contain colons.
+         */
+        skipSpaces();
+        int nameStart = pos;
+        int nameEnd = -1;
+        while (pos < length) {
+            char c = line.charAt(pos);
+            if (c == ' ') {
+                nameStart = pos + 1;
+            } else if (c == ':' && (pos + 1 == length || line.charAt(pos + 1) == ' ')) {
+                nameEnd = pos;
+                pos++;
+                break;
+            }
+            pos++;
+        }
+        if (nameEnd <= nameStart) {
+            throw INVALID_LINE;
+        }
+        String name = line.substring(nameStart, nameEnd);
+
+        Map<String, Object> context = new LinkedHashMap<>();
+        Map<String, Object> payload = Collections.emptyMap();
+        while (true) {
+            skipSpaces();
+            if (pos >= length) {
+                break;
+            }
+            if (line.charAt(pos) == ',') {
+                pos++;
+                continue;
+            }
+            Object group = parseValue();
+            if (!(group instanceof Map)) {
+                throw INVALID_LINE;
+            }
+            context.putAll(payload);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> fields = (Map<String, Object>) group;
+            payload = fields;
+        }
+
+        return TraceEvent.fromFields(epochNanos, timeOfDayNanos, name, payload, context);
+    }
+
+    /**
+     * Parse a timestamp in one of the forms "HH:MM:SS.nnnnnnnnn",
+     * "YYYY-MM-DD HH:MM:SS.nnnnnnnnn" or "SSSSSSSSSS.nnnnnnnnn". Babeltrace
+     * prints the dates and times in the local time zone by default.
+     */
+    private void parseTimestamp() throws InvalidLineException {
+        long seconds = 0;
+        long current = 0;
+        boolean digits = false;
+        boolean hasTime = false;
+        int[] date = new int[3];
+        int nbDateFields = 0;
+        while (pos < length) {
+            char c = line.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                current = current * 10 + (c - '0');
+                digits = true;
+            } else if (c == ':') {
+                seconds = (seconds + current) * 60;
+                current = 0;
+                hasTime = true;
+            } else if ((c == '-' && nbDateFields < 2) || (c == ' ' && nbDateFields == 2)) {
+                date[nbDateFields++] = (int) current;
+                current = 0;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        if (!digits || (nbDateFields != 0 && nbDateFields != 3)) {
+            throw INVALID_LINE;
+        }
+        seconds += current;
+
+        long nanos = 0;
+        if (peek() == '.') {
+            pos++;
+            int nbDigits = 0;
+            while (pos < length && line.charAt(pos) >= '0' && line.charAt(pos) <= '9') {
+                if (nbDigits < 9) {
+                    nanos = nanos * 10 + (line.charAt(pos) - '0');
+                    nbDigits++;
+                }
+                pos++;
+            }
+            for (; nbDigits < 9; nbDigits++) {
+                nanos *= 10;
+            }
+        }
+
+        if (!hasTime) {
+            /* Seconds since the Epoch */
+            epochNanos = seconds * NANOS_PER_SECOND + nanos;
+            timeOfDayNanos = TraceEvent.toTimeOfDay(epochNanos);
+            return;
+        }
+
+        timeOfDayNanos = seconds * NANOS_PER_SECOND + nanos;
+        if (nbDateFields == 0) {
+            epochNanos = -1;
+            return;
+        }
+        try {
+            Instant instant = LocalDate.of(date[0], date[1], date[2])
+                    .atTime(LocalTime.ofNanoOfDay(timeOfDayNanos))
+                    .atZone(ZoneId.systemDefault())
+                    .toInstant();
+            epochNanos = instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+        } catch (DateTimeException e) {
+            throw INVALID_LINE;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Values
+    // ------------------------------------------------------------------------
+
+    private Object parseValue() throws InvalidLineException {
+        skipSpaces();
+        switch (peek()) {
+        case '"':
+            return parseString();
+        case '{':
+            return parseCompound();
+        case '[':
+            return parseList();
+        case '(':
+            return parseEnum();
+        default:
+            return parseScalar();
+        }
+    }
+
+    /**
+     * Parse a structure, array or variant between braces. Structures are
+     * returned as maps. Babeltrace 1 prints arrays as "{ [0] = a, [1] = b }",
+     * which are returned as lists, and variants as "{ value }", for which the
+     * value is returned directly.
+     */
+    private Object parseCompound() throws InvalidLineException {
+        expect('{');
+        Map<String, Object> fields = new LinkedHashMap<>();
+        List<Object> elements = null;
+        Object bareValue = null;
+        boolean hasBareValue = false;
+
+        while (true) {
+            skipSpaces();
+            char c = peek();
+            if (c == '}') {
+                pos++;
+                break;
+            }
+            if (c == ',') {
+                pos++;
+                continue;
+            }
+
+            if (c == '[' && isArrayIndex()) {
+                /* "[index] = value" */
+                while (line.charAt(pos) != ']') {
+                    pos++;
+                }
+                pos++;
+                skipSpaces();
+                expect('=');
+                if (elements == null) {
+                    elements = new ArrayList<>();
+                }
+                elements.add(parseValue());
+                continue;
+            }
+
+            int fieldNameEnd = scanFieldName();
+            if (fieldNameEnd > 0) {
+                String fieldName = line.substring(pos, fieldNameEnd);
+                pos = fieldNameEnd;
+                skipSpaces();
+                expect('=');
+                fields.put(fieldName, parseValue());
+                continue;
+            }
+
+            bareValue = parseValue();
+            hasBareValue = true;
+        }
+
+        if (elements != null) {
+            return elements;
+        }
+        if (hasBareValue && fields.isEmpty()) {
+            return bareValue;
+        }
+        return fields;
+    }
+
+    private List<Object> parseList() throws InvalidLineException {
+        expect('[');
+        List<Object> elements = new ArrayList<>();
+        while (true) {
+            skipSpaces();
+            char c = peek();
+            if (c == ']') {
+                pos++;
+                return elements;
+            }
+            if (c == ',') {
+                pos++;
+                continue;
+            }
+            elements.add(parseValue());
+        }
+    }
+
+    /**
+     * Parse an enumeration value, printed as "( "label" : container = 1 )",
+     * and return its integer value.
+     */
+    private Object parseEnum() throws InvalidLineException {
+        expect('(');
+        Object value = null;
+        while (true) {
+            skipSpaces();
+            char c = peek();
+            if (c == ')') {
+                pos++;
+                return value;
+            }
+            if (c == '"') {
+                parseString();
+            } else if (c == '=') {
+                pos++;
+                value = parseValue();
+            } else if (c == '\0') {
+                throw INVALID_LINE;
+            } else {
+                pos++;
+            }
+        }
+    }
+
+    private String parseString() throws InvalidLineException {
+        expect('"');
+        StringBuilder sb = null;
+        int start = pos;
+        while (pos < length) {
+            char c = line.charAt(pos);
+            if (c == '"') {
+                String value = (sb == null ? line.substring(start, pos) : sb.append(line, start, pos).toString());
+                pos++;
+                return value;
+            }
+            if (c == '\\' && pos + 1 < length) {
+                if (sb == null) {
+                    sb = new StringBuilder();
+                }
+                sb.append(line, start, pos);
+                sb.append(unescape(line.charAt(pos + 1)));
+                pos += 2;
+                start = pos;
+                continue;
+            }
+            pos++;
+        }
+        throw INVALID_LINE;
+    }
+
+    private static char unescape(char c) {
+        switch (c) {
+        case 'n':
+            return '\n';
+        case 't':
+            return '\t';
+        case 'r':
+            return '\r';
+        default:
+            return c;
+        }
+    }
+
+    /**
+     * Parse a number, or any other unquoted token, which is returned as a
+     * string.
+     */
+    private Object parseScalar() throws InvalidLineException {
+        int start = pos;
+        while (pos < length) {
+            char c = line.charAt(pos);
+            if (c == ',' || c == ' ' || c == '}' || c == ']' || c == ')') {
+                break;
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw INVALID_LINE;
+        }
+        return toNumber(start, pos);
+    }
+
+    private Object toNumber(int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (line.charAt(i) == '-' || line.charAt(i) == '+') {
+            negative = (line.charAt(i) == '-');
+            i++;
+        }
+        if (i == end) {
+            return line.substring(start, end);
+        }
+
+        if (end - i > 2 && line.charAt(i) == '0' && (line.charAt(i + 1) == 'x' || line.charAt(i + 1) == 'X')) {
+            long value = 0;
+            for (int j = i + 2; j < end; j++) {
+                int digit = Character.digit(line.charAt(j), 16);
+                if (digit < 0) {
+                    return line.substring(start, end);
+                }
+                value = (value << 4) | digit;
+            }
+            return Long.valueOf(negative ? -value : value);
+        }
+
+        long value = 0;
+        for (int j = i; j < end; j++) {
+            char c = line.charAt(j);
+            if (c < '0' || c > '9') {
+                /* Not an integer, maybe a floating point number */
+                try {
+                    return Double.valueOf(line.substring(start, end));
+                } catch (NumberFormatException e) {
+                    return line.substring(start, end);
+                }
+            }
+            value = value * 10 + (c - '0');
+        }
+        return Long.valueOf(negative ? -value : value);
+    }
+
+    // ------------------------------------------------------------------------
+    // Scanning
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return The end of the field name at the current position, if it is
+     *         followed by " =", or -1 if there is no field name here
+     */
+    private int scanFieldName() {
+        int i = pos;
+        while (i < length) {
+            char c = line.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.' || c == ':')) {
+                break;
+            }
+            i++;
+        }
+        if (i == pos) {
+            return -1;
+        }
+        int end = i;
+        while (i < length && line.charAt(i) == ' ') {
+            i++;
+        }
+        return (i < length && line.charAt(i) == '=' ? end : -1);
+    }
+
+    private boolean isArrayIndex() {
+        int i = pos + 1;
+        while (i < length && line.charAt(i) >= '0' && line.charAt(i) <= '9') {
+            i++;
+        }
+        return (i > pos + 1 && i < length && line.charAt(i) == ']');
+    }
+
+    private char peek() {
+        return (pos < length ? line.charAt(pos) : '\0');
+    }
+
+    private void skipSpaces() {
+        while (pos < length && line.charAt(pos) == ' ') {
+            pos++;
+        }
+    }
+
+    private void expect(char c) throws InvalidLineException {
+        if (peek() != c) {
+            throw INVALID_LINE;
+        }
+        pos++;
+    }
+}
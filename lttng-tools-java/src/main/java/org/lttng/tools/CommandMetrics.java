@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.lttng.tools.utils.LatencyHistogram;
+
+/**
+ * Registry of metrics about the commands run by this library, which tells
+ * where the time of a test goes.
+ *
+ * It keeps one {@link LatencyHistogram} per type of command ("lttng create",
+ * "lttng view", ...), the number of processes spawned from the JVM, and the
+ * number of bytes of command output that were read. All the
+ * {@link ILttngSession} backends report into it, through the command
+ * executors of {@link org.lttng.tools.utils.ShellUtils}.
+ *
+ * Use {@link #snapshot()} before and after an operation, and
+ * {@link Snapshot#since(Snapshot)}, to get the metrics of that operation
+ * only.
+ */
+public final class CommandMetrics {
+
+    private static final ConcurrentMap<String, LatencyHistogram> COMMAND_LATENCIES = new ConcurrentHashMap<>();
+    private static final AtomicLong FORKS = new AtomicLong();
+    private static final AtomicLong OUTPUT_BYTES = new AtomicLong();
+
+    private CommandMetrics() {}
+
+    /**
+     * Record the execution of one command.
+     *
+     * @param command
+     *            The command, as a list of individual arguments
+     * @param durationNanos
+     *            How long the command took, in nanoseconds
+     */
+    public static void recordCommand(List<String> command, long durationNanos) {
+        String name = commandName(command);
+        LatencyHistogram histogram = COMMAND_LATENCIES.get(name);
+        if (histogram == null) {
+            histogram = COMMAND_LATENCIES.computeIfAbsent(name, k -> new LatencyHistogram());
+        }
+        histogram.record(durationNanos);
+    }
+
+    /**
+     * Record that a new process was spawned from the JVM.
+     */
+    public static void recordFork() {
+        FORKS.incrementAndGet();
+    }
+
+    /**
+     * Record that bytes of command output were read.
+     *
+     * @param bytes
+     *            The number of bytes
+     */
+    public static void recordOutputBytes(long bytes) {
+        OUTPUT_BYTES.addAndGet(bytes);
+    }
+
+    /**
+     * @return A copy of the current metrics
+     */
+    public static Snapshot snapshot() {
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        COMMAND_LATENCIES.forEach((name, histogram) -> latencies.put(name, histogram.copy()));
+        return new Snapshot(latencies, FORKS.get(), OUTPUT_BYTES.get());
+    }
+
+    /**
+     * Get the name under which a command is recorded: the executable's name,
+     * followed by the sub-command for "lttng", for example "lttng
+     * enable-event".
+     *
+     * @param command
+     *            The command, as a list of individual arguments
+     * @return The name of the command
+     */
+    static String commandName(List<String> command) {
+        if (command.isEmpty()) {
+            return "";
+        }
+        String executable = command.get(0);
+        executable = executable.substring(executable.lastIndexOf('/') + 1);
+        if (executable.equals("lttng")) {
+            for (String arg : command.subList(1, command.size())) {
+                if (!arg.startsWith("-")) {
+                    return executable + ' ' + arg;
+                }
+            }
+        }
+        return executable;
+    }
+
+    /**
+     * Immutable copy of the metrics at one point in time.
+     */
+    public static final class Snapshot {
+
+        private final Map<String, LatencyHistogram> commandLatencies;
+        private final long forks;
+        private final long outputBytes;
+
+        Snapshot(Map<String, LatencyHistogram> commandLatencies, long forks, long outputBytes) {
+            this.commandLatencies = Collections.unmodifiableMap(commandLatencies);
+            this.forks = forks;
+            this.outputBytes = outputBytes;
+        }
+
+        /**
+         * @return The latency histogram of each type of command, sorted by
+         *         command name. They should not be modified.
+         */
+        public Map<String, LatencyHistogram> getCommandLatencies() {
+            return commandLatencies;
+        }
+
+        /**
+         * @return The number of processes spawned from the JVM
+         */
+        public long getForks() {
+            return forks;
+        }
+
+        /**
+         * @return The number of bytes of command output that were read
+         */
+        public long getOutputBytes() {
+            return outputBytes;
+        }
+
+        /**
+         * @return The total number of commands
+         */
+        public long getCommandCount() {
+            return commandLatencies.values().stream().mapToLong(LatencyHistogram::getTotalCount).sum();
+        }
+
+        /**
+         * Get the metrics recorded between an earlier snapshot and this one.
+         *
+         * @param earlier
+         *            The earlier snapshot
+         * @return The difference between the two snapshots
+         */
+        public Snapshot since(Snapshot earlier) {
+            Map<String, LatencyHistogram> latencies = new TreeMap<>();
+            commandLatencies.forEach((name, histogram) -> {
+                LatencyHistogram before = earlier.commandLatencies.get(name);
+                LatencyHistogram diff = (before == null ? histogram.copy() : histogram.since(before));
+                if (diff.getTotalCount() > 0) {
+                    latencies.put(name, diff);
+                }
+            });
+            return new Snapshot(latencies, forks - earlier.forks, outputBytes - earlier.outputBytes);
+        }
+
+        /**
+         * @return A human-readable table of these metrics, with one line per
+         *         type of command, the most time-consuming first
+         */
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%-24s %6s %10s %10s %10s %10s%n", "command", "count", "total ms", "p50 ms", "p99 ms", "max ms"));
+            commandLatencies.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().getTotalValue(), a.getValue().getTotalValue()))
+                    .forEach(entry -> {
+                        LatencyHistogram histogram = entry.getValue();
+                        sb.append(String.format("%-24s %6d %10.1f %10.1f %10.1f %10.1f%n",
+                                entry.getKey(),
+                                Long.valueOf(histogram.getTotalCount()),
+                                toMillis(histogram.getTotalValue()),
+                                toMillis(histogram.getValueAtPercentile(50)),
+                                toMillis(histogram.getValueAtPercentile(99)),
+                                toMillis(histogram.getMax())));
+                    });
+            sb.append(String.format("forks: %d, output bytes: %d", Long.valueOf(forks), Long.valueOf(outputBytes)));
+            return sb.toString();
+        }
+
+        private static Double toMillis(long nanos) {
+            return Double.valueOf((double) nanos / TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+}
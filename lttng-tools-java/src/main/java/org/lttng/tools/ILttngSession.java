@@ -19,6 +19,9 @@
 package org.lttng.tools;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Java representation of a LTTng tracing session.
@@ -27,6 +30,13 @@ import java.util.List;
  */
 public interface ILttngSession extends AutoCloseable {
 
+    /**
+     * System property to select how {@link #viewEvents()} reads the trace:
+     * "babeltrace" (the default) to parse the output of "lttng view", or
+     * "ctf" to read the trace files directly, without spawning Babeltrace.
+     */
+    String VIEW_READER_PROPERTY = "lttng.tools.viewReader";
+
     /**
      * Tracing domains as they are defined by lttng-tools
      */
@@ -96,6 +106,22 @@ public interface ILttngSession extends AutoCloseable {
         return new LttngCommandLineSession(sessionName, domain);
     }
 
+    /**
+     * Create a new LTTng tracing session, which will keep one shell process
+     * open for its whole lifetime and send all its "lttng" commands through
+     * it, instead of spawning a new process for every command.
+     *
+     * @param sessionName
+     *            The name of the session to use. It can be null, in which case
+     *            we will provide a unique random name.
+     * @param domain
+     *            The tracing domain of this session
+     * @return The new session object
+     */
+    static ILttngSession createShellSession(String sessionName, Domain domain) {
+        return new LttngShellSession(sessionName, domain);
+    }
+
     // ------------------------------------------------------------------------
     // AutoCloseable
     // ------------------------------------------------------------------------
@@ -106,6 +132,20 @@ public interface ILttngSession extends AutoCloseable {
     @Override
     void close();
 
+    /**
+     * Get an asynchronous view of this session, whose operations run on the
+     * given executor and return futures. Operations on the returned object
+     * are run in order, but operations on different sessions can run
+     * concurrently.
+     *
+     * @param executor
+     *            The executor on which to run the operations
+     * @return The asynchronous view of this session
+     */
+    default AsyncLttngSession async(Executor executor) {
+        return new AsyncLttngSession(this, executor);
+    }
+
     // ------------------------------------------------------------------------
     // Session management
     // ------------------------------------------------------------------------
@@ -162,6 +202,17 @@ public interface ILttngSession extends AutoCloseable {
      */
     boolean disableAllEvents();
 
+    /**
+     * Start a batch of event enabling/disabling operations. Nothing is sent to
+     * the session until {@link LttngEventBatch#apply()} is called, at which
+     * point similar operations are merged in as few commands as possible.
+     *
+     * @return A new, empty batch for this session
+     */
+    default LttngEventBatch batch() {
+        return new LttngEventBatch(this);
+    }
+
     /**
      * Get a list of events currently available (exposed by applications) in the
      * session's domain.
@@ -205,4 +256,34 @@ public interface ILttngSession extends AutoCloseable {
      * @return The output of Babeltrace on the session's current trace
      */
     List<String> view();
+
+    /**
+     * Same as {@link #view()}, but the lines are read as the returned stream
+     * is consumed, instead of loading the whole trace in memory. The stream
+     * should be closed after use, typically with a try-with-resources block.
+     *
+     * @return The output of Babeltrace on the session's current trace, as one
+     *         stream element per line
+     */
+    default Stream<String> viewStream() {
+        return view().stream();
+    }
+
+    /**
+     * Same as {@link #viewStream()}, but with each line parsed into a
+     * {@link TraceEvent}. Lines which are not events are skipped. The events
+     * are also parsed as the stream is consumed, and the stream should be
+     * closed after use, typically with a try-with-resources block.
+     *
+     * @return The events of the session's current trace, or null if the
+     *         trace could not be viewed
+     */
+    default Stream<TraceEvent> viewEvents() {
+        Stream<String> lines = viewStream();
+        if (lines == null) {
+            return null;
+        }
+        return lines.map(TraceEvent::parse)
+                .filter(Objects::nonNull);
+    }
 }
@@ -18,14 +18,18 @@
 
 package org.lttng.tools;
 
-import static org.lttng.tools.utils.ShellUtils.executeCommand;
-
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.lttng.tools.ctf.CtfTrace;
+import org.lttng.tools.utils.ShellCoprocess;
 import org.lttng.tools.utils.ShellUtils;
 
 /**
@@ -39,8 +43,9 @@ class LttngCommandLineSession implements ILttngSession {
 
     private final String sessionName;
     private final Domain domain;
+    final ShellCoprocess shell;
 
-    private volatile boolean channelCreated = false;
+    volatile boolean channelCreated = false;
 
     /**
      * Constructor to create a new LTTng tracing session.
@@ -52,6 +57,24 @@ class LttngCommandLineSession implements ILttngSession {
      *            The tracing domain of this session
      */
     public LttngCommandLineSession(String sessionName, Domain domain) {
+        this(sessionName, domain, null);
+    }
+
+    /**
+     * Constructor specifying the shell through which the "lttng" commands
+     * will be sent.
+     *
+     * @param sessionName
+     *            The name of the session to use. It can be null, in which case
+     *            we will provide a unique random name.
+     * @param domain
+     *            The tracing domain of this session
+     * @param shell
+     *            The shell process in which to run the commands, or null to
+     *            spawn a new process for every command
+     */
+    LttngCommandLineSession(String sessionName, Domain domain, ShellCoprocess shell) {
+        this.shell = shell;
         if (sessionName != null) {
             this.sessionName = sessionName;
         } else {
@@ -73,31 +96,7 @@ class LttngCommandLineSession implements ILttngSession {
     @Override
     public boolean enableEvent(String eventName, String loglevel, boolean loglevelOnly, String filter) {
         channelCreated = true;
-
-        List<String> command = new ArrayList<>();
-        command.add("lttng");
-        command.add("enable-event");
-        command.add(domain.flag());
-        command.add(eventName);
-
-        if (loglevel != null) {
-            if (loglevelOnly) {
-                command.add("--loglevel-only");
-            } else {
-                command.add("--loglevel");
-            }
-            command.add(loglevel);
-        }
-
-        if (filter != null) {
-            command.add("--filter");
-            command.add(filter);
-        }
-
-        command.add("-s");
-        command.add(sessionName);
-
-        return executeCommand(command);
+        return executeCommand(enableEventCommand(eventName, loglevel, loglevelOnly, filter));
     }
 
     @Override
@@ -124,10 +123,7 @@ class LttngCommandLineSession implements ILttngSession {
         if (disabledEvents == null || disabledEvents.length == 0) {
             throw new IllegalArgumentException();
         }
-        return executeCommand(Arrays.asList(
-                "lttng", "disable-event", domain.flag(),
-                Arrays.stream(disabledEvents).collect(Collectors.joining(",")),
-                "-s", sessionName));
+        return executeCommand(disableEventsCommand(Arrays.asList(disabledEvents)));
     }
 
     @Override
@@ -136,9 +132,38 @@ class LttngCommandLineSession implements ILttngSession {
                 "lttng", "disable-event", domain.flag(), "-a", "-s", sessionName));
     }
 
+    @Override
+    public LttngEventBatch batch() {
+        return new LttngEventBatch(this) {
+            @Override
+            boolean applyGroups(List<RuleGroup> groups) {
+                if (groups.stream().anyMatch(group -> group.enable)) {
+                    channelCreated = true;
+                }
+                List<List<String>> commands = groups.stream()
+                        .map(group -> (group.enable
+                                ? enableEventCommand(String.join(",", group.eventNames),
+                                        group.loglevel, group.loglevelOnly, group.filter)
+                                : disableEventsCommand(group.eventNames)))
+                        .collect(Collectors.toList());
+
+                /*
+                 * "lttng" has no batch mode, but we can at least send all the
+                 * commands through the same shell process.
+                 */
+                if (shell != null) {
+                    return executeCommands(shell, commands);
+                }
+                try (ShellCoprocess batchShell = new ShellCoprocess()) {
+                    return executeCommands(batchShell, commands);
+                }
+            }
+        };
+    }
+
     @Override
     public List<String> listEvents() {
-        List<String> output = ShellUtils.getOutputFromCommand(true, Arrays.asList("lttng", "list", domain.flag()));
+        List<String> output = getOutputFromCommand(true, Arrays.asList("lttng", "list", domain.flag()));
         return output.stream()
                 .map(e -> e.trim())
                 .filter(e -> e.startsWith("- "))
@@ -176,6 +201,91 @@ class LttngCommandLineSession implements ILttngSession {
 
     @Override
     public List<String> view() {
-        return ShellUtils.getOutputFromCommand(true, Arrays.asList("lttng", "view", sessionName));
+        return getOutputFromCommand(true, Arrays.asList("lttng", "view", sessionName));
+    }
+
+    @Override
+    public Stream<String> viewStream() {
+        List<String> command = Arrays.asList("lttng", "view", sessionName);
+        if (shell != null) {
+            return shell.streamOutputFromCommand(command);
+        }
+        return ShellUtils.streamOutputFromCommand(command);
+    }
+
+    @Override
+    public Stream<TraceEvent> viewEvents() {
+        if (!"ctf".equals(System.getProperty(VIEW_READER_PROPERTY))) {
+            return ILttngSession.super.viewEvents();
+        }
+        try {
+            Path trace = CtfTrace.findSessionTrace(sessionName);
+            if (trace == null) {
+                /* Nothing was written to the trace yet */
+                return Stream.empty();
+            }
+            return CtfTrace.open(trace).events().map(TraceEvent::fromCtf);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Private helper methods
+    // ------------------------------------------------------------------------
+
+    List<String> enableEventCommand(String eventName, String loglevel, boolean loglevelOnly, String filter) {
+        List<String> command = new ArrayList<>();
+        command.add("lttng");
+        command.add("enable-event");
+        command.add(domain.flag());
+        command.add(eventName);
+
+        if (loglevel != null) {
+            if (loglevelOnly) {
+                command.add("--loglevel-only");
+            } else {
+                command.add("--loglevel");
+            }
+            command.add(loglevel);
+        }
+
+        if (filter != null) {
+            command.add("--filter");
+            command.add(filter);
+        }
+
+        command.add("-s");
+        command.add(sessionName);
+        return command;
+    }
+
+    List<String> disableEventsCommand(List<String> disabledEvents) {
+        return Arrays.asList(
+                "lttng", "disable-event", domain.flag(),
+                String.join(",", disabledEvents),
+                "-s", sessionName);
+    }
+
+    static boolean executeCommands(ShellCoprocess commandShell, List<List<String>> commands) {
+        boolean success = true;
+        for (List<String> command : commands) {
+            success &= commandShell.executeCommand(command);
+        }
+        return success;
+    }
+
+    private boolean executeCommand(List<String> command) {
+        if (shell != null) {
+            return shell.executeCommand(command);
+        }
+        return ShellUtils.executeCommand(command);
+    }
+
+    private List<String> getOutputFromCommand(boolean print, List<String> command) {
+        if (shell != null) {
+            return shell.getOutputFromCommand(print, command);
+        }
+        return ShellUtils.getOutputFromCommand(print, command);
     }
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builder to enable and disable many events in a session at once, obtained
+ * with {@link ILttngSession#batch()}. For example:
+ *
+ * <pre>
+ * session.batch()
+ *         .enable("EventA")
+ *         .enable("EventB", "warning", false, null)
+ *         .disable("EventC")
+ *         .apply();
+ * </pre>
+ *
+ * Nothing is sent to the session until {@link #apply()} is called. At that
+ * point, consecutive rules that only differ by their event name are merged
+ * into a single command, and consecutive disabled events also get merged
+ * together. The order of enable and disable operations is respected, but the
+ * order of the rules within a series of "enable" operations is not.
+ */
+public class LttngEventBatch {
+
+    /**
+     * Group of event rules that can be sent to the session with one command.
+     */
+    static final class RuleGroup {
+
+        final boolean enable;
+        final List<String> eventNames = new ArrayList<>();
+        final String loglevel;
+        final boolean loglevelOnly;
+        final String filter;
+
+        RuleGroup(boolean enable, String loglevel, boolean loglevelOnly, String filter) {
+            this.enable = enable;
+            this.loglevel = loglevel;
+            this.loglevelOnly = (loglevel != null && loglevelOnly);
+            this.filter = filter;
+        }
+
+        boolean accepts(Rule rule) {
+            return (enable == rule.enable
+                    && Objects.equals(loglevel, rule.loglevel)
+                    && loglevelOnly == (rule.loglevel != null && rule.loglevelOnly)
+                    && Objects.equals(filter, rule.filter)
+                    && !eventNames.contains(rule.eventName));
+        }
+    }
+
+    private static final class Rule {
+
+        final boolean enable;
+        final String eventName;
+        final String loglevel;
+        final boolean loglevelOnly;
+        final String filter;
+
+        Rule(boolean enable, String eventName, String loglevel, boolean loglevelOnly, String filter) {
+            this.enable = enable;
+            this.eventName = eventName;
+            this.loglevel = loglevel;
+            this.loglevelOnly = loglevelOnly;
+            this.filter = filter;
+        }
+    }
+
+    private final ILttngSession session;
+    private final List<Rule> rules = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param session
+     *            The session to which this batch will be applied
+     */
+    protected LttngEventBatch(ILttngSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Add an event to enable, with no loglevel or filter specified.
+     *
+     * @param eventName
+     *            The name of the event to enable
+     * @return This batch
+     */
+    public LttngEventBatch enable(String eventName) {
+        return enable(eventName, null, false, null);
+    }
+
+    /**
+     * Add an event to enable, specifying a loglevel and filter string. The
+     * parameters are the same as for
+     * {@link ILttngSession#enableEvent(String, String, boolean, String)}.
+     *
+     * @param eventName
+     *            The name of the event to enable
+     * @param loglevel
+     *            The loglevel, may be null to not specify it.
+     * @param loglevelOnly
+     *            True to use this log level only, or false to include all more
+     *            severe levels. Ignored if "loglevel" is null.
+     * @param filter
+     *            The filter string, may be null to not specify one.
+     * @return This batch
+     */
+    public LttngEventBatch enable(String eventName, String loglevel, boolean loglevelOnly, String filter) {
+        rules.add(new Rule(true, checkEventName(eventName), loglevel, loglevelOnly, filter));
+        return this;
+    }
+
+    /**
+     * Add an event to disable.
+     *
+     * @param eventName
+     *            The name of the event to disable
+     * @return This batch
+     */
+    public LttngEventBatch disable(String eventName) {
+        rules.add(new Rule(false, checkEventName(eventName), null, false, null));
+        return this;
+    }
+
+    /**
+     * Send all the operations of this batch to the session.
+     *
+     * @return If all the resulting commands executed successfully
+     */
+    public boolean apply() {
+        List<RuleGroup> groups = getRuleGroups();
+        rules.clear();
+        if (groups.isEmpty()) {
+            return true;
+        }
+        return applyGroups(groups);
+    }
+
+    /**
+     * Send the grouped rules to the session. By default this issues one
+     * session command per group, backends can override it to do better.
+     *
+     * @param groups
+     *            The rule groups, in the order in which they should be applied
+     * @return If all the commands executed successfully
+     */
+    boolean applyGroups(List<RuleGroup> groups) {
+        boolean success = true;
+        for (RuleGroup group : groups) {
+            if (group.enable) {
+                success &= session.enableEvent(String.join(",", group.eventNames),
+                        group.loglevel, group.loglevelOnly, group.filter);
+            } else {
+                success &= session.disableEvents(group.eventNames.toArray(new String[0]));
+            }
+        }
+        return success;
+    }
+
+    /**
+     * Merge the rules into groups. Each series of consecutive "enable" rules
+     * is split into one group per loglevel/filter combination, in order of
+     * first appearance. An event name can only appear once per group, so a
+     * rule that is enabled twice ends up in two groups. Each series of
+     * consecutive "disable" rules becomes one group.
+     */
+    private List<RuleGroup> getRuleGroups() {
+        List<RuleGroup> groups = new ArrayList<>();
+        List<RuleGroup> currentSeries = new ArrayList<>();
+
+        for (Rule rule : rules) {
+            if (!currentSeries.isEmpty() && currentSeries.get(0).enable != rule.enable) {
+                groups.addAll(currentSeries);
+                currentSeries.clear();
+            }
+
+            if (!rule.enable) {
+                if (currentSeries.isEmpty()) {
+                    currentSeries.add(new RuleGroup(false, null, false, null));
+                }
+                RuleGroup group = currentSeries.get(0);
+                if (!group.eventNames.contains(rule.eventName)) {
+                    group.eventNames.add(rule.eventName);
+                }
+                continue;
+            }
+
+            RuleGroup group = currentSeries.stream()
+                    .filter(g -> g.accepts(rule))
+                    .findFirst()
+                    .orElse(null);
+            if (group == null) {
+                group = new RuleGroup(true, rule.loglevel, rule.loglevelOnly, rule.filter);
+                currentSeries.add(group);
+            }
+            group.eventNames.add(rule.eventName);
+        }
+        groups.addAll(currentSeries);
+        return groups;
+    }
+
+    private static String checkEventName(String eventName) {
+        if (eventName == null || eventName.isEmpty() || eventName.indexOf(',') >= 0) {
+            throw new IllegalArgumentException("Invalid event name: " + eventName);
+        }
+        return eventName;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools;
+
+import org.lttng.tools.utils.ShellCoprocess;
+
+/**
+ * Implementation of {@link ILttngSession} which keeps one long-lived shell
+ * process for the whole lifetime of the session, and sends every "lttng"
+ * command through it.
+ *
+ * The commands are the same as the ones of LttngCommandLineSession,
+ * but the JVM does not have to spawn (and reap) a new process for each of
+ * them. The shell is terminated when the session is close()'d.
+ */
+class LttngShellSession extends LttngCommandLineSession {
+
+    /**
+     * Constructor to create a new LTTng tracing session.
+     *
+     * @param sessionName
+     *            The name of the session to use. It can be null, in which case
+     *            we will provide a unique random name.
+     * @param domain
+     *            The tracing domain of this session
+     */
+    @SuppressWarnings("resource")
+    public LttngShellSession(String sessionName, Domain domain) {
+        this(sessionName, domain, new ShellCoprocess());
+    }
+
+    /**
+     * Constructor specifying the shell to use, mainly useful for tests.
+     *
+     * @param sessionName
+     *            The name of the session to use. It can be null, in which case
+     *            we will provide a unique random name.
+     * @param domain
+     *            The tracing domain of this session
+     * @param shell
+     *            The shell process in which to run the commands. It will be
+     *            closed along with this session.
+     */
+    LttngShellSession(String sessionName, Domain domain, ShellCoprocess shell) {
+        super(sessionName, domain, shell);
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        shell.close();
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.lttng.tools.ctf.CtfEvent;
+
+/**
+ * One event of a trace written by the LTTng Java agents, with the fields that
+ * tests typically look at.
+ *
+ * It can be built from a line of the text output of "lttng view" with
+ * {@link #parse(String)}, or from an event read directly from the trace with
+ * {@link #fromCtf(CtfEvent)}.
+ *
+ * Events read from the trace have an absolute timestamp, see
+ * {@link #getEpochNanos()}, but Babeltrace usually only prints the time of the
+ * day, in the local time zone. {@link #getTimeOfDayNanos()} is available in
+ * both cases.
+ */
+public final class TraceEvent {
+
+    /** Prefix of the application context fields in the trace */
+    public static final String APP_CONTEXT_PREFIX = "_app_";
+
+    private static final String APP_CONTEXT_TAG_SUFFIX = "_tag";
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private final long epochNanos;
+    private final long timeOfDayNanos;
+    private final String name;
+    private final String loggerName;
+    private final int logLevel;
+    private final String thread;
+    private final String msg;
+    private final Map<String, Object> appContexts;
+
+    /**
+     * Constructor
+     *
+     * @param epochNanos
+     *            The timestamp of the event, in nanoseconds since the Epoch
+     * @param name
+     *            The event name, like "lttng_jul:event"
+     * @param loggerName
+     *            The name of the logger which emitted the event
+     * @param logLevel
+     *            The log level, as an integer
+     * @param thread
+     *            The thread which emitted the event, its ID or its name
+     *            depending on the domain
+     * @param msg
+     *            The event message
+     * @param appContexts
+     *            The application contexts of the event, with their names as
+     *            they appear in the trace (see
+     *            {@link #getAppContextName(String, String)}). A context which
+     *            is enabled but has no value maps to null.
+     */
+    public TraceEvent(long epochNanos, String name, String loggerName, int logLevel,
+            String thread, String msg, Map<String, Object> appContexts) {
+        this(epochNanos, toTimeOfDay(epochNanos), name, loggerName, logLevel, thread, msg, appContexts);
+    }
+
+    /**
+     * Constructor for events whose date may not be known
+     *
+     * @param epochNanos
+     *            The timestamp of the event, in nanoseconds since the Epoch,
+     *            or -1 if only the time of the day is known
+     * @param timeOfDayNanos
+     *            The time of the day of the event, in nanoseconds since
+     *            midnight in the local time zone
+     * @see #TraceEvent(long, String, String, int, String, String, Map)
+     */
+    TraceEvent(long epochNanos, long timeOfDayNanos, String name, String loggerName, int logLevel,
+            String thread, String msg, Map<String, Object> appContexts) {
+        this.epochNanos = epochNanos;
+        this.timeOfDayNanos = timeOfDayNanos;
+        this.name = name;
+        this.loggerName = loggerName;
+        this.logLevel = logLevel;
+        this.thread = thread;
+        this.msg = msg;
+        this.appContexts = Collections.unmodifiableMap(new LinkedHashMap<>(appContexts));
+    }
+
+    /**
+     * Parse one line of the output of Babeltrace, as returned by
+     * {@link ILttngSession#view()}.
+     *
+     * @param line
+     *            The text line
+     * @return The event, or null if the line is not an event
+     */
+    public static TraceEvent parse(String line) {
+        return BabeltraceLineParser.parse(line);
+    }
+
+    /**
+     * Build the event from one event read from the trace.
+     *
+     * @param event
+     *            The trace event
+     * @return The corresponding event
+     */
+    public static TraceEvent fromCtf(CtfEvent event) {
+        Map<String, Object> fields = event.getFields();
+        long timestamp = event.getTimestamp();
+        return fromFields(timestamp, toTimeOfDay(timestamp), event.getName(), fields, event.getContext());
+    }
+
+    /**
+     * Build the event from its decoded fields.
+     *
+     * @param epochNanos
+     *            The timestamp of the event, in nanoseconds since the Epoch,
+     *            or -1 if it is not known
+     * @param timeOfDayNanos
+     *            The time of the day of the event, in nanoseconds since
+     *            midnight in the local time zone
+     * @param name
+     *            The event name
+     * @param fields
+     *            The payload fields
+     * @param context
+     *            The context fields, among which the application contexts are
+     *            picked
+     * @return The event
+     */
+    static TraceEvent fromFields(long epochNanos, long timeOfDayNanos, String name, Map<String, Object> fields, Map<String, Object> context) {
+        Object loglevel = fields.get("int_loglevel");
+        Object thread = fields.get("thread_name");
+        if (thread == null) {
+            thread = fields.get("int_threadid");
+        }
+
+        Map<String, Object> appContexts = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : context.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(APP_CONTEXT_PREFIX)) {
+                continue;
+            }
+            /* Skip the tags of the variants holding the values */
+            if (key.endsWith(APP_CONTEXT_TAG_SUFFIX)
+                    && context.containsKey(key.substring(0, key.length() - APP_CONTEXT_TAG_SUFFIX.length()))) {
+                continue;
+            }
+            appContexts.put(key, toContextValue(entry.getValue()));
+        }
+
+        return new TraceEvent(epochNanos,
+                timeOfDayNanos,
+                name,
+                asString(fields.get("logger_name")),
+                (loglevel instanceof Number ? ((Number) loglevel).intValue() : -1),
+                (thread == null ? null : thread.toString()),
+                asString(fields.get("msg")),
+                appContexts);
+    }
+
+    /**
+     * Get the name of an application context as it appears in the trace.
+     * LTTng replaces the periods in the names by underscores, so that the
+     * metadata grammar remains valid.
+     *
+     * @param retrieverName
+     *            The name of the retriever
+     * @param contextName
+     *            The name of the context
+     * @return The name of the context field in the trace
+     */
+    public static String getAppContextName(String retrieverName, String contextName) {
+        return APP_CONTEXT_PREFIX + retrieverName.replace('.', '_') + '_' + contextName.replace('.', '_');
+    }
+
+    // ------------------------------------------------------------------------
+    // Accessors
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return The timestamp of the event, in nanoseconds since the Epoch, or
+     *         -1 if it is not known, which is the case for events parsed from
+     *         Babeltrace's output when it only shows the time of the day
+     */
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    /**
+     * @return The time of the day of the event, in nanoseconds since midnight
+     *         in the local time zone, like Babeltrace shows it by default
+     */
+    public long getTimeOfDayNanos() {
+        return timeOfDayNanos;
+    }
+
+    /**
+     * @return The event name, like "lttng_jul:event"
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The name of the logger which emitted the event
+     */
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    /**
+     * @return The log level, as an integer, or -1 if the event has none
+     */
+    public int getLogLevel() {
+        return logLevel;
+    }
+
+    /**
+     * @return The thread ID (JUL) or name (log4j) which emitted the event
+     */
+    public String getThread() {
+        return thread;
+    }
+
+    /**
+     * @return The event message
+     */
+    public String getMsg() {
+        return msg;
+    }
+
+    /**
+     * @return The application contexts of the event
+     */
+    public Map<String, Object> getAppContexts() {
+        return appContexts;
+    }
+
+    /**
+     * @param retrieverName
+     *            The name of the retriever
+     * @param contextName
+     *            The name of the context
+     * @return If the event contains this application context, with or
+     *         without a value
+     */
+    public boolean hasAppContext(String retrieverName, String contextName) {
+        return appContexts.containsKey(getAppContextName(retrieverName, contextName));
+    }
+
+    /**
+     * @param retrieverName
+     *            The name of the retriever
+     * @param contextName
+     *            The name of the context
+     * @return The value of the application context: a {@link Long}, a
+     *         {@link Double} or a {@link String}, or null if the event does
+     *         not have a value for it
+     */
+    public Object getAppContext(String retrieverName, String contextName) {
+        return appContexts.get(getAppContextName(retrieverName, contextName));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TraceEvent)) {
+            return false;
+        }
+        TraceEvent other = (TraceEvent) obj;
+        return (epochNanos == other.epochNanos
+                && timeOfDayNanos == other.timeOfDayNanos
+                && logLevel == other.logLevel
+                && Objects.equals(name, other.name)
+                && Objects.equals(loggerName, other.loggerName)
+                && Objects.equals(thread, other.thread)
+                && Objects.equals(msg, other.msg)
+                && appContexts.equals(other.appContexts));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Long.valueOf(epochNanos), Long.valueOf(timeOfDayNanos), name, loggerName, Integer.valueOf(logLevel), thread, msg, appContexts);
+    }
+
+    @Override
+    public String toString() {
+        String timestamp = (epochNanos >= 0 ? Long.toString(epochNanos) : LocalTime.ofNanoOfDay(timeOfDayNanos).toString());
+        return "[" + timestamp + "] " + name
+                + " { logger_name = " + loggerName
+                + ", int_loglevel = " + logLevel
+                + ", thread = " + thread
+                + ", msg = \"" + msg + "\" }"
+                + (appContexts.isEmpty() ? "" : ", " + appContexts);
+    }
+
+    // ------------------------------------------------------------------------
+    // Private helper methods
+    // ------------------------------------------------------------------------
+
+    /**
+     * Get the time of the day of a timestamp, in the local time zone.
+     *
+     * @param epochNanos
+     *            The timestamp, in nanoseconds since the Epoch
+     * @return The nanoseconds since midnight
+     */
+    static long toTimeOfDay(long epochNanos) {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                Math.floorMod(epochNanos, NANOS_PER_SECOND));
+        return instant.atZone(ZoneId.systemDefault()).toLocalTime().toNanoOfDay();
+    }
+
+    private static String asString(Object value) {
+        return (value == null ? null : value.toString());
+    }
+
+    /**
+     * Application contexts are variants, whose option is the type of the
+     * value. A context without value selects an empty structure.
+     */
+    private static Object toContextValue(Object value) {
+        Object contextValue = value;
+        while (contextValue instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) contextValue;
+            if (map.size() != 1) {
+                return null;
+            }
+            contextValue = map.values().iterator().next();
+        }
+        return contextValue;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.ctf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads CTF fields from the bytes of one packet. Positions are counted in
+ * bits from the start of the packet, since that is what alignment is relative
+ * to in CTF.
+ *
+ * Byte-aligned integers of the usual sizes are read directly from the buffer.
+ * Others are bitfields, which in little-endian are filled starting from the
+ * least significant bit of each byte, and in big-endian from the most
+ * significant bit.
+ */
+final class BitReader {
+
+    private final ByteOrder defaultOrder;
+
+    private ByteBuffer buffer;
+    private int base;
+    private long position;
+    private long limit;
+
+    private byte[] stringBuffer = new byte[256];
+
+    /**
+     * Constructor
+     *
+     * @param defaultOrder
+     *            The byte order of the trace, used by fields which do not
+     *            specify one
+     */
+    BitReader(ByteOrder defaultOrder) {
+        this.defaultOrder = defaultOrder;
+    }
+
+    /**
+     * Start reading a packet.
+     *
+     * @param buffer
+     *            The buffer containing the packet
+     * @param packetStart
+     *            The index in the buffer at which the packet starts
+     * @param limitBits
+     *            The number of readable bits in the packet
+     */
+    void setPacket(ByteBuffer buffer, int packetStart, long limitBits) {
+        this.buffer = buffer;
+        this.base = packetStart;
+        this.position = 0;
+        this.limit = limitBits;
+    }
+
+    /**
+     * Move the current packet to another buffer, for example after mapping a
+     * larger part of the file. The position in the packet is kept.
+     */
+    void moveTo(ByteBuffer newBuffer, int packetStart, long limitBits) {
+        this.buffer = newBuffer;
+        this.base = packetStart;
+        this.limit = limitBits;
+    }
+
+    ByteOrder getDefaultOrder() {
+        return defaultOrder;
+    }
+
+    long getPosition() {
+        return position;
+    }
+
+    void setLimit(long limitBits) {
+        this.limit = limitBits;
+    }
+
+    boolean hasRemaining() {
+        return position < limit;
+    }
+
+    /**
+     * Align the current position.
+     *
+     * @param alignment
+     *            The alignment, in bits. Must be a power of 2.
+     */
+    void align(int alignment) {
+        if (alignment > 1) {
+            position = (position + alignment - 1) & -alignment;
+        }
+    }
+
+    /**
+     * Read an unsigned integer at the current position.
+     *
+     * @param size
+     *            The size of the integer, in bits, at most 64
+     * @param order
+     *            The byte order of the integer, or null for the trace's
+     * @return The integer, zero-extended to a long
+     * @throws IOException
+     *             If the integer goes past the end of the packet
+     */
+    long readBits(int size, ByteOrder order) throws IOException {
+        checkAvailable(size);
+        ByteOrder byteOrder = (order == null ? defaultOrder : order);
+
+        if ((position & 7) == 0) {
+            int index = base + (int) (position >>> 3);
+            switch (size) {
+            case 8:
+                position += 8;
+                return buffer.get(index) & 0xFFL;
+            case 16:
+                position += 16;
+                return buffer.order(byteOrder).getShort(index) & 0xFFFFL;
+            case 32:
+                position += 32;
+                return buffer.order(byteOrder).getInt(index) & 0xFFFFFFFFL;
+            case 64:
+                position += 64;
+                return buffer.order(byteOrder).getLong(index);
+            default:
+                break;
+            }
+        }
+
+        long value = (byteOrder == ByteOrder.LITTLE_ENDIAN ? readBitfieldLE(size) : readBitfieldBE(size));
+        position += size;
+        return value;
+    }
+
+    /**
+     * Read a null-terminated UTF-8 string at the current position, which
+     * must be byte-aligned.
+     *
+     * @return The string, without its terminating null character
+     * @throws IOException
+     *             If the string is not terminated before the end of the
+     *             packet
+     */
+    String readString() throws IOException {
+        int start = base + (int) (position >>> 3);
+        int end = base + (int) (limit >>> 3);
+        int length = 0;
+        while (true) {
+            if (start + length >= end) {
+                throw new IOException("Unterminated string at bit " + position);
+            }
+            byte b = buffer.get(start + length);
+            if (b == 0) {
+                break;
+            }
+            if (length == stringBuffer.length) {
+                byte[] newBuffer = new byte[length * 2];
+                System.arraycopy(stringBuffer, 0, newBuffer, 0, length);
+                stringBuffer = newBuffer;
+            }
+            stringBuffer[length++] = b;
+        }
+        position += (length + 1L) * 8;
+        return new String(stringBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a fixed number of bytes at the current position, which must be
+     * byte-aligned, as a UTF-8 string that may be null-terminated early.
+     *
+     * @param length
+     *            The number of bytes
+     * @return The string
+     * @throws IOException
+     *             If the bytes go past the end of the packet
+     */
+    String readFixedString(int length) throws IOException {
+        checkAvailable(length * 8L);
+        int start = base + (int) (position >>> 3);
+        int stringLength = 0;
+        while (stringLength < length && buffer.get(start + stringLength) != 0) {
+            stringLength++;
+        }
+        byte[] bytes = new byte[stringLength];
+        for (int i = 0; i < stringLength; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        position += length * 8L;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ------------------------------------------------------------------------
+    // Private helper methods
+    // ------------------------------------------------------------------------
+
+    private void checkAvailable(long bits) throws IOException {
+        if (position + bits > limit) {
+            throw new IOException("Field of " + bits + " bits at bit " + position + " goes past the end of the packet (" + limit + " bits)");
+        }
+    }
+
+    private long readBitfieldLE(int size) {
+        long value = 0;
+        int read = 0;
+        long bit = position;
+        while (read < size) {
+            int offsetInByte = (int) (bit & 7);
+            int n = Math.min(8 - offsetInByte, size - read);
+            long bits = ((buffer.get(base + (int) (bit >>> 3)) & 0xFF) >>> offsetInByte) & ((1 << n) - 1);
+            value |= bits << read;
+            read += n;
+            bit += n;
+        }
+        return value;
+    }
+
+    private long readBitfieldBE(int size) {
+        long value = 0;
+        int read = 0;
+        long bit = position;
+        while (read < size) {
+            int offsetInByte = (int) (bit & 7);
+            int n = Math.min(8 - offsetInByte, size - read);
+            long bits = ((buffer.get(base + (int) (bit >>> 3)) & 0xFF) >>> (8 - offsetInByte - n)) & ((1 << n) - 1);
+            value = (value << n) | bits;
+            read += n;
+            bit += n;
+        }
+        return value;
+    }
+}
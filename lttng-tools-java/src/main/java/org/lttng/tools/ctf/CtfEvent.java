@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.ctf;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One event read from a CTF trace.
+ *
+ * Field and context names are the ones of the metadata, minus the escaping
+ * underscore, like "msg" or "logger_name". See CtfType for the Java types of
+ * the field values.
+ */
+public final class CtfEvent {
+
+    private final String name;
+    private final long timestamp;
+    private final int cpuId;
+    private final long streamId;
+    private final Map<String, Object> context;
+    private final Map<String, Object> fields;
+
+    CtfEvent(String name, long timestamp, int cpuId, long streamId, Map<String, Object> context, Map<String, Object> fields) {
+        this.name = name;
+        this.timestamp = timestamp;
+        this.cpuId = cpuId;
+        this.streamId = streamId;
+        this.context = Collections.unmodifiableMap(context);
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * @return The name of the event, like "lttng_jul:event"
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The timestamp of the event, in nanoseconds since the Epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return The CPU on which the event was recorded, or -1 if the trace
+     *         does not say
+     */
+    public int getCpuId() {
+        return cpuId;
+    }
+
+    /**
+     * @return The ID of the stream from which the event was read
+     */
+    public long getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * @return The context fields of the event, from both the stream and the
+     *         event context
+     */
+    public Map<String, Object> getContext() {
+        return context;
+    }
+
+    /**
+     * @return The payload fields of the event
+     */
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+
+    /**
+     * @param fieldName
+     *            The name of a payload field
+     * @return The value of the field, or null if there is no such field
+     */
+    public Object getField(String fieldName) {
+        return fields.get(fieldName);
+    }
+
+    /**
+     * @param fieldName
+     *            The name of a string payload field
+     * @return The value of the field, or null if there is no such string
+     *         field
+     */
+    public String getStringField(String fieldName) {
+        Object value = fields.get(fieldName);
+        return (value instanceof String ? (String) value : null);
+    }
+
+    /**
+     * @param fieldName
+     *            The name of an integer payload field
+     * @param defaultValue
+     *            The value to return if there is no such integer field
+     * @return The value of the field
+     */
+    public long getLongField(String fieldName, long defaultValue) {
+        Object value = fields.get(fieldName);
+        return (value instanceof Long ? ((Long) value).longValue() : defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + timestamp + "] " + name + ": { cpu_id = " + cpuId + " }, " + context + ", " + fields;
+    }
+}
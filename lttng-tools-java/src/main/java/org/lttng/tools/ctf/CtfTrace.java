@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.ctf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reader for CTF 1.8 traces, like the ones written by LTTng, which does not
+ * need Babeltrace.
+ *
+ * A trace is a directory containing a "metadata" file, describing the layout
+ * of the data in TSDL, and stream files containing the events. The metadata
+ * can be in text or packetized form. A directory containing several traces,
+ * like the output directory of a tracing session, can also be opened, in
+ * which case the events of all the traces are read together.
+ *
+ * The stream files are memory-mapped, and their events are merged by
+ * timestamp as they are read.
+ */
+public final class CtfTrace {
+
+    private static final String METADATA_FILE_NAME = "metadata";
+
+    /**
+     * One trace directory
+     */
+    private static final class Source {
+
+        final Metadata metadata;
+        final List<Path> streamFiles;
+
+        Source(Metadata metadata, List<Path> streamFiles) {
+            this.metadata = metadata;
+            this.streamFiles = streamFiles;
+        }
+    }
+
+    private final List<Source> sources;
+
+    private CtfTrace(List<Source> sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * Open a trace, or all the traces found under a directory.
+     *
+     * @param directory
+     *            The trace directory, or a parent directory of traces
+     * @return The trace
+     * @throws IOException
+     *             If no trace was found in the directory, or if a trace's
+     *             metadata could not be read
+     */
+    public static CtfTrace open(Path directory) throws IOException {
+        List<Path> metadataFiles;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            metadataFiles = paths
+                    .filter(path -> path.getFileName().toString().equals(METADATA_FILE_NAME))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        if (metadataFiles.isEmpty()) {
+            throw new IOException("No CTF trace found in " + directory);
+        }
+
+        List<Source> sources = new ArrayList<>();
+        for (Path metadataFile : metadataFiles) {
+            Metadata metadata = Metadata.read(metadataFile);
+            List<Path> streamFiles;
+            try (Stream<Path> paths = Files.list(metadataFile.getParent())) {
+                streamFiles = paths
+                        .filter(Files::isRegularFile)
+                        .filter(path -> !path.getFileName().toString().equals(METADATA_FILE_NAME))
+                        .filter(path -> !path.getFileName().toString().startsWith("."))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+            sources.add(new Source(metadata, streamFiles));
+        }
+        return new CtfTrace(sources);
+    }
+
+    /**
+     * Find the output directory of a tracing session, in the default location
+     * used by LTTng, ~/lttng-traces/.
+     *
+     * @param sessionName
+     *            The name of the session
+     * @return The most recent output directory for this session, or null if
+     *         there is none
+     * @throws IOException
+     *             If the traces directory could not be read
+     */
+    public static Path findSessionTrace(String sessionName) throws IOException {
+        return findSessionTrace(Paths.get(System.getProperty("user.home"), "lttng-traces"), sessionName);
+    }
+
+    /**
+     * Find the output directory of a tracing session.
+     *
+     * @param tracesDirectory
+     *            The directory in which the sessions write their traces
+     * @param sessionName
+     *            The name of the session
+     * @return The most recent output directory for this session, or null if
+     *         there is none
+     * @throws IOException
+     *             If the traces directory could not be read
+     */
+    static Path findSessionTrace(Path tracesDirectory, String sessionName) throws IOException {
+        if (!Files.isDirectory(tracesDirectory)) {
+            return null;
+        }
+        /* "lttng create" appends the creation date and time to the name */
+        Pattern pattern = Pattern.compile(Pattern.quote(sessionName) + "(-\\d{8}-\\d{6})?");
+        try (Stream<Path> paths = Files.list(tracesDirectory)) {
+            return paths
+                    .filter(Files::isDirectory)
+                    .filter(path -> pattern.matcher(path.getFileName().toString()).matches())
+                    .max(Comparator.comparing(path -> path.getFileName().toString()))
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * @return The "env" section of the metadata of the (first) trace
+     */
+    public Map<String, String> getEnvironment() {
+        return Collections.unmodifiableMap(sources.get(0).metadata.environment);
+    }
+
+    /**
+     * Read the events of the trace, in timestamp order. Events of the stream
+     * files are read as the returned stream is consumed, so it should be
+     * closed after use to release the files.
+     *
+     * Errors while reading the stream files are reported as
+     * {@link UncheckedIOException}s.
+     *
+     * @return The events of the trace
+     * @throws IOException
+     *             If the stream files could not be opened
+     */
+    @SuppressWarnings("resource")
+    public Stream<CtfEvent> events() throws IOException {
+        List<StreamFileReader> readers = new ArrayList<>();
+        try {
+            for (Source source : sources) {
+                for (Path streamFile : source.streamFiles) {
+                    readers.add(new StreamFileReader(streamFile, source.metadata));
+                }
+            }
+        } catch (IOException e) {
+            closeAll(readers);
+            throw e;
+        }
+
+        MergingIterator iterator = new MergingIterator(readers);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> closeAll(readers));
+    }
+
+    private static void closeAll(List<StreamFileReader> readers) {
+        for (StreamFileReader reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                /* Nothing more to read from it anyway */
+            }
+        }
+    }
+
+    /**
+     * Iterator returning the events of several stream files, in timestamp
+     * order. Events with the same timestamp are returned in stream file order.
+     */
+    private static final class MergingIterator implements Iterator<CtfEvent> {
+
+        private final List<StreamFileReader> readers;
+        private final PriorityQueue<Integer> queue;
+
+        @SuppressWarnings("resource")
+        MergingIterator(List<StreamFileReader> readers) {
+            this.readers = readers;
+            Comparator<Integer> byTimestamp = Comparator.comparingLong(i -> readers.get(i.intValue()).peek().getTimestamp());
+            this.queue = new PriorityQueue<>(Math.max(1, readers.size()), byTimestamp.thenComparing(Comparator.naturalOrder()));
+            for (int i = 0; i < readers.size(); i++) {
+                if (readers.get(i).peek() != null) {
+                    queue.add(Integer.valueOf(i));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        @SuppressWarnings("resource")
+        public CtfEvent next() {
+            Integer index = queue.poll();
+            if (index == null) {
+                throw new NoSuchElementException();
+            }
+            StreamFileReader reader = readers.get(index.intValue());
+            CtfEvent event = reader.peek();
+            try {
+                reader.advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (reader.peek() != null) {
+                queue.add(index);
+            }
+            return event;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.ctf;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Type of a CTF field, as declared in the trace's metadata, which knows how
+ * to decode values of that type.
+ *
+ * Decoded values are {@link Long} for integers and enumerations,
+ * {@link Double} for floating point numbers, {@link String} for strings and
+ * arrays of encoded characters, {@link List} for other arrays and sequences,
+ * and {@link Map} (from field name to value) for structures. A variant is
+ * decoded as the value of its selected field.
+ */
+abstract class CtfType {
+
+    /**
+     * @return The alignment of this type, in bits
+     */
+    abstract int getAlignment();
+
+    /**
+     * Decode one value of this type at the current position of the reader.
+     *
+     * @param context
+     *            The decoding context
+     * @return The decoded value
+     * @throws IOException
+     *             If the value could not be decoded
+     */
+    abstract Object read(DecodeContext context) throws IOException;
+
+    // ------------------------------------------------------------------------
+    // Basic types
+    // ------------------------------------------------------------------------
+
+    /**
+     * Integer type, possibly mapped to a clock
+     */
+    static final class IntegerType extends CtfType {
+
+        final int size;
+        final int alignment;
+        final boolean signed;
+        final ByteOrder byteOrder;
+        final boolean encoded;
+        final String clockName;
+
+        IntegerType(int size, int alignment, boolean signed, ByteOrder byteOrder, boolean encoded, String clockName) {
+            this.size = size;
+            this.alignment = alignment;
+            this.signed = signed;
+            this.byteOrder = byteOrder;
+            this.encoded = encoded;
+            this.clockName = clockName;
+        }
+
+        @Override
+        int getAlignment() {
+            return alignment;
+        }
+
+        @Override
+        Object read(DecodeContext context) throws IOException {
+            return Long.valueOf(readLong(context));
+        }
+
+        long readLong(DecodeContext context) throws IOException {
+            BitReader reader = context.getReader();
+            reader.align(alignment);
+            long value = reader.readBits(size, byteOrder);
+            if (clockName != null) {
+                context.updateClock(value, size);
+            }
+            if (signed && size < 64) {
+                int shift = 64 - size;
+                value = (value << shift) >> shift;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Floating point type, of 32 or 64 bits
+     */
+    static final class FloatType extends CtfType {
+
+        final int size;
+        final int alignment;
+        final ByteOrder byteOrder;
+
+        FloatType(int size, int alignment, ByteOrder byteOrder) {
+            this.size = size;
+            this.alignment = alignment;
+            this.byteOrder = byteOrder;
+        }
+
+        @Override
+        int getAlignment() {
+            return alignment;
+        }
+
+        @Override
+        Object read(DecodeContext context) throws IOException {
+            BitReader reader = context.getReader();
+            reader.align(alignment);
+            long bits = reader.readBits(size, byteOrder);
+            if (size == 32) {
+                return Double.valueOf(Float.intBitsToFloat((int) bits));
+            }
+            return Double.valueOf(Double.longBitsToDouble(bits));
+        }
+    }
+
+    /**
+     * Null-terminated string type
+     */
+    static final class StringType extends CtfType {
+
+        static final StringType INSTANCE = new StringType();
+
+        private StringType() {}
+
+        @Override
+        int getAlignment() {
+            return 8;
+        }
+
+        @Override
+        Object read(DecodeContext context) throws IOException {
+            BitReader reader = context.getReader();
+            reader.align(8);
+            return reader.readString();
+        }
+    }
+
+    /**
+     * Enumeration type, which maps ranges of integer values to labels
+     */
+    static final class EnumType extends CtfType {
+
+        /** One label of the enumeration */
+        static final class Mapping {
+
+            final String label;
+            final long low;
+            final long high;
+
+            Mapping(String label, long low, long high) {
+                this.label = label;
+                this.low = low;
+                this.high = high;
+            }
+        }
+
+        final IntegerType container;
+        final List<Mapping> mappings;
+
+        EnumType(IntegerType container, List<Mapping> mappings) {
+            this.container = container;
+            this.mappings = mappings;
+        }
+
+        @Override
+        int getAlignment() {
+            return container.getAlignment();
+        }
+
+        @Override
+        Object read(DecodeContext context) throws IOException {
+            return container.read(context);
+        }
+
+        /**
+         * @param value
+         *            A value of this enumeration
+         * @return The label of the value, or null if it has none
+         */
+        String getLabel(long value) {
+            for (Mapping mapping : mappings) {
+                if (value >= mapping.low && value <= mapping.high) {
+                    return mapping.label;
+                }
+            }
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Compound types
+    // ------------------------------------------------------------------------
+
+    /**
+     * Named field of a structure or variant
+     */
+    static final class Field {
+
+        final String name;
+        final CtfType type;
+
+        Field(String name, CtfType type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+
+    /**
+     * Structure type
+     */
+    static final class StructType extends CtfType {
+
+        final List<Field> fields;
+        final int alignment;
+
+        StructType(List<Field> fields, int minimumAlignment) {
+            this.fields = fields;
+            int align = Math.max(1, minimumAlignment);
+            for (Field field : fields) {
+                align = Math.max(align, field.type.getAlignment());
+            }
+            this.alignment = align;
+        }
+
+        @Override
+        int getAlignment() {
+            return alignment;
+        }
+
+        @Override
+        Object read(DecodeContext context) throws IOException {
+            return readStruct(context);
+        }
+
+        Map<String, Object> readStruct(DecodeContext context) throws IOException {
+            context.getReader().align(alignment);
+            Map<String, Object> values = new LinkedHashMap<>();
+            context.enterStruct(values);
+            for (Field field : fields) {
+                Object value = field.type.read(context);
+                values.put(field.name, value);
+                if (field.type instanceof EnumType) {
+                    context.setEnumLabel(field.name, ((EnumType) field.type).getLabel(((Long) value).longValue()));
+                }
+            }
+            context.exitStruct();
+            return values;
+        }
+    }
+
+    /**
+     * Variant type, whose actual type is selected by the label of an
+     * enumeration field decoded previously
+     */
+    static final class VariantType extends CtfType {
+
+        final String tag;
+        final Map<String, CtfType> options;
+
+        VariantType(String tag, Map<String, CtfType> options) {
+            this.tag = tag;
+            this.options = options;
+        }
+
+        @Override
+        int getAlignment() {
+            /* A variant is aligned as its selected field */
+            return 1;
+        }
+
+        @Override
+        Object read(DecodeContext context) throws IOException {
+            String label = context.lookupEnumLabel(tag);
+            CtfType selected = null;
+            if (label != null) {
+                selected = options.get(label);
+                if (selected == null && label.startsWith("_")) {
+                    /* Labels are matched with unescaped field names */
+                    selected = options.get(label.substring(1));
+                }
+            }
+            if (selected == null) {
+                throw new IOException("Cannot select variant option from tag " + tag + " (label " + label + ')');
+            }
+            return selected.read(context);
+        }
+    }
+
+    /**
+     * Fixed-length array type
+     */
+    static final class ArrayType extends CtfType {
+
+        final CtfType elementType;
+        final int length;
+
+        ArrayType(CtfType elementType, int length) {
+            this.elementType = elementType;
+            this.length = length;
+        }
+
+        @Override
+        int getAlignment() {
+            return elementType.getAlignment();
+        }
+
+        @Override
+        Object read(DecodeContext context) throws IOException {
+            return readElements(context, elementType, length);
+        }
+    }
+
+    /**
+     * Variable-length array type, whose length is given by an integer field
+     * decoded previously
+     */
+    static final class SequenceType extends CtfType {
+
+        final CtfType elementType;
+        final String lengthField;
+
+        SequenceType(CtfType elementType, String lengthField) {
+            this.elementType = elementType;
+            this.lengthField = lengthField;
+        }
+
+        @Override
+        int getAlignment() {
+            return elementType.getAlignment();
+        }
+
+        @Override
+        Object read(DecodeContext context) throws IOException {
+            Object length = context.lookupValue(lengthField);
+            if (!(length instanceof Long)) {
+                throw new IOException("Cannot find length " + lengthField + " of sequence");
+            }
+            return readElements(context, elementType, ((Long) length).intValue());
+        }
+    }
+
+    static Object readElements(DecodeContext context, CtfType elementType, int length) throws IOException {
+        BitReader reader = context.getReader();
+        reader.align(elementType.getAlignment());
+
+        if (elementType instanceof IntegerType) {
+            IntegerType intType = (IntegerType) elementType;
+            if (intType.encoded && intType.size == 8) {
+                /* Array of characters */
+                return reader.readFixedString(length);
+            }
+        }
+
+        if (length == 0) {
+            return Collections.emptyList();
+        }
+        List<Object> elements = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            elements.add(elementType.read(context));
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.ctf;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State shared by the fields being decoded in one stream: the reader, the
+ * already-decoded fields that variants and sequences can refer to, and the
+ * current value of the clock.
+ */
+final class DecodeContext {
+
+    /**
+     * Decoded fields of one structure
+     */
+    private static final class Frame {
+
+        final Map<String, Object> values;
+        final Map<String, String> enumLabels = new HashMap<>();
+
+        Frame(Map<String, Object> values) {
+            this.values = values;
+        }
+    }
+
+    private final BitReader reader;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final List<Frame> roots = new ArrayList<>();
+
+    private long clockValue = 0;
+
+    DecodeContext(BitReader reader) {
+        this.reader = reader;
+    }
+
+    BitReader getReader() {
+        return reader;
+    }
+
+    // ------------------------------------------------------------------------
+    // Clock
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return The current value of the clock, in cycles
+     */
+    long getClockValue() {
+        return clockValue;
+    }
+
+    void setClockValue(long value) {
+        clockValue = value;
+    }
+
+    /**
+     * Update the clock from a field that is mapped to it. Fields smaller than
+     * 64 bits only hold the low-order bits of the clock, if their value is
+     * lower than the clock's current low-order bits, the clock has wrapped
+     * around since the previous update.
+     *
+     * @param value
+     *            The value of the field
+     * @param size
+     *            The size of the field, in bits
+     */
+    void updateClock(long value, int size) {
+        if (size >= 64) {
+            clockValue = value;
+            return;
+        }
+        long mask = (1L << size) - 1;
+        long newValue = (clockValue & ~mask) | value;
+        if (Long.compareUnsigned(newValue, clockValue) < 0) {
+            newValue += (1L << size);
+        }
+        clockValue = newValue;
+    }
+
+    // ------------------------------------------------------------------------
+    // Scopes
+    // ------------------------------------------------------------------------
+
+    /**
+     * Forget the fields decoded so far, at the start of a new packet.
+     */
+    void resetPacket() {
+        frames.clear();
+        roots.clear();
+    }
+
+    /**
+     * Forget the fields decoded for the previous event, but keep the ones of
+     * the packet header and context.
+     *
+     * @param packetScopes
+     *            The number of root scopes that belong to the packet
+     */
+    void resetEvent(int packetScopes) {
+        frames.clear();
+        while (roots.size() > packetScopes) {
+            roots.remove(roots.size() - 1);
+        }
+    }
+
+    int getRootCount() {
+        return roots.size();
+    }
+
+    void enterStruct(Map<String, Object> values) {
+        frames.push(new Frame(values));
+    }
+
+    void setEnumLabel(String fieldName, String label) {
+        Frame frame = frames.peek();
+        if (frame != null) {
+            frame.enumLabels.put(fieldName, label);
+        }
+    }
+
+    void exitStruct() {
+        Frame frame = frames.pop();
+        if (frames.isEmpty()) {
+            roots.add(frame);
+        }
+    }
+
+    /**
+     * Find the value of a field decoded previously, looking in the enclosing
+     * structures first, then in the previous root scopes.
+     *
+     * @param path
+     *            The name of the field. For absolute paths like
+     *            "stream.event.header.id", only the last component is used.
+     * @return The field's value, or null if there is no such field
+     */
+    Object lookupValue(String path) {
+        String name = lastComponent(path);
+        for (Frame frame : frames) {
+            if (frame.values.containsKey(name)) {
+                return frame.values.get(name);
+            }
+        }
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            Frame frame = roots.get(i);
+            if (frame.values.containsKey(name)) {
+                return frame.values.get(name);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the label of an enumeration field decoded previously.
+     *
+     * @param path
+     *            The name of the field, as for {@link #lookupValue(String)}
+     * @return The label, or null if there is no such enumeration field
+     */
+    String lookupEnumLabel(String path) {
+        String name = lastComponent(path);
+        for (Frame frame : frames) {
+            if (frame.enumLabels.containsKey(name)) {
+                return frame.enumLabels.get(name);
+            }
+        }
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            Frame frame = roots.get(i);
+            if (frame.enumLabels.containsKey(name)) {
+                return frame.enumLabels.get(name);
+            }
+        }
+        return null;
+    }
+
+    private static String lastComponent(String path) {
+        return path.substring(path.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.ctf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.lttng.tools.ctf.CtfType.StructType;
+
+/**
+ * Declarations found in the metadata of a CTF trace.
+ */
+final class Metadata {
+
+    /** Magic number at the start of each packet of packetized metadata */
+    static final int METADATA_PACKET_MAGIC = 0x75D11D57;
+
+    /** Size of the header of a metadata packet, in bytes */
+    static final int METADATA_PACKET_HEADER_SIZE = 37;
+
+    /**
+     * Clock declaration
+     */
+    static final class Clock {
+
+        String name;
+        long frequency = 1000000000L;
+        long offsetSeconds = 0;
+        long offset = 0;
+
+        /**
+         * @param cycles
+         *            A value of this clock
+         * @return The corresponding time, in nanoseconds since the Epoch
+         */
+        long toNanos(long cycles) {
+            return offsetSeconds * 1000000000L + cyclesToNanos(offset) + cyclesToNanos(cycles);
+        }
+
+        private long cyclesToNanos(long cycles) {
+            if (frequency == 1000000000L) {
+                return cycles;
+            }
+            return (long) (cycles * (1000000000.0 / frequency));
+        }
+    }
+
+    /**
+     * Stream declaration
+     */
+    static final class StreamClass {
+
+        long id;
+        StructType packetContext;
+        StructType eventHeader;
+        StructType eventContext;
+        final Map<Long, EventClass> events = new HashMap<>();
+    }
+
+    /**
+     * Event declaration
+     */
+    static final class EventClass {
+
+        long id;
+        long streamId;
+        String name;
+        StructType context;
+        StructType fields;
+    }
+
+    ByteOrder byteOrder = ByteOrder.nativeOrder();
+    StructType packetHeader;
+    final Map<String, String> environment = new LinkedHashMap<>();
+    final Map<String, Clock> clocks = new LinkedHashMap<>();
+    final Map<Long, StreamClass> streams = new LinkedHashMap<>();
+
+    /**
+     * Read the metadata file of a trace, in text or packetized form.
+     *
+     * @param file
+     *            The metadata file
+     * @return The declarations found in the metadata
+     * @throws IOException
+     *             If the file could not be read, or is invalid
+     */
+    static Metadata read(Path file) throws IOException {
+        return new TsdlParser(getText(Files.readAllBytes(file))).parse();
+    }
+
+    /**
+     * Get the TSDL text from the contents of a metadata file, which may be
+     * split into packets.
+     */
+    static String getText(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < 4) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        if (buffer.order(ByteOrder.LITTLE_ENDIAN).getInt(0) != METADATA_PACKET_MAGIC) {
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != METADATA_PACKET_MAGIC) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+
+        /*
+         * Packet header: magic, uuid[16], checksum, content_size and
+         * packet_size (in bits), then 5 single-byte fields.
+         */
+        ByteArrayOutputStream text = new ByteArrayOutputStream(bytes.length);
+        int offset = 0;
+        while (offset + METADATA_PACKET_HEADER_SIZE <= bytes.length && buffer.getInt(offset) == METADATA_PACKET_MAGIC) {
+            int contentSize = buffer.getInt(offset + 24) / 8;
+            int packetSize = buffer.getInt(offset + 28) / 8;
+            if (packetSize <= 0 || contentSize < METADATA_PACKET_HEADER_SIZE) {
+                break;
+            }
+            int end = Math.min(offset + contentSize, bytes.length);
+            text.write(bytes, offset + METADATA_PACKET_HEADER_SIZE, end - offset - METADATA_PACKET_HEADER_SIZE);
+            offset += packetSize;
+        }
+        return new String(text.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the clock to which event timestamps are mapped.
+     *
+     * @return The clock, or a default 1 GHz clock with no offset if the trace
+     *         declares none
+     */
+    Clock getClock() {
+        if (clocks.isEmpty()) {
+            return new Clock();
+        }
+        return clocks.values().iterator().next();
+    }
+
+    StreamClass getOrCreateStream(long id) {
+        return streams.computeIfAbsent(Long.valueOf(id), key -> {
+            StreamClass stream = new StreamClass();
+            stream.id = id;
+            return stream;
+        });
+    }
+}
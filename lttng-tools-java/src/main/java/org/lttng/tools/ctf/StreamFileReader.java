@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.ctf;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.lttng.tools.ctf.Metadata.Clock;
+import org.lttng.tools.ctf.Metadata.EventClass;
+import org.lttng.tools.ctf.Metadata.StreamClass;
+
+/**
+ * Reads the events of one stream file of a trace, packet by packet.
+ *
+ * The file is memory-mapped in windows of at least WINDOW_SIZE bytes, each
+ * starting at the beginning of a packet, so that packets never straddle two
+ * mappings.
+ */
+final class StreamFileReader implements Closeable {
+
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final long PACKET_MAGIC = 0xC1FC1FC1L;
+
+    /** Enough to read the packet header and context */
+    private static final long PACKET_PROBE_SIZE = 4096;
+
+    private final Path file;
+    private final Metadata metadata;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final Clock clock;
+    private final BitReader reader;
+    private final DecodeContext context;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowSize;
+
+    private long nextPacketOffset = 0;
+    private boolean inPacket = false;
+    private StreamClass streamClass;
+    private int cpuId;
+    private int packetScopes;
+
+    private CtfEvent current;
+
+    /**
+     * Constructor, which reads the first event of the file.
+     *
+     * @param file
+     *            The stream file
+     * @param metadata
+     *            The metadata of its trace
+     * @throws IOException
+     *             If the file could not be read, or is invalid
+     */
+    StreamFileReader(Path file, Metadata metadata) throws IOException {
+        this.file = file;
+        this.metadata = metadata;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.clock = metadata.getClock();
+        this.reader = new BitReader(metadata.byteOrder);
+        this.context = new DecodeContext(reader);
+        try {
+            advance();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The current event, or null once the end of the file is reached
+     */
+    CtfEvent peek() {
+        return current;
+    }
+
+    /**
+     * Move to the next event of the file.
+     *
+     * @throws IOException
+     *             If the file could not be read, or is invalid
+     */
+    void advance() throws IOException {
+        while (!inPacket || !reader.hasRemaining()) {
+            if (!nextPacket()) {
+                current = null;
+                return;
+            }
+        }
+        current = readEvent();
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    // ------------------------------------------------------------------------
+    // Private helper methods
+    // ------------------------------------------------------------------------
+
+    private boolean nextPacket() throws IOException {
+        inPacket = false;
+        if (nextPacketOffset >= fileSize) {
+            return false;
+        }
+        long packetOffset = nextPacketOffset;
+        long available = fileSize - packetOffset;
+
+        ensureMapped(packetOffset, Math.min(available, PACKET_PROBE_SIZE));
+        reader.setPacket(window, (int) (packetOffset - windowStart), (windowStart + windowSize - packetOffset) * 8);
+        context.resetPacket();
+
+        Map<String, Object> header = Collections.emptyMap();
+        if (metadata.packetHeader != null) {
+            header = metadata.packetHeader.readStruct(context);
+        }
+        Object magic = header.get("magic");
+        if (magic instanceof Long && ((Long) magic).longValue() != PACKET_MAGIC) {
+            throw new IOException("Invalid packet magic number in " + file + " at offset " + packetOffset);
+        }
+
+        long streamId = getLong(header, "stream_id", 0);
+        streamClass = metadata.streams.get(Long.valueOf(streamId));
+        if (streamClass == null) {
+            throw new IOException("Unknown stream ID " + streamId + " in " + file);
+        }
+
+        Map<String, Object> packetContext = Collections.emptyMap();
+        if (streamClass.packetContext != null) {
+            packetContext = streamClass.packetContext.readStruct(context);
+        }
+        packetScopes = context.getRootCount();
+
+        /*
+         * The "timestamp_end" field is also mapped to the clock, but the
+         * events of the packet start from "timestamp_begin".
+         */
+        Object timestampBegin = packetContext.get("timestamp_begin");
+        if (timestampBegin instanceof Long) {
+            context.setClockValue(((Long) timestampBegin).longValue());
+        }
+
+        long packetSize = getLong(packetContext, "packet_size", available * 8);
+        long contentSize = getLong(packetContext, "content_size", packetSize);
+        cpuId = (int) getLong(packetContext, "cpu_id", -1);
+        if (packetSize <= 0 || contentSize > packetSize || packetSize > available * 8) {
+            throw new IOException("Invalid packet size in " + file + " at offset " + packetOffset);
+        }
+        nextPacketOffset = packetOffset + (packetSize / 8);
+
+        ensureMapped(packetOffset, packetSize / 8);
+        reader.moveTo(window, (int) (packetOffset - windowStart), contentSize);
+        inPacket = true;
+        return true;
+    }
+
+    private CtfEvent readEvent() throws IOException {
+        context.resetEvent(packetScopes);
+
+        Map<String, Object> header = Collections.emptyMap();
+        if (streamClass.eventHeader != null) {
+            header = streamClass.eventHeader.readStruct(context);
+        }
+        long id = getEventId(header);
+        EventClass eventClass = streamClass.events.get(Long.valueOf(id));
+        if (eventClass == null) {
+            throw new IOException("Unknown event ID " + id + " in " + file);
+        }
+
+        Map<String, Object> eventContext = new LinkedHashMap<>();
+        if (streamClass.eventContext != null) {
+            eventContext.putAll(streamClass.eventContext.readStruct(context));
+        }
+        if (eventClass.context != null) {
+            eventContext.putAll(eventClass.context.readStruct(context));
+        }
+        Map<String, Object> fields = Collections.emptyMap();
+        if (eventClass.fields != null) {
+            fields = eventClass.fields.readStruct(context);
+        }
+
+        return new CtfEvent(eventClass.name, clock.toNanos(context.getClockValue()), cpuId, streamClass.id, eventContext, fields);
+    }
+
+    /**
+     * Get the event ID from the event header. In the LTTng headers, the "id"
+     * field is only a short version of it, the complete ID is in the
+     * "extended" option of the "v" variant if it is selected.
+     */
+    private long getEventId(Map<String, Object> header) {
+        Object variant = header.get("v");
+        if (variant instanceof Map) {
+            Object id = ((Map<?, ?>) variant).get("id");
+            if (id instanceof Long) {
+                return ((Long) id).longValue();
+            }
+        }
+        Object id = header.get("id");
+        if (id instanceof Long) {
+            return ((Long) id).longValue();
+        }
+        if (streamClass.events.size() == 1) {
+            return streamClass.events.keySet().iterator().next().longValue();
+        }
+        return 0;
+    }
+
+    private void ensureMapped(long offset, long length) throws IOException {
+        if (window != null && offset >= windowStart && offset + length <= windowStart + windowSize) {
+            return;
+        }
+        windowStart = offset;
+        windowSize = Math.min(fileSize - offset, Math.max(length, WINDOW_SIZE));
+        window = channel.map(MapMode.READ_ONLY, windowStart, windowSize);
+    }
+
+    private static long getLong(Map<String, Object> map, String key, long defaultValue) {
+        Object value = map.get(key);
+        return (value instanceof Long ? ((Long) value).longValue() : defaultValue);
+    }
+}
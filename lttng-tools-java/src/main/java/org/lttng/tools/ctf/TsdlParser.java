@@ -0,0 +1,883 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.ctf;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.lttng.tools.ctf.CtfType.ArrayType;
+import org.lttng.tools.ctf.CtfType.EnumType;
+import org.lttng.tools.ctf.CtfType.Field;
+import org.lttng.tools.ctf.CtfType.FloatType;
+import org.lttng.tools.ctf.CtfType.IntegerType;
+import org.lttng.tools.ctf.CtfType.SequenceType;
+import org.lttng.tools.ctf.CtfType.StringType;
+import org.lttng.tools.ctf.CtfType.StructType;
+import org.lttng.tools.ctf.CtfType.VariantType;
+import org.lttng.tools.ctf.Metadata.Clock;
+import org.lttng.tools.ctf.Metadata.EventClass;
+import org.lttng.tools.ctf.Metadata.StreamClass;
+
+/**
+ * Parser for the TSDL (Trace Stream Description Language) text of CTF 1.8
+ * metadata.
+ *
+ * This supports what the LTTng tracers write in their metadata: type aliases,
+ * integers (including bitfields and clock-mapped ones), floating point
+ * numbers, strings, structures, enumerations, variants, arrays and sequences,
+ * and the trace, env, clock, stream and event blocks. Other blocks are
+ * skipped.
+ */
+final class TsdlParser {
+
+    private enum TokenType {
+        IDENTIFIER, NUMBER, STRING, PUNCTUATION, END
+    }
+
+    private static final class Token {
+
+        final TokenType type;
+        final String text;
+        final long number;
+        final int line;
+
+        Token(TokenType type, String text, long number, int line) {
+            this.type = type;
+            this.text = text;
+            this.number = number;
+            this.line = line;
+        }
+    }
+
+    /**
+     * One "key = value;" or "key := type;" entry of a block
+     */
+    private static final class Assignment {
+
+        final String key;
+        final Object value;
+
+        Assignment(String key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final String text;
+    private final Metadata metadata = new Metadata();
+    private final Map<String, CtfType> aliases = new HashMap<>();
+    private final Map<String, StructType> structs = new HashMap<>();
+    private final Map<String, VariantType> variants = new HashMap<>();
+    private final Map<String, EnumType> enums = new HashMap<>();
+
+    private List<Token> tokens;
+    private int index;
+
+    /**
+     * Constructor
+     *
+     * @param text
+     *            The TSDL text to parse
+     */
+    TsdlParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parse the metadata.
+     *
+     * @return The declarations found in the metadata
+     * @throws IOException
+     *             If the metadata is invalid, or uses unsupported constructs
+     */
+    Metadata parse() throws IOException {
+        tokens = tokenize(text);
+        index = 0;
+        while (peek().type != TokenType.END) {
+            parseTopLevel();
+        }
+        return metadata;
+    }
+
+    // ------------------------------------------------------------------------
+    // Blocks
+    // ------------------------------------------------------------------------
+
+    private void parseTopLevel() throws IOException {
+        Token token = peek();
+        if (token.type != TokenType.IDENTIFIER) {
+            throw error(token, "Unexpected " + token.text);
+        }
+        switch (token.text) {
+        case "typealias":
+            next();
+            parseTypealias();
+            return;
+        case "typedef":
+            next();
+            parseTypedef();
+            return;
+        case "trace":
+            next();
+            applyTrace(parseBlock());
+            return;
+        case "env":
+            next();
+            for (Assignment assignment : parseBlock()) {
+                metadata.environment.put(assignment.key, String.valueOf(assignment.value));
+            }
+            return;
+        case "clock":
+            next();
+            applyClock(parseBlock());
+            return;
+        case "stream":
+            next();
+            applyStream(parseBlock());
+            return;
+        case "event":
+            next();
+            applyEvent(parseBlock());
+            return;
+        case "struct":
+        case "variant":
+        case "enum":
+        case "integer":
+        case "floating_point":
+        case "string":
+            /* Declaration of a named type */
+            parseTypeSpecifier(false);
+            expect(";");
+            return;
+        default:
+            /* Unknown block, like "callsite" */
+            next();
+            parseBlock();
+            return;
+        }
+    }
+
+    private List<Assignment> parseBlock() throws IOException {
+        List<Assignment> assignments = parseBody();
+        expect(";");
+        return assignments;
+    }
+
+    private List<Assignment> parseBody() throws IOException {
+        expect("{");
+        List<Assignment> assignments = new ArrayList<>();
+        while (!accept("}")) {
+            if (acceptIdentifier("typealias")) {
+                parseTypealias();
+                continue;
+            }
+            if (acceptIdentifier("typedef")) {
+                parseTypedef();
+                continue;
+            }
+            String key = parseDottedName();
+            if (accept(":=")) {
+                assignments.add(new Assignment(key, parseTypeSpecifier(false)));
+            } else {
+                expect("=");
+                assignments.add(new Assignment(key, parseValue()));
+            }
+            expect(";");
+        }
+        return assignments;
+    }
+
+    private void applyTrace(List<Assignment> assignments) throws IOException {
+        for (Assignment assignment : assignments) {
+            switch (assignment.key) {
+            case "byte_order":
+                ByteOrder order = toByteOrder(assignment);
+                if (order != null) {
+                    metadata.byteOrder = order;
+                }
+                break;
+            case "packet.header":
+                metadata.packetHeader = toStruct(assignment);
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    private void applyClock(List<Assignment> assignments) throws IOException {
+        Clock clock = new Clock();
+        for (Assignment assignment : assignments) {
+            switch (assignment.key) {
+            case "name":
+                clock.name = String.valueOf(assignment.value);
+                break;
+            case "freq":
+                clock.frequency = toLong(assignment);
+                break;
+            case "offset_s":
+                clock.offsetSeconds = toLong(assignment);
+                break;
+            case "offset":
+                clock.offset = toLong(assignment);
+                break;
+            default:
+                break;
+            }
+        }
+        metadata.clocks.put(clock.name, clock);
+    }
+
+    private void applyStream(List<Assignment> assignments) throws IOException {
+        long id = 0;
+        for (Assignment assignment : assignments) {
+            if (assignment.key.equals("id")) {
+                id = toLong(assignment);
+            }
+        }
+        StreamClass stream = metadata.getOrCreateStream(id);
+        for (Assignment assignment : assignments) {
+            switch (assignment.key) {
+            case "packet.context":
+                stream.packetContext = toStruct(assignment);
+                break;
+            case "event.header":
+                stream.eventHeader = toStruct(assignment);
+                break;
+            case "event.context":
+                stream.eventContext = toStruct(assignment);
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    private void applyEvent(List<Assignment> assignments) throws IOException {
+        EventClass event = new EventClass();
+        for (Assignment assignment : assignments) {
+            switch (assignment.key) {
+            case "name":
+                event.name = String.valueOf(assignment.value);
+                break;
+            case "id":
+                event.id = toLong(assignment);
+                break;
+            case "stream_id":
+                event.streamId = toLong(assignment);
+                break;
+            case "context":
+                event.context = toStruct(assignment);
+                break;
+            case "fields":
+                event.fields = toStruct(assignment);
+                break;
+            default:
+                break;
+            }
+        }
+        metadata.getOrCreateStream(event.streamId).events.put(Long.valueOf(event.id), event);
+    }
+
+    // ------------------------------------------------------------------------
+    // Types
+    // ------------------------------------------------------------------------
+
+    private void parseTypealias() throws IOException {
+        CtfType type = parseTypeSpecifier(false);
+        expect(":=");
+        StringJoiner name = new StringJoiner(" ");
+        while (!accept(";")) {
+            Token token = next();
+            if (token.type == TokenType.IDENTIFIER) {
+                name.add(token.text);
+            } else if (!token.text.equals("*")) {
+                throw error(token, "Unexpected " + token.text + " in type alias");
+            }
+        }
+        aliases.put(name.toString(), type);
+    }
+
+    private void parseTypedef() throws IOException {
+        CtfType type = parseTypeSpecifier(true);
+        String name = expectIdentifier();
+        aliases.put(name, parseDimensions(type));
+        expect(";");
+    }
+
+    /**
+     * Parse a type specifier.
+     *
+     * @param declaratorFollows
+     *            If the type is followed by a field name, which matters for
+     *            type aliases made of several words, like "unsigned long"
+     */
+    private CtfType parseTypeSpecifier(boolean declaratorFollows) throws IOException {
+        Token token = peek();
+        if (token.type != TokenType.IDENTIFIER) {
+            throw error(token, "Expected a type, got " + token.text);
+        }
+        switch (token.text) {
+        case "integer":
+            next();
+            return toInteger(token, parseBody());
+        case "floating_point":
+            next();
+            return toFloat(token, parseBody());
+        case "string":
+            next();
+            if (peek().text.equals("{")) {
+                parseBody();
+            }
+            return StringType.INSTANCE;
+        case "struct":
+            next();
+            return parseStruct();
+        case "variant":
+            next();
+            return parseVariant();
+        case "enum":
+            next();
+            return parseEnum();
+        default:
+            return parseAlias(declaratorFollows);
+        }
+    }
+
+    private CtfType parseAlias(boolean declaratorFollows) throws IOException {
+        Token first = peek();
+        int words = 0;
+        while (tokens.get(index + words).type == TokenType.IDENTIFIER) {
+            words++;
+        }
+        if (declaratorFollows) {
+            words--;
+        }
+        if (words <= 0) {
+            throw error(first, "Expected a type, got " + first.text);
+        }
+        StringJoiner name = new StringJoiner(" ");
+        for (int i = 0; i < words; i++) {
+            name.add(next().text);
+        }
+        CtfType type = aliases.get(name.toString());
+        if (type == null) {
+            throw error(first, "Unknown type " + name);
+        }
+        return type;
+    }
+
+    private StructType parseStruct() throws IOException {
+        Token start = peek();
+        String name = null;
+        if (start.type == TokenType.IDENTIFIER) {
+            name = next().text;
+        }
+        if (!peek().text.equals("{")) {
+            StructType struct = structs.get(name);
+            if (struct == null) {
+                throw error(start, "Unknown struct " + name);
+            }
+            return struct;
+        }
+
+        List<Field> fields = parseFields();
+        int alignment = 1;
+        if (acceptIdentifier("align")) {
+            expect("(");
+            alignment = (int) expectNumber();
+            expect(")");
+        }
+        StructType struct = new StructType(fields, alignment);
+        if (name != null) {
+            structs.put(name, struct);
+        }
+        return struct;
+    }
+
+    private VariantType parseVariant() throws IOException {
+        Token start = peek();
+        String name = null;
+        if (start.type == TokenType.IDENTIFIER) {
+            name = next().text;
+        }
+        String tag = null;
+        if (accept("<")) {
+            tag = unescape(parseDottedName());
+            expect(">");
+        }
+        if (!peek().text.equals("{")) {
+            VariantType variant = variants.get(name);
+            if (variant == null) {
+                throw error(start, "Unknown variant " + name);
+            }
+            return new VariantType(tag != null ? tag : variant.tag, variant.options);
+        }
+
+        Map<String, CtfType> options = new LinkedHashMap<>();
+        for (Field field : parseFields()) {
+            options.put(field.name, field.type);
+        }
+        VariantType variant = new VariantType(tag, options);
+        if (name != null) {
+            variants.put(name, variant);
+        }
+        return variant;
+    }
+
+    private EnumType parseEnum() throws IOException {
+        Token start = peek();
+        String name = null;
+        if (start.type == TokenType.IDENTIFIER) {
+            name = next().text;
+        }
+
+        CtfType container = null;
+        if (accept(":")) {
+            container = parseTypeSpecifier(false);
+        } else if (peek().text.equals("{")) {
+            container = aliases.get("int");
+        }
+        if (!peek().text.equals("{")) {
+            EnumType enumType = enums.get(name);
+            if (enumType == null) {
+                throw error(start, "Unknown enum " + name);
+            }
+            return enumType;
+        }
+        if (container == null) {
+            container = new IntegerType(32, 8, true, null, false, null);
+        }
+        if (!(container instanceof IntegerType)) {
+            throw error(start, "Enumeration container is not an integer");
+        }
+
+        expect("{");
+        List<EnumType.Mapping> mappings = new ArrayList<>();
+        long nextValue = 0;
+        while (!accept("}")) {
+            Token labelToken = next();
+            if (labelToken.type != TokenType.IDENTIFIER && labelToken.type != TokenType.STRING) {
+                throw error(labelToken, "Expected an enumeration label, got " + labelToken.text);
+            }
+            long low = nextValue;
+            long high = nextValue;
+            if (accept("=")) {
+                low = parseSignedNumber();
+                high = low;
+                if (accept("...")) {
+                    high = parseSignedNumber();
+                }
+            }
+            mappings.add(new EnumType.Mapping(labelToken.text, low, high));
+            nextValue = high + 1;
+            if (!accept(",")) {
+                expect("}");
+                break;
+            }
+        }
+
+        EnumType enumType = new EnumType((IntegerType) container, mappings);
+        if (name != null) {
+            enums.put(name, enumType);
+        }
+        return enumType;
+    }
+
+    private List<Field> parseFields() throws IOException {
+        expect("{");
+        List<Field> fields = new ArrayList<>();
+        while (!accept("}")) {
+            if (acceptIdentifier("typealias")) {
+                parseTypealias();
+                continue;
+            }
+            if (acceptIdentifier("typedef")) {
+                parseTypedef();
+                continue;
+            }
+            CtfType type = parseTypeSpecifier(true);
+            if (accept(";")) {
+                /* Type declaration, with no field */
+                continue;
+            }
+            String name = unescape(expectIdentifier());
+            fields.add(new Field(name, parseDimensions(type)));
+            expect(";");
+        }
+        return fields;
+    }
+
+    private CtfType parseDimensions(CtfType elementType) throws IOException {
+        List<Object> dimensions = new ArrayList<>();
+        while (accept("[")) {
+            if (peek().type == TokenType.NUMBER) {
+                dimensions.add(Integer.valueOf((int) next().number));
+            } else {
+                dimensions.add(unescape(parseDottedName()));
+            }
+            expect("]");
+        }
+        CtfType type = elementType;
+        for (int i = dimensions.size() - 1; i >= 0; i--) {
+            Object dimension = dimensions.get(i);
+            if (dimension instanceof Integer) {
+                type = new ArrayType(type, ((Integer) dimension).intValue());
+            } else {
+                type = new SequenceType(type, (String) dimension);
+            }
+        }
+        return type;
+    }
+
+    private static IntegerType toInteger(Token start, List<Assignment> attributes) throws IOException {
+        int size = -1;
+        int alignment = -1;
+        boolean signed = false;
+        ByteOrder byteOrder = null;
+        boolean encoded = false;
+        String clockName = null;
+
+        for (Assignment attribute : attributes) {
+            switch (attribute.key) {
+            case "size":
+                size = (int) toLong(attribute);
+                break;
+            case "align":
+                alignment = (int) toLong(attribute);
+                break;
+            case "signed":
+                signed = toBoolean(attribute);
+                break;
+            case "byte_order":
+                byteOrder = toByteOrder(attribute);
+                break;
+            case "encoding":
+                encoded = !String.valueOf(attribute.value).equalsIgnoreCase("none");
+                break;
+            case "map":
+                /* "clock.<name>.value" */
+                String[] components = String.valueOf(attribute.value).split("\\.");
+                clockName = (components.length >= 2 ? components[1] : components[0]);
+                break;
+            default:
+                break;
+            }
+        }
+        if (size <= 0 || size > 64) {
+            throw error(start, "Invalid integer size " + size);
+        }
+        if (alignment <= 0) {
+            alignment = (size % 8 == 0 ? 8 : 1);
+        }
+        return new IntegerType(size, alignment, signed, byteOrder, encoded, clockName);
+    }
+
+    private static FloatType toFloat(Token start, List<Assignment> attributes) throws IOException {
+        int size = 0;
+        int alignment = -1;
+        ByteOrder byteOrder = null;
+        for (Assignment attribute : attributes) {
+            switch (attribute.key) {
+            case "exp_dig":
+            case "mant_dig":
+                size += (int) toLong(attribute);
+                break;
+            case "align":
+                alignment = (int) toLong(attribute);
+                break;
+            case "byte_order":
+                byteOrder = toByteOrder(attribute);
+                break;
+            default:
+                break;
+            }
+        }
+        if (size != 32 && size != 64) {
+            throw error(start, "Unsupported floating point size " + size);
+        }
+        return new FloatType(size, (alignment > 0 ? alignment : 8), byteOrder);
+    }
+
+    // ------------------------------------------------------------------------
+    // Values
+    // ------------------------------------------------------------------------
+
+    private Object parseValue() throws IOException {
+        Token token = peek();
+        switch (token.type) {
+        case NUMBER:
+            next();
+            return Long.valueOf(token.number);
+        case STRING:
+            next();
+            return token.text;
+        case IDENTIFIER:
+            return parseDottedName();
+        case PUNCTUATION:
+            if (token.text.equals("-") || token.text.equals("+")) {
+                return Long.valueOf(parseSignedNumber());
+            }
+            throw error(token, "Unexpected " + token.text);
+        default:
+            throw error(token, "Unexpected end of metadata");
+        }
+    }
+
+    private long parseSignedNumber() throws IOException {
+        if (accept("-")) {
+            return -expectNumber();
+        }
+        accept("+");
+        return expectNumber();
+    }
+
+    private String parseDottedName() throws IOException {
+        StringBuilder sb = new StringBuilder(expectIdentifier());
+        while (accept(".")) {
+            sb.append('.').append(expectIdentifier());
+        }
+        return sb.toString();
+    }
+
+    private static long toLong(Assignment assignment) throws IOException {
+        if (!(assignment.value instanceof Long)) {
+            throw new IOException("Expected a number for " + assignment.key + ", got " + assignment.value);
+        }
+        return ((Long) assignment.value).longValue();
+    }
+
+    private static boolean toBoolean(Assignment assignment) {
+        Object value = assignment.value;
+        if (value instanceof Long) {
+            return ((Long) value).longValue() != 0;
+        }
+        return String.valueOf(value).equalsIgnoreCase("true");
+    }
+
+    /**
+     * @return The byte order, or null for "native", meaning the trace's
+     */
+    private static ByteOrder toByteOrder(Assignment assignment) throws IOException {
+        String value = String.valueOf(assignment.value);
+        switch (value) {
+        case "le":
+            return ByteOrder.LITTLE_ENDIAN;
+        case "be":
+        case "network":
+            return ByteOrder.BIG_ENDIAN;
+        case "native":
+            return null;
+        default:
+            throw new IOException("Invalid byte order " + value);
+        }
+    }
+
+    private static StructType toStruct(Assignment assignment) throws IOException {
+        if (!(assignment.value instanceof StructType)) {
+            throw new IOException("Expected a struct for " + assignment.key);
+        }
+        return (StructType) assignment.value;
+    }
+
+    /**
+     * Field names starting with an underscore are escaped, the underscore is
+     * not part of the name.
+     */
+    private static String unescape(String name) {
+        int lastDot = name.lastIndexOf('.');
+        if (name.startsWith("_", lastDot + 1)) {
+            return name.substring(0, lastDot + 1) + name.substring(lastDot + 2);
+        }
+        return name;
+    }
+
+    // ------------------------------------------------------------------------
+    // Tokens
+    // ------------------------------------------------------------------------
+
+    private Token peek() {
+        return tokens.get(index);
+    }
+
+    private Token next() {
+        Token token = tokens.get(index);
+        if (token.type != TokenType.END) {
+            index++;
+        }
+        return token;
+    }
+
+    private boolean accept(String punctuation) {
+        Token token = peek();
+        if ((token.type == TokenType.PUNCTUATION) && token.text.equals(punctuation)) {
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptIdentifier(String identifier) {
+        Token token = peek();
+        if ((token.type == TokenType.IDENTIFIER) && token.text.equals(identifier)) {
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String punctuation) throws IOException {
+        if (!accept(punctuation)) {
+            throw error(peek(), "Expected " + punctuation + ", got " + peek().text);
+        }
+    }
+
+    private String expectIdentifier() throws IOException {
+        Token token = next();
+        if (token.type != TokenType.IDENTIFIER) {
+            throw error(token, "Expected an identifier, got " + token.text);
+        }
+        return token.text;
+    }
+
+    private long expectNumber() throws IOException {
+        Token token = next();
+        if (token.type != TokenType.NUMBER) {
+            throw error(token, "Expected a number, got " + token.text);
+        }
+        return token.number;
+    }
+
+    private static IOException error(Token token, String message) {
+        return new IOException("Metadata line " + token.line + ": " + message);
+    }
+
+    private static List<Token> tokenize(String text) throws IOException {
+        List<Token> tokens = new ArrayList<>();
+        int length = text.length();
+        int line = 1;
+        int i = 0;
+
+        while (i < length) {
+            char c = text.charAt(i);
+
+            if (c == '\n') {
+                line++;
+                i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (text.startsWith("/*", i)) {
+                int end = text.indexOf("*/", i + 2);
+                if (end < 0) {
+                    throw new IOException("Metadata line " + line + ": Unterminated comment");
+                }
+                for (int j = i; j < end; j++) {
+                    if (text.charAt(j) == '\n') {
+                        line++;
+                    }
+                }
+                i = end + 2;
+            } else if (text.startsWith("//", i)) {
+                while (i < length && text.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.IDENTIFIER, text.substring(start, i), 0, line));
+            } else if (c >= '0' && c <= '9') {
+                int start = i;
+                int radix = 10;
+                if (c == '0' && i + 1 < length && (text.charAt(i + 1) == 'x' || text.charAt(i + 1) == 'X')) {
+                    radix = 16;
+                    i += 2;
+                    start = i;
+                } else if (c == '0' && i + 1 < length && Character.isDigit(text.charAt(i + 1))) {
+                    radix = 8;
+                }
+                while (i < length && Character.digit(text.charAt(i), radix) >= 0) {
+                    i++;
+                }
+                String digits = text.substring(start, i);
+                while (i < length && "uUlL".indexOf(text.charAt(i)) >= 0) {
+                    i++;
+                }
+                long value;
+                try {
+                    value = Long.parseUnsignedLong(digits, radix);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Metadata line " + line + ": Invalid number " + digits, e);
+                }
+                tokens.add(new Token(TokenType.NUMBER, digits, value, line));
+            } else if (c == '"' || c == '\'') {
+                StringBuilder sb = new StringBuilder();
+                i++;
+                while (i < length && text.charAt(i) != c) {
+                    char ch = text.charAt(i++);
+                    if (ch == '\\' && i < length) {
+                        char escaped = text.charAt(i++);
+                        switch (escaped) {
+                        case 'n':
+                            ch = '\n';
+                            break;
+                        case 't':
+                            ch = '\t';
+                            break;
+                        default:
+                            ch = escaped;
+                            break;
+                        }
+                    }
+                    sb.append(ch);
+                }
+                if (i >= length) {
+                    throw new IOException("Metadata line " + line + ": Unterminated literal");
+                }
+                i++;
+                String value = sb.toString();
+                if (c == '"') {
+                    tokens.add(new Token(TokenType.STRING, value, 0, line));
+                } else {
+                    tokens.add(new Token(TokenType.NUMBER, value, value.isEmpty() ? 0 : value.charAt(0), line));
+                }
+            } else if (text.startsWith(":=", i) || text.startsWith("->", i)) {
+                tokens.add(new Token(TokenType.PUNCTUATION, text.substring(i, i + 2), 0, line));
+                i += 2;
+            } else if (text.startsWith("...", i)) {
+                tokens.add(new Token(TokenType.PUNCTUATION, "...", 0, line));
+                i += 3;
+            } else if ("{}[]()<>;,=:.+-*".indexOf(c) >= 0) {
+                tokens.add(new Token(TokenType.PUNCTUATION, String.valueOf(c), 0, line));
+                i++;
+            } else {
+                throw new IOException("Metadata line " + line + ": Unexpected character " + c);
+            }
+        }
+        tokens.add(new Token(TokenType.END, "end of metadata", 0, line));
+        return tokens;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools.utils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strategy to run command-line commands. The one used by the static methods of
+ * {@link ShellUtils} is chosen with the
+ * {@value ShellUtils#EXECUTOR_PROPERTY} system property.
+ *
+ * Commands which do not specify a timeout use the default one, set with the
+ * {@value ShellUtils#COMMAND_TIMEOUT_PROPERTY} system property. A command
+ * which exceeds its timeout is killed, and reported as having failed.
+ *
+ * @see ProcessCommandExecutor
+ * @see PooledShellCommandExecutor
+ * @see ShellCoprocess
+ */
+public interface CommandExecutor {
+
+    /**
+     * Execute a command and retrieve its return value. The command's output
+     * is printed to stdout.
+     *
+     * @param command
+     *            The command to execute, as a list of individual arguments (do
+     *            not use spaces)
+     * @param timeout
+     *            The maximum time to wait for the command, 0 to wait
+     *            indefinitely
+     * @param unit
+     *            The unit of the "timeout" parameter
+     * @return If the command returned successfully (ret code = 0), before its
+     *         timeout
+     */
+    boolean executeCommand(List<String> command, long timeout, TimeUnit unit);
+
+    /**
+     * Execute a command and capture its output, exit code and duration. The
+     * output is kept in memory, up to the
+     * {@value ShellUtils#MAX_OUTPUT_PROPERTY} size cap if one is set.
+     *
+     * @param print
+     *            Should the output also be printed to stdout as usual
+     * @param command
+     *            The command to execute, as a list of individual arguments (do
+     *            not use spaces)
+     * @param timeout
+     *            The maximum time to wait for the command, 0 to wait
+     *            indefinitely
+     * @param unit
+     *            The unit of the "timeout" parameter
+     * @return The result of the command, or null if the command could not be
+     *         run
+     */
+    CommandResult runCommand(boolean print, List<String> command, long timeout, TimeUnit unit);
+
+    /**
+     * Execute a command with the default timeout and retrieve its return
+     * value. The command's output is printed to stdout.
+     *
+     * @param command
+     *            The command to execute, as a list of individual arguments (do
+     *            not use spaces)
+     * @return If the command returned successfully (ret code = 0)
+     */
+    default boolean executeCommand(List<String> command) {
+        return executeCommand(command, ShellUtils.getDefaultTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Execute a command with the default timeout and capture its output, exit
+     * code and duration.
+     *
+     * @param print
+     *            Should the output also be printed to stdout as usual
+     * @param command
+     *            The command to execute, as a list of individual arguments (do
+     *            not use spaces)
+     * @return The result of the command, or null if the command could not be
+     *         run
+     */
+    default CommandResult runCommand(boolean print, List<String> command) {
+        return runCommand(print, command, ShellUtils.getDefaultTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Execute a command with the default timeout and retrieve its output.
+     *
+     * @param print
+     *            Should the output also be printed to stdout as usual
+     * @param command
+     *            The command to execute, as a list of individual arguments (do
+     *            not use spaces)
+     * @return The output of the command, as one list element per line, or
+     *         null if the command could not be run or timed out
+     */
+    default List<String> getOutputFromCommand(boolean print, List<String> command) {
+        CommandResult result = runCommand(print, command);
+        return (result == null || result.isTimedOut() ? null : result.getLines());
+    }
+}
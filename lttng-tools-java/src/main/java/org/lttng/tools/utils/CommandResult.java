@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a command run by a {@link CommandExecutor}: its exit code, its
+ * captured output, how long it took and if it had to be killed because it
+ * exceeded its timeout.
+ *
+ * The output is kept as raw bytes, and only decoded (as UTF-8) the first time
+ * it is requested as text.
+ */
+public final class CommandResult {
+
+    /** Exit code reported for commands which were killed after a timeout */
+    public static final int TIMEOUT_EXIT_CODE = 124;
+
+    private final int exitCode;
+    private final byte[] bytes;
+    private final long totalBytes;
+    private final long durationNanos;
+    private final boolean timedOut;
+
+    private List<String> lines = null;
+
+    /**
+     * Constructor
+     *
+     * @param exitCode
+     *            The exit code of the command
+     * @param bytes
+     *            The captured output. It is not copied.
+     * @param totalBytes
+     *            The total size of the output, which can be more than the
+     *            number of captured bytes if it was truncated
+     * @param durationNanos
+     *            How long the command took, in nanoseconds
+     * @param timedOut
+     *            If the command was killed because it exceeded its timeout
+     */
+    CommandResult(int exitCode, byte[] bytes, long totalBytes, long durationNanos, boolean timedOut) {
+        this.exitCode = exitCode;
+        this.bytes = bytes;
+        this.totalBytes = totalBytes;
+        this.durationNanos = durationNanos;
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * @return The exit code of the command, or {@link #TIMEOUT_EXIT_CODE} if
+     *         it timed out
+     */
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * @return If the command returned successfully (ret code = 0) before its
+     *         timeout
+     */
+    public boolean isSuccess() {
+        return (exitCode == 0 && !timedOut);
+    }
+
+    /**
+     * @return If the command was killed because it exceeded its timeout. The
+     *         output is then what it printed up to that point.
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * @return How long the command took, in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return The number of captured bytes of output
+     */
+    public int size() {
+        return bytes.length;
+    }
+
+    /**
+     * @return The total number of bytes of output, including the ones that
+     *         were discarded if it was truncated
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return If the output was larger than the capture's size cap, in which
+     *         case only its beginning was kept
+     */
+    public boolean isTruncated() {
+        return (totalBytes > bytes.length);
+    }
+
+    /**
+     * @return The captured output, as one string
+     */
+    public String getText() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the captured output as lines. Like with
+     * {@link java.io.BufferedReader#readLine()}, lines may be terminated by
+     * "\n", "\r" or "\r\n", and the terminators are not included.
+     *
+     * @return The captured output, as one (unmodifiable) list element per
+     *         line
+     */
+    public synchronized List<String> getLines() {
+        if (lines == null) {
+            lines = Collections.unmodifiableList(splitLines(getText()));
+        }
+        return lines;
+    }
+
+    private static List<String> splitLines(String text) {
+        List<String> result = new ArrayList<>();
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                result.add(text.substring(start, i));
+                if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            result.add(text.substring(start));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latency values (typically in nanoseconds), in the spirit of
+ * HdrHistogram.
+ *
+ * Values are counted in log-linear buckets: each power of two is split into
+ * 32 buckets of equal width, so the values reported
+ * for percentiles are within about 3% of the real ones, for any magnitude.
+ * Recording a value does not allocate nor lock, so it can be done
+ * concurrently from many threads without affecting what is being measured.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+    /* Enough buckets to represent Long.MAX_VALUE */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Record one value. Negative values are counted as 0.
+     *
+     * @param value
+     *            The value to record
+     */
+    public void record(long value) {
+        long v = Math.max(value, 0);
+        counts.incrementAndGet(bucketIndex(v));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(v);
+
+        long max = maxValue.get();
+        while (v > max && !maxValue.compareAndSet(max, v)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * @return The number of recorded values
+     */
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * @return The sum of all the recorded values
+     */
+    public long getTotalValue() {
+        return totalValue.get();
+    }
+
+    /**
+     * @return The largest recorded value, or 0 if there are none
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * @return The mean of the recorded values, or 0 if there are none
+     */
+    public double getMean() {
+        long count = totalCount.get();
+        return (count == 0 ? 0 : (double) totalValue.get() / count);
+    }
+
+    /**
+     * Get the value below which the given percentage of the recorded values
+     * fall. The returned value is the upper bound of the corresponding
+     * bucket, so it may be slightly larger than the actual recorded value.
+     *
+     * @param percentile
+     *            The percentile, between 0 and 100
+     * @return The value at that percentile, or 0 if there are no values
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        double p = Math.min(Math.max(percentile, 0.0), 100.0);
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Format the values at the given percentiles, followed by the maximum, in
+     * nanoseconds, for example "p50 = 1200 ns, p99 = 5400 ns, max = 9800 ns".
+     *
+     * @param percentiles
+     *            The percentiles to print, between 0 and 100
+     * @return The formatted values
+     */
+    public String formatPercentiles(double... percentiles) {
+        StringBuilder sb = new StringBuilder();
+        for (double percentile : percentiles) {
+            sb.append('p').append(percentile % 1 == 0 ? String.valueOf((long) percentile) : String.valueOf(percentile))
+                    .append(" = ").append(getValueAtPercentile(percentile)).append(" ns, ");
+        }
+        sb.append("max = ").append(getMax()).append(" ns");
+        return sb.toString();
+    }
+
+    /**
+     * Add all the values of another histogram to this one.
+     *
+     * @param other
+     *            The histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalValue.addAndGet(other.totalValue.get());
+
+        long otherMax = other.maxValue.get();
+        long max = maxValue.get();
+        while (otherMax > max && !maxValue.compareAndSet(max, otherMax)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * @return A copy of the current state of this histogram
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    /**
+     * Get the values that were recorded in this histogram since an earlier
+     * copy of it was made.
+     *
+     * The maximum of the result is the one of the bucket containing the
+     * largest new value, as the exact values are not kept.
+     *
+     * @param earlier
+     *            An earlier copy of this histogram
+     * @return A new histogram with the values recorded since then
+     */
+    public LatencyHistogram since(LatencyHistogram earlier) {
+        LatencyHistogram diff = new LatencyHistogram();
+        long max = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.get(i) - earlier.counts.get(i);
+            if (count > 0) {
+                diff.counts.set(i, count);
+                max = Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        diff.totalCount.set(totalCount.get() - earlier.totalCount.get());
+        diff.totalValue.set(totalValue.get() - earlier.totalValue.get());
+        diff.maxValue.set(max);
+        return diff;
+    }
+
+    /**
+     * Remove all the recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalValue.set(0);
+        maxValue.set(0);
+    }
+
+    // ------------------------------------------------------------------------
+    // Bucket computations
+    // ------------------------------------------------------------------------
+
+    /**
+     * Values below {@link #SUB_BUCKET_COUNT} get one bucket each. Above that,
+     * the bucket is given by the position of the highest bit (the power of
+     * two) and the {@link #SUB_BUCKET_BITS} bits that follow it.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & SUB_BUCKET_MASK;
+        return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = index & SUB_BUCKET_MASK;
+        long lowerBound = (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
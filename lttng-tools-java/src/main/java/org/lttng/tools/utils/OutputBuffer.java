@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer in which the output of commands is captured, straight
+ * from the process's pipe. It is meant to be reused from one command to the
+ * next, so that capturing an output usually does not need to allocate
+ * anything but the resulting {@link CommandResult}.
+ *
+ * At most "maxBytes" are kept. Further output is still read, so that the
+ * command does not block on a full pipe, but it is discarded and the capture
+ * is marked as truncated.
+ *
+ * This class is not thread-safe.
+ */
+public final class OutputBuffer {
+
+    /** Size cap meaning "keep everything", the largest array size VMs support */
+    public static final int NO_CAP = Integer.MAX_VALUE - 8;
+
+    private static final int INITIAL_CAPACITY = 8192;
+
+    /* Above this size, the array is dropped on reset() instead of reused */
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private final int maxBytes;
+
+    private byte[] data;
+    private byte[] discarded;
+    private int size = 0;
+    private long totalBytes = 0;
+
+    /**
+     * Constructor
+     *
+     * @param maxBytes
+     *            The maximum number of bytes to keep
+     */
+    public OutputBuffer(int maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Invalid size cap: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.data = new byte[Math.min(INITIAL_CAPACITY, maxBytes)];
+    }
+
+    /**
+     * Add bytes at the end of the buffer.
+     *
+     * @param bytes
+     *            The array containing the bytes to add
+     * @param offset
+     *            The offset of the first byte to add
+     * @param length
+     *            The number of bytes to add
+     */
+    public void append(byte[] bytes, int offset, int length) {
+        totalBytes += length;
+        int kept = Math.min(length, maxBytes - size);
+        if (kept <= 0) {
+            return;
+        }
+        ensureCapacity(size + kept);
+        System.arraycopy(bytes, offset, data, size, kept);
+        size += kept;
+    }
+
+    /**
+     * Read everything from the given stream into this buffer, until the end
+     * of the stream is reached.
+     *
+     * @param in
+     *            The stream to read. It is not closed.
+     * @throws IOException
+     *             If the stream could not be read
+     */
+    public void readFrom(InputStream in) throws IOException {
+        while (true) {
+            int n;
+            if (size < maxBytes) {
+                if (size == data.length) {
+                    ensureCapacity(size + 1);
+                }
+                n = in.read(data, size, data.length - size);
+                if (n > 0) {
+                    size += n;
+                }
+            } else {
+                if (discarded == null) {
+                    discarded = new byte[INITIAL_CAPACITY];
+                }
+                n = in.read(discarded);
+            }
+            if (n < 0) {
+                return;
+            }
+            totalBytes += n;
+        }
+    }
+
+    /**
+     * @return The number of bytes currently kept in the buffer
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The total number of bytes given to the buffer since it was last
+     *         reset, including the discarded ones
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return If some bytes were discarded because of the size cap
+     */
+    public boolean isTruncated() {
+        return (totalBytes > size);
+    }
+
+    /**
+     * Copy the current content of the buffer into a new {@link CommandResult}.
+     * The buffer can then be reset and reused.
+     *
+     * @param exitCode
+     *            The exit code of the command that produced the output
+     * @param durationNanos
+     *            How long the command took, in nanoseconds
+     * @param timedOut
+     *            If the command was killed because it exceeded its timeout
+     * @return The command result
+     */
+    public CommandResult toCommandResult(int exitCode, long durationNanos, boolean timedOut) {
+        return new CommandResult(exitCode, Arrays.copyOf(data, size), totalBytes, durationNanos, timedOut);
+    }
+
+    /**
+     * Empty the buffer, so that it can be reused for another command.
+     */
+    public void reset() {
+        if (data.length > MAX_RETAINED_CAPACITY) {
+            /* Do not keep a huge array around because of one big output */
+            data = new byte[Math.min(INITIAL_CAPACITY, maxBytes)];
+        }
+        size = 0;
+        totalBytes = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= data.length) {
+            return;
+        }
+        long newCapacity = Math.max((long) data.length * 2, capacity);
+        data = Arrays.copyOf(data, (int) Math.min(newCapacity, maxBytes));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools.utils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link CommandExecutor} which sends the commands to a pool of long-lived
+ * {@link ShellCoprocess}, instead of spawning a new process from the JVM for
+ * every command. The cost of starting a process from the JVM (and of reaping
+ * it) is then paid once per shell instead of once per command.
+ *
+ * Each shell runs one command at a time, so up to "pool size" commands can
+ * run concurrently, and further callers wait for a shell to be available. The
+ * shells are started right away, so that the first commands do not pay for
+ * it either. If the JVM exits without {@link #close()} being called, the
+ * shells exit as soon as their standard input is closed.
+ */
+public class PooledShellCommandExecutor implements CommandExecutor, AutoCloseable {
+
+    /** System property to set the number of shells of the default pool */
+    public static final String POOL_SIZE_PROPERTY = "lttng.tools.executor.poolSize";
+
+    private static final int DEFAULT_POOL_SIZE = 2;
+
+    private final ShellCoprocess[] shells;
+    private final BlockingQueue<ShellCoprocess> idleShells;
+
+    /**
+     * Constructor, using the pool size specified by the
+     * {@value #POOL_SIZE_PROPERTY} system property, and the environment of the
+     * current process.
+     */
+    public PooledShellCommandExecutor() {
+        this(Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE).intValue(), Collections.emptyMap());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param poolSize
+     *            The number of shell processes to keep
+     * @param environment
+     *            Environment variables to set in the shells, on top of the
+     *            ones of the current process
+     */
+    public PooledShellCommandExecutor(int poolSize, Map<String, String> environment) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Invalid pool size: " + poolSize);
+        }
+        shells = new ShellCoprocess[poolSize];
+        idleShells = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            shells[i] = new ShellCoprocess(environment);
+            try {
+                shells[i].start();
+            } catch (IOException e) {
+                /* It will be retried when running the first command */
+            }
+            idleShells.add(shells[i]);
+        }
+    }
+
+    @Override
+    public boolean executeCommand(List<String> command, long timeout, TimeUnit unit) {
+        Boolean ret = withShell(shell -> Boolean.valueOf(shell.executeCommand(command, timeout, unit)));
+        return (ret != null && ret.booleanValue());
+    }
+
+    @Override
+    public CommandResult runCommand(boolean print, List<String> command, long timeout, TimeUnit unit) {
+        return withShell(shell -> shell.runCommand(print, command, timeout, unit));
+    }
+
+    /**
+     * Terminate all the shell processes. They will be restarted if further
+     * commands are sent.
+     */
+    @Override
+    public void close() {
+        for (ShellCoprocess shell : shells) {
+            shell.close();
+        }
+    }
+
+    @SuppressWarnings("resource")
+    private <T> T withShell(Function<ShellCoprocess, T> operation) {
+        ShellCoprocess shell;
+        try {
+            shell = idleShells.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        try {
+            return operation.apply(shell);
+        } finally {
+            idleShells.add(shell);
+        }
+    }
+}
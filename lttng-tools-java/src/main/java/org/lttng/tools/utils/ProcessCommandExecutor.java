@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.lttng.tools.CommandMetrics;
+
+/**
+ * {@link CommandExecutor} which spawns a new process from the JVM for every
+ * command. Output is captured by reading the process's pipe directly into an
+ * {@link OutputBuffer}.
+ */
+public class ProcessCommandExecutor implements CommandExecutor {
+
+    /* Capture buffer, reused by all the commands run from the same thread */
+    private final ThreadLocal<OutputBuffer> outputBuffer =
+            ThreadLocal.withInitial(() -> new OutputBuffer(ShellUtils.getMaxOutputBytes()));
+
+    @Override
+    public boolean executeCommand(List<String> command, long timeout, TimeUnit unit) {
+        try {
+            /* "echo" the command to stdout */
+            System.out.println(ShellUtils.echoString(command));
+
+            ProcessBuilder builder = new ProcessBuilder(command);
+            builder.redirectErrorStream(true);
+            builder.redirectOutput(Redirect.INHERIT);
+
+            long start = System.nanoTime();
+            Process p = builder.start();
+            CommandMetrics.recordFork();
+            boolean timedOut = false;
+            if (timeout > 0) {
+                if (!p.waitFor(timeout, unit)) {
+                    p.destroyForcibly().waitFor();
+                    timedOut = true;
+                }
+            } else {
+                p.waitFor();
+            }
+            int ret = (timedOut ? CommandResult.TIMEOUT_EXIT_CODE : p.exitValue());
+            long duration = System.nanoTime() - start;
+
+            CommandMetrics.recordCommand(command, duration);
+            ShellUtils.printReturn(ret, duration, timedOut);
+
+            return (ret == 0 && !timedOut);
+
+        } catch (IOException | InterruptedException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public CommandResult runCommand(boolean print, List<String> command, long timeout, TimeUnit unit) {
+        try {
+            /* "echo" the command to stdout */
+            System.out.println(ShellUtils.echoString(command));
+
+            ProcessBuilder builder = new ProcessBuilder(command);
+            builder.redirectErrorStream(true);
+            builder.redirectInput(Redirect.from(new File("/dev/null")));
+
+            long start = System.nanoTime();
+            Process p = builder.start();
+            CommandMetrics.recordFork();
+
+            /*
+             * Reading the output blocks until the process exits, so the
+             * timeout is enforced by killing the process from another thread.
+             */
+            AtomicBoolean killed = new AtomicBoolean(false);
+            Future<?> watchdog = ShellUtils.killAfter(p, unit.toNanos(timeout), killed);
+
+            OutputBuffer buffer = outputBuffer.get();
+            CommandResult result;
+            try (InputStream in = p.getInputStream()) {
+                buffer.readFrom(in);
+                int ret = p.waitFor();
+                if (watchdog != null) {
+                    watchdog.cancel(false);
+                }
+                boolean timedOut = killed.get();
+                result = buffer.toCommandResult((timedOut ? CommandResult.TIMEOUT_EXIT_CODE : ret),
+                        System.nanoTime() - start, timedOut);
+            } finally {
+                buffer.reset();
+            }
+
+            ShellUtils.recordResult(command, result);
+            ShellUtils.printResult(print, result);
+            return result;
+
+        } catch (IOException | InterruptedException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.lttng.tools.CommandMetrics;
+
+/**
+ * A long-lived shell process to which commands are sent through its standard
+ * input. Compared to {@link ShellUtils}, this avoids spawning a new process
+ * from the JVM for every command.
+ *
+ * After each command, the shell prints a marker line containing the command's
+ * exit code, which is how we know the command's output is complete. The output
+ * is captured as raw bytes in a reused {@link OutputBuffer}. The shell
+ * is started lazily, and restarted if it ever goes away.
+ */
+public class ShellCoprocess implements CommandExecutor, AutoCloseable {
+
+    private static final String SHELL = "/bin/sh";
+
+    /* How long after the timeout the shell itself gets killed, as a last resort */
+    private static final long KILL_SHELL_GRACE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Map<String, String> environment;
+    private final String marker = "__lttng_tools_" + UUID.randomUUID().toString().replace("-", "") + "__";
+
+    /* What the shell prints before the exit code, once a command is done */
+    private final byte[] markerBytes = ("\n" + marker + " ").getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] readBuffer = new byte[8192];
+    private final OutputBuffer outputBuffer = new OutputBuffer(ShellUtils.getMaxOutputBytes());
+
+    /**
+     * State of the command being run, shared with the watchdogs. Once the
+     * command is marked as completed, the watchdogs leave it alone, so a
+     * command is only reported as killed if it was killed while it was still
+     * running.
+     */
+    static final class CommandWatch {
+
+        private boolean completed = false;
+        private boolean killed = false;
+
+        /**
+         * Run the kill action, unless the command already completed.
+         */
+        synchronized void kill(Runnable killAction) {
+            if (!completed) {
+                killed = true;
+                killAction.run();
+            }
+        }
+
+        synchronized void complete() {
+            completed = true;
+        }
+
+        synchronized boolean isKilled() {
+            return killed;
+        }
+    }
+
+    private Process process;
+    private String processId;
+    private BufferedWriter toShell;
+    private InputStream fromShell;
+
+    /**
+     * Constructor, using the environment of the current process.
+     */
+    public ShellCoprocess() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * Constructor specifying additional environment variables.
+     *
+     * @param environment
+     *            Environment variables to set in the shell, on top of the ones
+     *            of the current process
+     */
+    public ShellCoprocess(Map<String, String> environment) {
+        this.environment = new HashMap<>(environment);
+    }
+
+    /**
+     * Start the shell process now, instead of when the first command is sent.
+     * Does nothing if it is already running.
+     *
+     * @throws IOException
+     *             If the shell could not be started
+     */
+    public synchronized void start() throws IOException {
+        ensureStarted();
+    }
+
+    /**
+     * Execute a command in the shell and retrieve its return value. The
+     * command's output is printed to stdout.
+     *
+     * @see ShellUtils#executeCommand(List, long, TimeUnit)
+     */
+    @Override
+    public boolean executeCommand(List<String> command, long timeout, TimeUnit unit) {
+        CommandResult result = runCommand(true, command, timeout, unit);
+        return (result != null && result.isSuccess());
+    }
+
+    /**
+     * Execute a command in the shell and capture its output, exit code and
+     * duration.
+     *
+     * When the timeout expires, the command is killed with "pkill -P", which
+     * leaves the shell usable for the next commands. As a last resort, the
+     * whole shell is killed a few seconds later.
+     *
+     * @see ShellUtils#runCommand(boolean, List, long, TimeUnit)
+     */
+    @Override
+    public synchronized CommandResult runCommand(boolean print, List<String> command, long timeout, TimeUnit unit) {
+        try {
+            System.out.println(ShellUtils.echoString(command));
+
+            CommandWatch watch = new CommandWatch();
+            long start = System.nanoTime();
+            int ret = sendCommand(command, unit.toNanos(timeout), watch);
+            long duration = System.nanoTime() - start;
+
+            boolean timedOut = watch.isKilled();
+            CommandResult result = outputBuffer.toCommandResult((timedOut ? CommandResult.TIMEOUT_EXIT_CODE : ret),
+                    duration, timedOut);
+            ShellUtils.recordResult(command, result);
+            ShellUtils.printResult(print, result);
+            return result;
+
+        } catch (IOException e) {
+            return null;
+        } finally {
+            outputBuffer.reset();
+        }
+    }
+
+    /**
+     * Execute a command and stream its output. The command is run in a
+     * separate process, with the same environment as this shell, so that the
+     * shell remains available to other commands while the stream is being
+     * consumed.
+     *
+     * @param command
+     *            The command to execute, as a list of individual arguments
+     * @return The output of the command, as one stream element per line, or
+     *         null if the command could not be started
+     * @see ShellUtils#streamOutputFromCommand(List, Map)
+     */
+    public Stream<String> streamOutputFromCommand(List<String> command) {
+        /* Have a shell look up the executable, using our environment's PATH */
+        List<String> shellCommand = new ArrayList<>();
+        shellCommand.add(SHELL);
+        shellCommand.add("-c");
+        shellCommand.add("exec \"$@\"");
+        shellCommand.add(SHELL);
+        shellCommand.addAll(command);
+        return ShellUtils.streamOutputFromCommand(shellCommand, environment, command);
+    }
+
+    /**
+     * Terminate the shell process. A new one will be started if further
+     * commands are sent.
+     */
+    @Override
+    public synchronized void close() {
+        if (process == null) {
+            return;
+        }
+        try {
+            toShell.write("exit\n");
+            toShell.flush();
+            process.waitFor();
+        } catch (IOException e) {
+            /* The shell is already gone */
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            destroy();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Private helper methods
+    // ------------------------------------------------------------------------
+
+    private void ensureStarted() throws IOException {
+        if (process != null && process.isAlive()) {
+            return;
+        }
+        destroy();
+
+        ProcessBuilder builder = new ProcessBuilder(SHELL);
+        builder.environment().putAll(environment);
+        builder.redirectErrorStream(true);
+
+        process = builder.start();
+        CommandMetrics.recordFork();
+        toShell = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        fromShell = process.getInputStream();
+
+        /* Get the shell's PID, to be able to kill the commands it runs */
+        toShell.write("echo $$\n");
+        toShell.flush();
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = fromShell.read()) != '\n') {
+            if (c < 0) {
+                destroy();
+                throw new IOException("Shell process terminated unexpectedly");
+            }
+            sb.append((char) c);
+        }
+        processId = sb.toString().trim();
+    }
+
+    private void destroy() {
+        if (process != null) {
+            process.destroy();
+        }
+        process = null;
+        processId = null;
+        toShell = null;
+        fromShell = null;
+    }
+
+    /**
+     * Send one command to the shell, and capture its output in
+     * {@link #outputBuffer} until we see the end marker. If the command has
+     * to be killed because of the timeout, this is recorded in "watch".
+     *
+     * The command's stdin is redirected from /dev/null, so that it does not
+     * consume the commands we send to the shell itself. The marker is printed
+     * on a line of its own, after a newline which is not part of the output:
+     * the command's output is everything that precedes "\n" + marker.
+     */
+    private int sendCommand(List<String> command, long timeoutNanos, CommandWatch watch) throws IOException {
+        ensureStarted();
+
+        StringJoiner sj = new StringJoiner(" ");
+        command.forEach(arg -> sj.add(ShellUtils.quote(arg)));
+
+        Future<?> commandWatchdog = null;
+        Future<?> shellWatchdog = null;
+        if (timeoutNanos > 0) {
+            List<String> killCommand = Arrays.asList("pkill", "-KILL", "-P", processId);
+            Process shell = process;
+            commandWatchdog = ShellUtils.schedule(() -> watch.kill(() -> ShellUtils.runQuietly(killCommand)),
+                    timeoutNanos);
+            shellWatchdog = ShellUtils.schedule(() -> watch.kill(shell::destroyForcibly),
+                    timeoutNanos + KILL_SHELL_GRACE_NANOS);
+        }
+        try {
+            toShell.write(sj.toString());
+            toShell.write(" </dev/null 2>&1; printf '\\n%s %d\\n' " + marker + " \"$?\"\n");
+            toShell.flush();
+
+            /*
+             * Bytes at the end of a read which could be the beginning of the
+             * marker are kept at the start of the read buffer for the next
+             * read.
+             */
+            int pending = 0;
+            int n;
+            while ((n = fromShell.read(readBuffer, pending, readBuffer.length - pending)) >= 0) {
+                int end = pending + n;
+                int idx = indexOf(readBuffer, end, markerBytes);
+                if (idx >= 0) {
+                    /* From here on, the watchdogs must not touch the shell */
+                    watch.complete();
+                    outputBuffer.append(readBuffer, 0, idx);
+                    return readExitCode(idx + markerBytes.length, end);
+                }
+                pending = Math.min(end, markerBytes.length - 1);
+                outputBuffer.append(readBuffer, 0, end - pending);
+                System.arraycopy(readBuffer, end - pending, readBuffer, 0, pending);
+            }
+        } catch (IOException | NumberFormatException e) {
+            watch.complete();
+            destroy();
+            if (watch.isKilled()) {
+                return CommandResult.TIMEOUT_EXIT_CODE;
+            }
+            throw new IOException(e);
+        } finally {
+            watch.complete();
+            if (commandWatchdog != null) {
+                commandWatchdog.cancel(false);
+            }
+            if (shellWatchdog != null) {
+                shellWatchdog.cancel(false);
+            }
+        }
+
+        destroy();
+        if (watch.isKilled()) {
+            return CommandResult.TIMEOUT_EXIT_CODE;
+        }
+        throw new IOException("Shell process terminated unexpectedly");
+    }
+
+    /**
+     * Read the exit code that follows the marker, up to the end of its line.
+     * Part of it may already be in the read buffer, between "start" and
+     * "end".
+     */
+    private int readExitCode(int start, int end) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            if (readBuffer[i] == '\n') {
+                return Integer.parseInt(sb.toString().trim());
+            }
+            sb.append((char) readBuffer[i]);
+        }
+        int c;
+        while ((c = fromShell.read()) >= 0) {
+            if (c == '\n') {
+                return Integer.parseInt(sb.toString().trim());
+            }
+            sb.append((char) c);
+        }
+        throw new IOException("Shell process terminated unexpectedly");
+    }
+
+    private static int indexOf(byte[] array, int length, byte[] pattern) {
+        outer: for (int i = 0; i <= length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (array[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
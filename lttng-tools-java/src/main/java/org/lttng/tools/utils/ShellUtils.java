@@ -18,13 +18,33 @@
 
 package org.lttng.tools.utils;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.lang.ProcessBuilder.Redirect;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.StringJoiner;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.lttng.tools.CommandMetrics;
 
 /**
  * Utility methods to execute commands on the command line.
@@ -33,8 +53,170 @@ import java.util.StringJoiner;
  */
 public final class ShellUtils {
 
+    /**
+     * System property to select how {@link #executeCommand(List)} and
+     * {@link #getOutputFromCommand(boolean, List)} run the commands: "process"
+     * (the default) to spawn one process per command, or "pooled" to send them
+     * to a pool of long-lived shell processes.
+     */
+    public static final String EXECUTOR_PROPERTY = "lttng.tools.executor";
+
+    /**
+     * System property to set the maximum number of bytes of output that are
+     * kept for one command. The rest is discarded. By default, the whole
+     * output is kept.
+     */
+    public static final String MAX_OUTPUT_PROPERTY = "lttng.tools.maxOutputBytes";
+
+    /**
+     * System property to set the default timeout of the commands, in seconds.
+     * Commands which take longer are killed. 0, the default, means no
+     * timeout.
+     */
+    public static final String COMMAND_TIMEOUT_PROPERTY = "lttng.tools.commandTimeout";
+
+    private static final long DEFAULT_COMMAND_TIMEOUT_SECONDS = 0;
+
     private ShellUtils() {}
 
+    /**
+     * Lazy holder of the default executor, so that the shell pool is only
+     * started if it is actually used.
+     */
+    private static final class DefaultExecutorHolder {
+
+        static final CommandExecutor INSTANCE = createExecutor(System.getProperty(EXECUTOR_PROPERTY, "process"));
+
+        private DefaultExecutorHolder() {}
+
+        private static CommandExecutor createExecutor(String name) {
+            switch (name) {
+            case "process":
+                return new ProcessCommandExecutor();
+            case "pooled":
+                return new PooledShellCommandExecutor();
+            default:
+                throw new IllegalArgumentException("Unknown value for " + EXECUTOR_PROPERTY + ": " + name);
+            }
+        }
+    }
+
+    /**
+     * Lazy holder of the thread which kills the commands that exceed their
+     * timeout.
+     */
+    private static final class WatchdogHolder {
+
+        static final ScheduledThreadPoolExecutor INSTANCE = createWatchdog();
+
+        private WatchdogHolder() {}
+
+        private static ScheduledThreadPoolExecutor createWatchdog() {
+            ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "lttng-tools command watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            watchdog.setRemoveOnCancelPolicy(true);
+            return watchdog;
+        }
+    }
+
+    /**
+     * Stream which counts the bytes that are read from it.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Iterator over the lines of output of a process. Once the whole output
+     * was read, it waits for the process and checks its exit code, so that a
+     * failing command is not mistaken for one which printed nothing.
+     */
+    private static final class ProcessOutputIterator implements Iterator<String> {
+
+        private final Process process;
+        private final BufferedReader reader;
+        private final List<String> displayedCommand;
+        private String nextLine = null;
+        private boolean done = false;
+
+        ProcessOutputIterator(Process process, BufferedReader reader, List<String> displayedCommand) {
+            this.process = process;
+            this.reader = reader;
+            this.displayedCommand = displayedCommand;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextLine != null) {
+                return true;
+            }
+            if (done) {
+                return false;
+            }
+            try {
+                nextLine = reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (nextLine == null) {
+                done = true;
+                checkExitCode();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = null;
+            return line;
+        }
+
+        private void checkExitCode() {
+            int exitCode;
+            try {
+                exitCode = process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for the command"));
+            }
+            if (exitCode != 0) {
+                throw new UncheckedIOException(new IOException(
+                        "Command \"" + String.join(" ", displayedCommand) + "\" returned " + exitCode));
+            }
+        }
+    }
+
     /**
      * Simple command to test that the environment / stdout are working
      * correctly.
@@ -56,26 +238,26 @@ public final class ShellUtils {
      * @return If the command returned successfully (ret code = 0)
      */
     public static boolean executeCommand(List<String> command) {
-        try {
-            /* "echo" the command to stdout */
-            StringJoiner sj = new StringJoiner(" ", "$ ", "");
-            command.stream().forEach(sj::add);
-            System.out.println(sj.toString());
-
-            ProcessBuilder builder = new ProcessBuilder(command);
-            builder.redirectErrorStream(true);
-            builder.redirectOutput(Redirect.INHERIT);
-
-            Process p = builder.start();
-            int ret = p.waitFor();
-
-            System.out.println(String.format("(returned from command: %d)", Integer.valueOf(ret)));
-
-            return (ret == 0);
+        return getDefaultExecutor().executeCommand(command);
+    }
 
-        } catch (IOException | InterruptedException e) {
-            return false;
-        }
+    /**
+     * Execute a shell command with a specific timeout and retrieve its return
+     * value.
+     *
+     * @param command
+     *            The command to execute, as a list of individual arguments (do
+     *            not use spaces)
+     * @param timeout
+     *            The maximum time to wait for the command, 0 to wait
+     *            indefinitely
+     * @param unit
+     *            The unit of the "timeout" parameter
+     * @return If the command returned successfully (ret code = 0), before its
+     *         timeout
+     */
+    public static boolean executeCommand(List<String> command, long timeout, TimeUnit unit) {
+        return getDefaultExecutor().executeCommand(command, timeout, unit);
     }
 
     /**
@@ -89,36 +271,308 @@ public final class ShellUtils {
      * @return The output of the command, as one list element per line
      */
     public static List<String> getOutputFromCommand(boolean print, List<String> command) {
+        return getDefaultExecutor().getOutputFromCommand(print, command);
+    }
+
+    /**
+     * Execute a shell command and capture its output, exit code and duration.
+     *
+     * @param print
+     *            Should the output also be printed to stdout as usual
+     * @param command
+     *            The command to execute, as a list of individual arguments (do
+     *            not use spaces)
+     * @return The result of the command, or null if the command could not be
+     *         run
+     */
+    public static CommandResult runCommand(boolean print, List<String> command) {
+        return getDefaultExecutor().runCommand(print, command);
+    }
+
+    /**
+     * Execute a shell command with a specific timeout, and capture its output,
+     * exit code and duration.
+     *
+     * @param print
+     *            Should the output also be printed to stdout as usual
+     * @param command
+     *            The command to execute, as a list of individual arguments (do
+     *            not use spaces)
+     * @param timeout
+     *            The maximum time to wait for the command, 0 to wait
+     *            indefinitely
+     * @param unit
+     *            The unit of the "timeout" parameter
+     * @return The result of the command, or null if the command could not be
+     *         run
+     */
+    public static CommandResult runCommand(boolean print, List<String> command, long timeout, TimeUnit unit) {
+        return getDefaultExecutor().runCommand(print, command, timeout, unit);
+    }
+
+    /**
+     * Execute a shell command and stream its output, without keeping it all in
+     * memory.
+     *
+     * @param command
+     *            The command to execute, as a list of individual arguments (do
+     *            not use spaces)
+     * @return The output of the command, as one stream element per line, or
+     *         null if the command could not be started
+     * @see #streamOutputFromCommand(List, Map)
+     */
+    public static Stream<String> streamOutputFromCommand(List<String> command) {
+        return streamOutputFromCommand(command, Collections.emptyMap());
+    }
+
+    /**
+     * Execute a shell command and stream its output, without keeping it all in
+     * memory.
+     *
+     * The lines are read from the process's pipe as the stream is consumed,
+     * so a slow consumer simply blocks the command when the pipe is full. The
+     * output is not printed to stdout, and the stream must be closed once
+     * done with it, which also kills the command if it has not completed yet.
+     * Standard error is not part of the stream, it goes to this process's.
+     *
+     * Once the whole output is consumed, the exit code of the command is
+     * checked, and an {@link UncheckedIOException} is thrown if the command
+     * failed. Commands still running after the default timeout, set by the
+     * {@value #COMMAND_TIMEOUT_PROPERTY} system property, are killed, and
+     * thus fail.
+     *
+     * @param command
+     *            The command to execute, as a list of individual arguments (do
+     *            not use spaces)
+     * @param environment
+     *            Environment variables to set for the command, on top of the
+     *            ones of the current process
+     * @return The output of the command, as one stream element per line, or
+     *         null if the command could not be started
+     */
+    public static Stream<String> streamOutputFromCommand(List<String> command, Map<String, String> environment) {
+        return streamOutputFromCommand(command, environment, command);
+    }
+
+    /**
+     * Same as {@link #streamOutputFromCommand(List, Map)}, for a command that
+     * is run through a wrapper.
+     *
+     * @param command
+     *            The command to execute, including the wrapper
+     * @param environment
+     *            Environment variables to set for the command
+     * @param displayedCommand
+     *            The command without the wrapper, which is what is printed and
+     *            recorded in the metrics
+     * @return The output of the command, as one stream element per line, or
+     *         null if the command could not be started
+     */
+    static Stream<String> streamOutputFromCommand(List<String> command, Map<String, String> environment,
+            List<String> displayedCommand) {
         try {
             /* "echo" the command to stdout */
-            StringJoiner sj = new StringJoiner(" ", "$ ", "");
-            command.stream().forEach(sj::add);
-            System.out.println(sj.toString());
+            System.out.println(echoString(displayedCommand));
+
+            ProcessBuilder builder = new ProcessBuilder(command);
+            builder.environment().putAll(environment);
+            builder.redirectInput(Redirect.from(new File("/dev/null")));
+            builder.redirectError(Redirect.INHERIT);
+
+            long start = System.nanoTime();
+            Process p = builder.start();
+            CommandMetrics.recordFork();
+
+            long timeoutMillis = getDefaultTimeoutMillis();
+            Future<?> watchdog = (timeoutMillis > 0
+                    ? schedule(p::destroyForcibly, TimeUnit.MILLISECONDS.toNanos(timeoutMillis))
+                    : null);
+
+            CountingInputStream in = new CountingInputStream(p.getInputStream());
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            Iterator<String> lines = new ProcessOutputIterator(p, reader, displayedCommand);
+
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(lines,
+                    Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> {
+                if (watchdog != null) {
+                    watchdog.cancel(false);
+                }
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    /* Nothing more to read anyway */
+                }
+                p.destroy();
+                long duration = System.nanoTime() - start;
+                CommandMetrics.recordCommand(displayedCommand, duration);
+                CommandMetrics.recordOutputBytes(in.count);
+                System.out.println(String.format("(returned from command, after %d ms)",
+                        Long.valueOf(TimeUnit.NANOSECONDS.toMillis(duration))));
+            });
+
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return The executor used by {@link #executeCommand(List)} and
+     *         {@link #getOutputFromCommand(boolean, List)}, as selected by the
+     *         {@value #EXECUTOR_PROPERTY} system property
+     */
+    public static CommandExecutor getDefaultExecutor() {
+        return DefaultExecutorHolder.INSTANCE;
+    }
 
-            Path tempFile = Files.createTempFile("test-output", null);
+    /**
+     * Quote one command argument so that it is passed as-is when interpreted
+     * by a POSIX shell.
+     *
+     * @param arg
+     *            The argument to quote
+     * @return The quoted argument
+     */
+    public static String quote(String arg) {
+        return "'" + arg.replace("'", "'\\''") + "'";
+    }
 
+    /**
+     * @return The maximum number of bytes of output to keep for one command,
+     *         as set by the {@value #MAX_OUTPUT_PROPERTY} system property
+     */
+    static int getMaxOutputBytes() {
+        return Integer.getInteger(MAX_OUTPUT_PROPERTY, OutputBuffer.NO_CAP).intValue();
+    }
+
+    /**
+     * @return The default timeout of the commands, in milliseconds, as set by
+     *         the {@value #COMMAND_TIMEOUT_PROPERTY} system property
+     */
+    static long getDefaultTimeoutMillis() {
+        return TimeUnit.SECONDS.toMillis(Long.getLong(COMMAND_TIMEOUT_PROPERTY, DEFAULT_COMMAND_TIMEOUT_SECONDS).longValue());
+    }
+
+    /**
+     * Run a task on the watchdog thread, after the given delay.
+     *
+     * @param task
+     *            The task to run
+     * @param delayNanos
+     *            The delay, in nanoseconds
+     * @return The scheduled task, which can be cancelled
+     */
+    static Future<?> schedule(Runnable task, long delayNanos) {
+        return WatchdogHolder.INSTANCE.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Run a command and wait for it, ignoring its output and any error.
+     *
+     * @param command
+     *            The command to execute, as a list of individual arguments
+     */
+    static void runQuietly(List<String> command) {
+        try {
             ProcessBuilder builder = new ProcessBuilder(command);
             builder.redirectErrorStream(true);
-            builder.redirectOutput(Redirect.to(tempFile.toFile()));
-
+            builder.redirectOutput(Redirect.to(new File("/dev/null")));
             Process p = builder.start();
+            CommandMetrics.recordFork();
             p.waitFor();
+        } catch (IOException e) {
+            /* Nothing more we can do */
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-            List<String> lines = Files.readAllLines(tempFile);
-            Files.delete(tempFile);
-
-            if (print) {
-                /* Also print the output to the console */
-                lines.stream().forEach(System.out::println);
-            } else {
-                System.out.println("(output silenced)");
+    /**
+     * Forcibly destroy a process if it is still running after the given
+     * timeout.
+     *
+     * @param process
+     *            The process to watch
+     * @param timeoutNanos
+     *            The timeout, in nanoseconds. 0 or less means no timeout.
+     * @param killed
+     *            Set to true if the process gets destroyed
+     * @return The scheduled kill, which should be cancelled once the process
+     *         has completed, or null if there is no timeout
+     */
+    static Future<?> killAfter(Process process, long timeoutNanos, AtomicBoolean killed) {
+        if (timeoutNanos <= 0) {
+            return null;
+        }
+        return schedule(() -> {
+            if (process.isAlive()) {
+                killed.set(true);
+                process.destroyForcibly();
             }
+        }, timeoutNanos);
+    }
 
-            System.out.println("(returned from command)");
-            return lines;
+    /**
+     * Report a completed command to the {@link CommandMetrics}.
+     *
+     * @param command
+     *            The command, as a list of individual arguments
+     * @param result
+     *            The result of the command
+     */
+    static void recordResult(List<String> command, CommandResult result) {
+        CommandMetrics.recordCommand(command, result.getDurationNanos());
+        CommandMetrics.recordOutputBytes(result.getTotalBytes());
+    }
 
-        } catch (IOException | InterruptedException e) {
-            return null;
+    /**
+     * Print what should be printed to stdout after running a command whose
+     * output was captured.
+     *
+     * @param print
+     *            Should the output itself be printed
+     * @param result
+     *            The result of the command
+     */
+    static void printResult(boolean print, CommandResult result) {
+        if (print) {
+            /* Also print the output to the console */
+            result.getLines().forEach(System.out::println);
+        } else {
+            System.out.println("(output silenced)");
+        }
+        if (result.isTruncated()) {
+            System.out.println(String.format("(output truncated to %d bytes)", Integer.valueOf(result.size())));
         }
+        printReturn(result.getExitCode(), result.getDurationNanos(), result.isTimedOut());
+    }
+
+    /**
+     * Print the line indicating that a command completed.
+     *
+     * @param exitCode
+     *            The exit code of the command
+     * @param durationNanos
+     *            How long the command took, in nanoseconds
+     * @param timedOut
+     *            If the command was killed because it exceeded its timeout
+     */
+    static void printReturn(int exitCode, long durationNanos, boolean timedOut) {
+        Long durationMillis = Long.valueOf(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        if (timedOut) {
+            System.out.println(String.format("(command timed out, killed after %d ms)", durationMillis));
+        } else {
+            System.out.println(String.format("(returned from command: %d, after %d ms)", Integer.valueOf(exitCode), durationMillis));
+        }
+    }
+
+    /**
+     * @param command
+     *            A command, as a list of individual arguments
+     * @return The string to "echo" to stdout before running the command
+     */
+    static String echoString(List<String> command) {
+        StringJoiner sj = new StringJoiner(" ", "$ ", "");
+        command.stream().forEach(sj::add);
+        return sj.toString();
     }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.tools.utils.ShellCoprocess;
+
+/**
+ * Tests for {@link AsyncLttngSession}, using a stand-in for the "lttng"
+ * utility.
+ */
+public class AsyncLttngSessionIT {
+
+    private static final int NB_EVENTS = 20;
+
+    @TempDir
+    Path tempDir;
+
+    private LttngStandIn standIn;
+    private ExecutorService executor;
+
+    /**
+     * Test setup
+     *
+     * @throws IOException
+     *             If the stand-in could not be installed
+     */
+    @BeforeEach
+    public void setup() throws IOException {
+        standIn = new LttngStandIn(tempDir);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    /**
+     * Test teardown
+     */
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @SuppressWarnings("resource")
+    private AsyncLttngSession createSession(String name) {
+        return new LttngShellSession(name, Domain.JUL, new ShellCoprocess(standIn.getEnvironment())).async(executor);
+    }
+
+    /**
+     * Test that the operations on one session are run in the order in which
+     * they were requested, even if the executor has many threads.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testOperationOrder() throws IOException {
+        AsyncLttngSession session = createSession("async-session");
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        List<List<String>> expected = new ArrayList<>();
+        expected.add(Arrays.asList("create", "async-session"));
+        for (int i = 0; i < NB_EVENTS; i++) {
+            results.add(session.enableEvents("Event" + i));
+            expected.add(Arrays.asList("enable-event", "--jul", "Event" + i, "-s", "async-session"));
+        }
+        results.add(session.start());
+        expected.add(Arrays.asList("start", "async-session"));
+        session.close().join();
+        expected.add(Arrays.asList("destroy", "async-session"));
+
+        results.forEach(result -> assertTrue(result.join().booleanValue()));
+        assertEquals(expected, standIn.getCommands());
+    }
+
+    /**
+     * Test that a failed operation is reported through its future, and does
+     * not prevent the following operations from running.
+     */
+    @Test
+    public void testFailure() {
+        AsyncLttngSession session = createSession("async-session");
+
+        CompletableFuture<Boolean> failed = session.disableEvents(LttngStandIn.FAILING_EVENT);
+        CompletableFuture<Boolean> succeeded = session.disableEvents("EventA");
+        CompletableFuture<List<String>> output = session.view();
+
+        assertFalse(failed.join().booleanValue());
+        assertTrue(succeeded.join().booleanValue());
+        assertEquals(1, output.join().size());
+        session.close().join();
+    }
+
+    /**
+     * Test that the operations of different sessions can be interleaved, while
+     * each session's own operations stay in order.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testConcurrentSessions() throws IOException {
+        List<String> names = Arrays.asList("session-a", "session-b", "session-c");
+        List<AsyncLttngSession> sessions = names.stream()
+                .map(this::createSession)
+                .collect(Collectors.toList());
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < NB_EVENTS; i++) {
+            for (AsyncLttngSession session : sessions) {
+                results.add(session.enableEvents("Event" + i));
+            }
+        }
+        CompletableFuture.allOf(sessions.stream()
+                .map(AsyncLttngSession::close)
+                .toArray(CompletableFuture[]::new))
+                .join();
+        results.forEach(result -> assertTrue(result.join().booleanValue()));
+
+        List<List<String>> commands = standIn.getCommands();
+        for (String name : names) {
+            List<String> events = commands.stream()
+                    .filter(command -> command.get(0).equals("enable-event") && command.contains(name))
+                    .map(command -> command.get(2))
+                    .collect(Collectors.toList());
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < NB_EVENTS; i++) {
+                expected.add("Event" + i);
+            }
+            assertEquals(expected, events);
+        }
+    }
+
+    /**
+     * Test running an operation on several sessions at once, which fails if
+     * it fails on any of them.
+     */
+    @Test
+    public void testForAll() {
+        List<AsyncLttngSession> sessions = Arrays.asList(createSession("session-a"), createSession("session-b"));
+
+        assertTrue(AsyncLttngSession.forAll(sessions, session -> session.enableEvents("EventA")));
+        assertFalse(AsyncLttngSession.forAll(sessions, session -> session.disableEvents(
+                session == sessions.get(0) ? "EventA" : LttngStandIn.FAILING_EVENT)));
+        assertTrue(AsyncLttngSession.forAll(sessions, AsyncLttngSession::start));
+
+        CompletableFuture.allOf(sessions.stream()
+                .map(AsyncLttngSession::close)
+                .toArray(CompletableFuture[]::new))
+                .join();
+    }
+}
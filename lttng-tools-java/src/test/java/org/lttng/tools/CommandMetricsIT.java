@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.tools.utils.LatencyHistogram;
+import org.lttng.tools.utils.ShellCoprocess;
+
+/**
+ * Tests for {@link CommandMetrics}, using a stand-in for the "lttng" utility.
+ */
+public class CommandMetricsIT {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test the names under which commands are recorded.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testCommandName() {
+        assertEquals("lttng enable-event", CommandMetrics.commandName(Arrays.asList("lttng", "enable-event", "--jul", "a")));
+        assertEquals("lttng destroy", CommandMetrics.commandName(Arrays.asList("/usr/bin/lttng", "--quiet", "destroy", "-a")));
+        assertEquals("babeltrace", CommandMetrics.commandName(Arrays.asList("/usr/bin/babeltrace", "/tmp/trace")));
+        assertEquals("", CommandMetrics.commandName(Collections.emptyList()));
+    }
+
+    /**
+     * Test that the commands of a session are recorded, and that a shell
+     * session only spawns one process from the JVM.
+     *
+     * @throws IOException
+     *             If the stand-in could not be installed
+     */
+    @Test
+    @SuppressWarnings("resource")
+    public void testSessionMetrics() throws IOException {
+        LttngStandIn standIn = new LttngStandIn(tempDir);
+        CommandMetrics.Snapshot before = CommandMetrics.snapshot();
+
+        try (ILttngSession session = new LttngShellSession("metrics-session", Domain.JUL, new ShellCoprocess(standIn.getEnvironment()))) {
+            assertTrue(session.enableEvents("EventA"));
+            assertTrue(session.enableEvents("EventB"));
+            assertTrue(session.start());
+            assertTrue(session.stop());
+            assertEquals(1, session.listEvents().size());
+        }
+
+        CommandMetrics.Snapshot metrics = CommandMetrics.snapshot().since(before);
+        LatencyHistogram enableEvent = metrics.getCommandLatencies().get("lttng enable-event");
+        assertEquals(2, enableEvent.getTotalCount());
+        assertTrue(enableEvent.getMax() > 0);
+        assertEquals(1, metrics.getCommandLatencies().get("lttng create").getTotalCount());
+        assertEquals(1, metrics.getCommandLatencies().get("lttng destroy").getTotalCount());
+        assertEquals(7, metrics.getCommandCount());
+        assertEquals(1, metrics.getForks());
+        assertTrue(metrics.getOutputBytes() > 0);
+        assertTrue(metrics.format().contains("lttng enable-event"));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.tools.utils.ShellCoprocess;
+
+/**
+ * Tests for {@link LttngEventBatch}, using a stand-in for the "lttng" utility.
+ */
+public class LttngEventBatchIT {
+
+    private static final String SESSION_NAME = "batch-session";
+
+    @TempDir
+    Path tempDir;
+
+    private LttngStandIn standIn;
+    private ILttngSession session;
+
+    /**
+     * Test setup
+     *
+     * @throws IOException
+     *             If the stand-in could not be installed
+     */
+    @SuppressWarnings("resource")
+    @BeforeEach
+    public void setup() throws IOException {
+        standIn = new LttngStandIn(tempDir);
+        session = new LttngShellSession(SESSION_NAME, Domain.JUL, new ShellCoprocess(standIn.getEnvironment()));
+    }
+
+    /**
+     * Test teardown
+     */
+    @AfterEach
+    public void teardown() {
+        session.close();
+    }
+
+    /**
+     * Test that similar operations get merged into as few commands as
+     * possible, while respecting the order of enable and disable operations.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testGrouping() throws IOException {
+        boolean success = session.batch()
+                .enable("EventA")
+                .enable("EventC", "warning", false, null)
+                .enable("EventB")
+                .enable("EventD", "warning", false, null)
+                .enable("EventA", null, false, "int_loglevel > 5")
+                .disable("EventB")
+                .disable("EventC")
+                .disable("EventB")
+                .enable("EventB")
+                .apply();
+        assertTrue(success);
+
+        List<List<String>> expected = Arrays.asList(
+                Arrays.asList("create", SESSION_NAME),
+                Arrays.asList("enable-event", "--jul", "EventA,EventB", "-s", SESSION_NAME),
+                Arrays.asList("enable-event", "--jul", "EventC,EventD", "--loglevel", "warning", "-s", SESSION_NAME),
+                Arrays.asList("enable-event", "--jul", "EventA", "--filter", "int_loglevel > 5", "-s", SESSION_NAME),
+                Arrays.asList("disable-event", "--jul", "EventB,EventC", "-s", SESSION_NAME),
+                Arrays.asList("enable-event", "--jul", "EventB", "-s", SESSION_NAME));
+        assertEquals(expected, standIn.getCommands());
+    }
+
+    /**
+     * Test that enabling the same event twice in a series results in two
+     * separate commands, since lttng does not accept duplicates.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testDuplicateEvent() throws IOException {
+        assertTrue(session.batch()
+                .enable("EventA")
+                .enable("EventB")
+                .enable("EventA")
+                .apply());
+
+        List<List<String>> expected = Arrays.asList(
+                Arrays.asList("create", SESSION_NAME),
+                Arrays.asList("enable-event", "--jul", "EventA,EventB", "-s", SESSION_NAME),
+                Arrays.asList("enable-event", "--jul", "EventA", "-s", SESSION_NAME));
+        assertEquals(expected, standIn.getCommands());
+    }
+
+    /**
+     * Test that a batch can be applied more than once, and that an empty batch
+     * does not send anything.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testReuse() throws IOException {
+        LttngEventBatch batch = session.batch();
+        assertTrue(batch.apply());
+        assertTrue(batch.enable("EventA").apply());
+        assertTrue(batch.disable("EventA").apply());
+
+        List<List<String>> expected = Arrays.asList(
+                Arrays.asList("create", SESSION_NAME),
+                Arrays.asList("enable-event", "--jul", "EventA", "-s", SESSION_NAME),
+                Arrays.asList("disable-event", "--jul", "EventA", "-s", SESSION_NAME));
+        assertEquals(expected, standIn.getCommands());
+    }
+
+    /**
+     * Test that the failure of one command is reported, without preventing
+     * the others from running.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testFailure() throws IOException {
+        assertFalse(session.batch()
+                .enable(LttngStandIn.FAILING_EVENT)
+                .disable("EventA")
+                .apply());
+        assertEquals(3, standIn.getCommands().size());
+    }
+
+    /**
+     * Test that invalid event names are refused right away.
+     */
+    @Test
+    public void testInvalidEventNames() {
+        LttngEventBatch batch = session.batch();
+        assertThrows(IllegalArgumentException.class, () -> batch.enable(null));
+        assertThrows(IllegalArgumentException.class, () -> batch.enable(""));
+        assertThrows(IllegalArgumentException.class, () -> batch.disable("EventA,EventB"));
+    }
+
+    /**
+     * Test that enabling events through a batch creates the channel, so that
+     * starting the session does not enable the placeholder event.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testBatchCreatesChannel() throws IOException {
+        assertTrue(session.batch().enable("EventA").apply());
+        assertTrue(session.start());
+
+        List<List<String>> expected = Arrays.asList(
+                Arrays.asList("create", SESSION_NAME),
+                Arrays.asList("enable-event", "--jul", "EventA", "-s", SESSION_NAME),
+                Arrays.asList("start", SESSION_NAME));
+        assertEquals(expected, standIn.getCommands());
+    }
+}
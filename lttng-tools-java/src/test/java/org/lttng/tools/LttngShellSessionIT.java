@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.tools.utils.ShellCoprocess;
+
+/**
+ * Tests for the LttngShellSession backend, using a stand-in for the
+ * "lttng" utility.
+ */
+public class LttngShellSessionIT {
+
+    private static final String SESSION_NAME = "shell-session";
+
+    @TempDir
+    Path tempDir;
+
+    private LttngStandIn standIn;
+    private ILttngSession session;
+
+    /**
+     * Test setup
+     *
+     * @throws IOException
+     *             If the stand-in could not be installed
+     */
+    @SuppressWarnings("resource")
+    @BeforeEach
+    public void setup() throws IOException {
+        standIn = new LttngStandIn(tempDir);
+        session = new LttngShellSession(SESSION_NAME, Domain.JUL, new ShellCoprocess(standIn.getEnvironment()));
+    }
+
+    /**
+     * Test teardown
+     */
+    @AfterEach
+    public void teardown() {
+        session.close();
+    }
+
+    /**
+     * Test that the session is created and destroyed in lttng.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testCreateAndDestroy() throws IOException {
+        session.close();
+
+        List<List<String>> expected = Arrays.asList(
+                Arrays.asList("create", SESSION_NAME),
+                Arrays.asList("destroy", SESSION_NAME));
+        assertEquals(expected, standIn.getCommands());
+    }
+
+    /**
+     * Test that arguments containing spaces, quotes and shell meta-characters
+     * are passed as-is.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testEnableEventArguments() throws IOException {
+        String filter = "$app.retriever:context == \"it's\" && int_loglevel > 5 ; echo `boom`";
+        assertTrue(session.enableEvent("EventABCDÉ", "warning", true, filter));
+
+        List<String> expected = Arrays.asList("enable-event", "--jul", "EventABCDÉ",
+                "--loglevel-only", "warning", "--filter", filter, "-s", SESSION_NAME);
+        assertEquals(expected, standIn.getCommands().get(1));
+    }
+
+    /**
+     * Test that starting a session with no enabled event first creates the
+     * channel.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testStartCreatesChannel() throws IOException {
+        assertTrue(session.start());
+        assertTrue(session.stop());
+
+        List<List<String>> expected = Arrays.asList(
+                Arrays.asList("create", SESSION_NAME),
+                Arrays.asList("enable-event", "--jul", "non-event", "-s", SESSION_NAME),
+                Arrays.asList("start", SESSION_NAME),
+                Arrays.asList("stop", SESSION_NAME));
+        assertEquals(expected, standIn.getCommands());
+    }
+
+    /**
+     * Test that the return code of the commands is reported, and that the
+     * shell remains usable after a failed command.
+     */
+    @Test
+    public void testCommandFailure() {
+        assertFalse(session.disableEvents(LttngStandIn.FAILING_EVENT));
+        assertTrue(session.disableEvents("EventA"));
+    }
+
+    /**
+     * Test retrieving the output of commands.
+     */
+    @Test
+    public void testCommandOutput() {
+        assertEquals(Collections.singletonList(LttngStandIn.LISTED_LOGGER), session.listEvents());
+        assertEquals(Collections.singletonList(LttngStandIn.TRACE_LINE), session.view());
+
+        List<TraceEvent> events;
+        try (Stream<TraceEvent> stream = session.viewEvents()) {
+            events = stream.collect(Collectors.toList());
+        }
+        assertEquals(1, events.size());
+        assertEquals("EventA", events.get(0).getLoggerName());
+        assertEquals("Hello", events.get(0).getMsg());
+    }
+
+    /**
+     * Test streaming the output of "lttng view".
+     *
+     * @throws IOException
+     *             If the stand-in could not be configured
+     */
+    @Test
+    public void testViewStream() throws IOException {
+        standIn.setViewLineCount(50000);
+        try (Stream<String> lines = session.viewStream()) {
+            assertEquals(50000, lines.filter(LttngStandIn.TRACE_LINE::equals).count());
+        }
+    }
+
+    /**
+     * Test that closing a view stream before the end does not wait for the
+     * whole trace to be read, and that the session remains usable.
+     *
+     * @throws IOException
+     *             If the stand-in could not be configured
+     */
+    @Test
+    public void testViewStreamEarlyClose() throws IOException {
+        standIn.setViewLineCount(Integer.MAX_VALUE);
+        try (Stream<String> lines = session.viewStream()) {
+            assertEquals(10, lines.limit(10).count());
+        }
+        assertTrue(session.stop());
+    }
+
+    /**
+     * Test that a failing "lttng view" is reported once its output is
+     * consumed, instead of looking like an empty trace.
+     */
+    @Test
+    @SuppressWarnings("resource")
+    public void testViewStreamFailure() {
+        try (ILttngSession failingSession = new LttngShellSession(LttngStandIn.FAILING_EVENT, Domain.JUL,
+                new ShellCoprocess(standIn.getEnvironment()));
+                Stream<String> lines = failingSession.viewStream()) {
+            assertThrows(UncheckedIOException.class, () -> lines.count());
+        }
+    }
+
+    /**
+     * Test that all the commands of a session were run from the same shell
+     * process.
+     *
+     * @throws IOException
+     *             If the stand-in's log could not be read
+     */
+    @Test
+    public void testSingleShellProcess() throws IOException {
+        assertTrue(session.enableAllEvents());
+        assertTrue(session.enableAppContext("retriever", "context"));
+        assertTrue(session.start());
+        assertTrue(session.stop());
+        session.view();
+        session.close();
+
+        List<String> parentPids = standIn.getInvocations().stream()
+                .map(invocation -> invocation.parentPid)
+                .distinct()
+                .collect(Collectors.toList());
+        assertEquals(1, parentPids.size());
+    }
+}
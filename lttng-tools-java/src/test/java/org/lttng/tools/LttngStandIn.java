@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Stand-in for the "lttng" command-line utility, so that the session backends
+ * can be tested without a lttng-tools installation.
+ *
+ * It is a small shell script, put first in the PATH of the shell processes
+ * that use getEnvironment(). Every invocation is logged, along with the PID of
+ * its parent process. Commands that mention FAILING_EVENT return an error
+ * code.
+ */
+class LttngStandIn {
+
+    /** Event name which makes the stand-in return an error code */
+    static final String FAILING_EVENT = "failing-event";
+
+    /** Logger name that is always listed by "lttng list" */
+    static final String LISTED_LOGGER = "org.lttng.somecomponent";
+
+    /** Trace line that is printed by "lttng view", once by default */
+    static final String TRACE_LINE = "[13:37:00.000000000] (+?.?????????) host lttng_jul:event: "
+            + "{ cpu_id = 0 }, { msg = \"Hello\", logger_name = \"EventA\" }";
+
+    private static final String SCRIPT = "#!/bin/sh\n"
+            + "{ printf '%s' \"$PPID\"; for arg in \"$@\"; do printf '\\t%s' \"$arg\"; done; printf '\\n'; } >> \"$LTTNG_STANDIN_LOG\"\n"
+            + "case \"$1\" in\n"
+            + "list)\n"
+            + "    echo 'Java events (Logger name):'\n"
+            + "    echo '-------------------------'\n"
+            + "    echo '      - " + LISTED_LOGGER + "'\n"
+            + "    echo '      - org.junit.SomeLogger'\n"
+            + "    ;;\n"
+            + "view)\n"
+            + "    count=$(cat \"$LTTNG_STANDIN_VIEW_COUNT\" 2>/dev/null || echo 1)\n"
+            + "    i=0\n"
+            + "    while [ \"$i\" -lt \"$count\" ]; do\n"
+            + "        echo '" + TRACE_LINE + "'\n"
+            + "        i=$((i + 1))\n"
+            + "    done\n"
+            + "    ;;\n"
+            + "esac\n"
+            + "for arg in \"$@\"; do\n"
+            + "    case \"$arg\" in *" + FAILING_EVENT + "*) exit 1 ;; esac\n"
+            + "done\n"
+            + "exit 0\n";
+
+    /**
+     * One invocation of the stand-in.
+     */
+    static class Invocation {
+
+        final String parentPid;
+        final List<String> args;
+
+        Invocation(String parentPid, List<String> args) {
+            this.parentPid = parentPid;
+            this.args = args;
+        }
+    }
+
+    private final Path logFile;
+    private final Path viewCountFile;
+    private final Map<String, String> environment = new HashMap<>();
+
+    /**
+     * Install the stand-in in the given directory.
+     *
+     * @param directory
+     *            Directory in which to write the script and its log file
+     * @throws IOException
+     *             If the files could not be written
+     */
+    LttngStandIn(Path directory) throws IOException {
+        Path binDir = Files.createDirectories(directory.resolve("bin"));
+        Path script = binDir.resolve("lttng");
+        Files.write(script, SCRIPT.getBytes(StandardCharsets.UTF_8));
+        script.toFile().setExecutable(true);
+
+        logFile = directory.resolve("lttng-invocations.log");
+        Files.createFile(logFile);
+
+        viewCountFile = directory.resolve("view-count");
+
+        environment.put("PATH", binDir.toString() + ':' + System.getenv("PATH"));
+        environment.put("LTTNG_STANDIN_LOG", logFile.toString());
+        environment.put("LTTNG_STANDIN_VIEW_COUNT", viewCountFile.toString());
+    }
+
+    /**
+     * Set how many times "lttng view" prints {@link #TRACE_LINE}.
+     *
+     * @param count
+     *            The number of trace lines
+     * @throws IOException
+     *             If the setting could not be written
+     */
+    void setViewLineCount(int count) throws IOException {
+        Files.write(viewCountFile, Integer.toString(count).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The environment variables to give to a shell so that it uses
+     *         this stand-in
+     */
+    Map<String, String> getEnvironment() {
+        return Collections.unmodifiableMap(environment);
+    }
+
+    /**
+     * @return All the invocations of the stand-in so far, in order
+     * @throws IOException
+     *             If the log file could not be read
+     */
+    List<Invocation> getInvocations() throws IOException {
+        return Files.readAllLines(logFile, StandardCharsets.UTF_8).stream()
+                .map(line -> line.split("\t", -1))
+                .map(fields -> new Invocation(fields[0], Arrays.asList(fields).subList(1, fields.length)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The arguments of all the invocations of the stand-in so far
+     * @throws IOException
+     *             If the log file could not be read
+     */
+    List<List<String>> getCommands() throws IOException {
+        return getInvocations().stream()
+                .map(invocation -> invocation.args)
+                .collect(Collectors.toList());
+    }
+}
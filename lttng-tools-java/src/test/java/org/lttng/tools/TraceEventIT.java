@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for parsing Babeltrace's text output into {@link TraceEvent}s.
+ */
+public class TraceEventIT {
+
+    private static final String RETRIEVER = "myRetriever";
+    private static final String CONTEXT = "some.context";
+
+    /**
+     * Test parsing a JUL event with no context, as printed by Babeltrace 1.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testJulEvent() {
+        String line = "[13:37:00.123456789] (+0.000001000) myhost lttng_jul:event: { cpu_id = 3 }, "
+                + "{ msg = \"Hello, \\\"World\\\" { }\", logger_name = \"org.lttng.somecomponent\", class_name = \"org.lttng.SomeClass\", "
+                + "method_name = \"main\", long_millis = 1455726237412, int_loglevel = 800, int_threadid = 1 }";
+
+        TraceEvent expected = new TraceEvent(
+                -1,
+                ((13 * 60 + 37) * 60) * 1000000000L + 123456789L,
+                "lttng_jul:event",
+                "org.lttng.somecomponent",
+                800,
+                "1",
+                "Hello, \"World\" { }",
+                Collections.emptyMap());
+        assertEquals(expected, TraceEvent.parse(line));
+    }
+
+    /**
+     * Test parsing a log4j event, which has a thread name instead of an ID.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testLog4jEvent() {
+        String line = "[1455726237.412069981] (+?.?????????) lttng_log4j:event: { cpu_id = 0 }, "
+                + "{ msg = \"Hello\", logger_name = \"EventA\", class_name = \"SomeClass\", method_name = \"main\", "
+                + "filename = \"SomeClass.java\", line_number = 42, timestamp = 1455726237412, int_loglevel = 20000, thread_name = \"main\" }";
+
+        TraceEvent event = TraceEvent.parse(line);
+        assertEquals(1455726237412069981L, event.getEpochNanos());
+        assertEquals("lttng_log4j:event", event.getName());
+        assertEquals("EventA", event.getLoggerName());
+        assertEquals(20000, event.getLogLevel());
+        assertEquals("main", event.getThread());
+    }
+
+    /**
+     * Test the timestamps of the events, which only have a date when
+     * Babeltrace prints one.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testTimestamps() {
+        String suffix = " (+?.?????????) host lttng_jul:event: { cpu_id = 0 }, { msg = \"Hello\", logger_name = \"EventA\" }";
+        LocalDateTime dateTime = LocalDateTime.of(2016, 2, 17, 13, 37, 0, 123456789);
+        long timeOfDay = dateTime.toLocalTime().toNanoOfDay();
+        Instant instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+        long epochNanos = instant.getEpochSecond() * 1000000000L + instant.getNano();
+
+        TraceEvent event = TraceEvent.parse("[13:37:00.123456789]" + suffix);
+        assertEquals(-1, event.getEpochNanos());
+        assertEquals(timeOfDay, event.getTimeOfDayNanos());
+
+        event = TraceEvent.parse("[2016-02-17 13:37:00.123456789]" + suffix);
+        assertEquals(epochNanos, event.getEpochNanos());
+        assertEquals(timeOfDay, event.getTimeOfDayNanos());
+
+        event = TraceEvent.parse("[" + instant.getEpochSecond() + ".123456789]" + suffix);
+        assertEquals(epochNanos, event.getEpochNanos());
+        assertEquals(timeOfDay, event.getTimeOfDayNanos());
+
+        /* Events read from the trace always have a date */
+        event = new TraceEvent(epochNanos, "lttng_jul:event", "EventA", 800, "1", "Hello", Collections.emptyMap());
+        assertEquals(timeOfDay, event.getTimeOfDayNanos());
+
+        assertNull(TraceEvent.parse("[2016-02 13:37:00.123456789]" + suffix));
+        assertNull(TraceEvent.parse("[2016-02-31 13:37:00.123456789]" + suffix));
+    }
+
+    /**
+     * Test parsing the application contexts, in the various forms
+     * Babeltrace 1 and 2 print them.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testAppContexts() {
+        String prefix = "[13:37:00.000000000] (+?.?????????) host lttng_jul:event: { cpu_id = 0 }, { ";
+        String suffix = " }, { msg = \"Hello\", logger_name = \"EventA\", int_loglevel = 800, int_threadid = 1 }";
+        String contextName = TraceEvent.getAppContextName(RETRIEVER, CONTEXT);
+        assertEquals("_app_myRetriever_some_context", contextName);
+
+        TraceEvent event = TraceEvent.parse(prefix + contextName + " = { \"ContextValue\" }" + suffix);
+        assertEquals("ContextValue", event.getAppContext(RETRIEVER, CONTEXT));
+
+        event = TraceEvent.parse(prefix + contextName + " = { string = \"ContextValue\" }" + suffix);
+        assertEquals("ContextValue", event.getAppContext(RETRIEVER, CONTEXT));
+
+        event = TraceEvent.parse(prefix + contextName + " = { -42 }" + suffix);
+        assertEquals(Long.valueOf(-42), event.getAppContext(RETRIEVER, CONTEXT));
+
+        event = TraceEvent.parse(prefix + contextName + " = { 11.55 }" + suffix);
+        assertEquals(Double.valueOf(11.55), event.getAppContext(RETRIEVER, CONTEXT));
+
+        /* Enabled context, without a value */
+        event = TraceEvent.parse(prefix + contextName + " = { { } }" + suffix);
+        assertTrue(event.hasAppContext(RETRIEVER, CONTEXT));
+        assertNull(event.getAppContext(RETRIEVER, CONTEXT));
+
+        event = TraceEvent.parse(prefix + "_app_other_context = { 1 }, " + contextName + " = { 0 }" + suffix);
+        assertEquals(Long.valueOf(1), event.getAppContext("other", "context"));
+        assertEquals(Long.valueOf(0), event.getAppContext(RETRIEVER, CONTEXT));
+        assertEquals("EventA", event.getLoggerName());
+
+        event = TraceEvent.parse(LttngStandIn.TRACE_LINE);
+        assertFalse(event.hasAppContext(RETRIEVER, CONTEXT));
+        assertEquals("Hello", event.getMsg());
+    }
+
+    /**
+     * Test that lines which are not events are skipped.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testInvalidLines() {
+        assertNull(TraceEvent.parse(null));
+        assertNull(TraceEvent.parse(""));
+        assertNull(TraceEvent.parse("[warning] Unknown field"));
+        assertNull(TraceEvent.parse("[13:37:00.000000000] (+?.?????????) host lttng_jul:event: { msg = \"unterminated }"));
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.ctf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.lttng.tools.ctf.CtfTraceWriter.APP_CONTEXT;
+import static org.lttng.tools.ctf.CtfTraceWriter.CLOCK_OFFSET;
+import static org.lttng.tools.ctf.CtfTraceWriter.JUL_EVENT;
+import static org.lttng.tools.ctf.CtfTraceWriter.LOG4J2_EVENT;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lttng.tools.TraceEvent;
+import org.lttng.tools.ctf.CtfTraceWriter.StreamWriter;
+
+/**
+ * Tests for {@link CtfTrace}, using traces generated by CtfTraceWriter.
+ */
+public class CtfTraceIT {
+
+    private static final String LOGGER_NAME = "org.lttng.somecomponent";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test reading the fields and contexts of events.
+     *
+     * @throws IOException
+     *             If the trace could not be written or read
+     */
+    @Test
+    public void testReadEvents() throws IOException {
+        CtfTraceWriter.writeMetadata(tempDir, 0);
+        StreamWriter writer = new StreamWriter(tempDir.resolve("chan_0_0"), 0);
+        writer.beginPacket(1000)
+                .julEvent(1100, "Hello", LOGGER_NAME, 800, "ContextValue")
+                .julEvent(1200, "Hello again", LOGGER_NAME, 900, Long.valueOf(-42))
+                .julEvent(1300, "Ünïcödé", LOGGER_NAME, 1000, null)
+                .endPacket(1400);
+        writer.write();
+
+        List<CtfEvent> events = readEvents(tempDir);
+        assertEquals(3, events.size());
+
+        CtfEvent event = events.get(0);
+        assertEquals(JUL_EVENT, event.getName());
+        assertEquals(CLOCK_OFFSET + 1100, event.getTimestamp());
+        assertEquals(0, event.getCpuId());
+        assertEquals("Hello", event.getStringField("msg"));
+        assertEquals(LOGGER_NAME, event.getStringField("logger_name"));
+        assertEquals(800, event.getLongField("int_loglevel", -1));
+        assertEquals(1, event.getLongField("int_threadid", -1));
+        assertEquals("ContextValue", event.getContext().get(APP_CONTEXT));
+
+        assertEquals(Long.valueOf(-42), events.get(1).getContext().get(APP_CONTEXT));
+        assertEquals("Ünïcödé", events.get(2).getStringField("msg"));
+        assertEquals(Collections.emptyMap(), events.get(2).getContext().get(APP_CONTEXT));
+
+        assertEquals("testhost", CtfTrace.open(tempDir).getEnvironment().get("hostname"));
+    }
+
+    /**
+     * Test converting events read from the trace to {@link TraceEvent}s.
+     *
+     * @throws IOException
+     *             If the trace could not be written or read
+     */
+    @Test
+    public void testToTraceEvent() throws IOException {
+        CtfTraceWriter.writeMetadata(tempDir, 0);
+        StreamWriter writer = new StreamWriter(tempDir.resolve("chan_0_0"), 0);
+        writer.beginPacket(0)
+                .julEvent(10, "Hello", LOGGER_NAME, 800, "ContextValue")
+                .julEvent(20, "Hello", LOGGER_NAME, 800, null)
+                .log4j2Event(30, "Hello log4j", LOGGER_NAME, 400)
+                .endPacket(30);
+        writer.write();
+
+        List<TraceEvent> events = readEvents(tempDir).stream()
+                .map(TraceEvent::fromCtf)
+                .collect(Collectors.toList());
+
+        TraceEvent expected = new TraceEvent(CLOCK_OFFSET + 10, JUL_EVENT, LOGGER_NAME, 800, "1", "Hello",
+                Collections.singletonMap(APP_CONTEXT, "ContextValue"));
+        assertEquals(expected, events.get(0));
+        assertEquals("ContextValue", events.get(0).getAppContext("myRetriever", "myContext"));
+        assertTrue(events.get(1).hasAppContext("myRetriever", "myContext"));
+        assertNull(events.get(1).getAppContext("myRetriever", "myContext"));
+        assertEquals("main", events.get(2).getThread());
+        assertEquals(400, events.get(2).getLogLevel());
+    }
+
+    /**
+     * Test that metadata split into packets gives the same events as text
+     * metadata.
+     *
+     * @throws IOException
+     *             If the trace could not be written or read
+     */
+    @Test
+    public void testPacketizedMetadata() throws IOException {
+        Path textTrace = Files.createDirectory(tempDir.resolve("text"));
+        Path packetizedTrace = Files.createDirectory(tempDir.resolve("packetized"));
+        CtfTraceWriter.writeMetadata(textTrace, 0);
+        /* Small enough for packets to split tokens */
+        CtfTraceWriter.writeMetadata(packetizedTrace, 100);
+
+        for (Path trace : Arrays.asList(textTrace, packetizedTrace)) {
+            StreamWriter writer = new StreamWriter(trace.resolve("chan_0_0"), 0);
+            writer.beginPacket(0)
+                    .julEvent(10, "Hello", LOGGER_NAME, 800, null)
+                    .log4j2Event(20, "Hello", LOGGER_NAME, 400)
+                    .endPacket(30);
+            writer.write();
+        }
+
+        byte[] packetizedBytes = Files.readAllBytes(packetizedTrace.resolve("metadata"));
+        assertEquals(CtfTraceWriter.METADATA, Metadata.getText(packetizedBytes));
+        assertEquals(toStrings(readEvents(textTrace)), toStrings(readEvents(packetizedTrace)));
+    }
+
+    /**
+     * Test that timestamps are reconstructed correctly from the 27-bit
+     * timestamps of the compact event headers when they wrap around, and
+     * from the extended headers when the gap between events is too large.
+     *
+     * @throws IOException
+     *             If the trace could not be written or read
+     */
+    @Test
+    public void testTimestampWrap() throws IOException {
+        long wrap = 1L << 27;
+        List<Long> timestamps = Arrays.asList(
+                Long.valueOf(wrap - 10),
+                Long.valueOf(wrap + 5),
+                Long.valueOf(2 * wrap - 1),
+                Long.valueOf(2 * wrap),
+                /* Gap larger than what fits in 27 bits */
+                Long.valueOf(10 * wrap + 7),
+                Long.valueOf(10 * wrap + 8));
+
+        CtfTraceWriter.writeMetadata(tempDir, 0);
+        StreamWriter writer = new StreamWriter(tempDir.resolve("chan_0_0"), 0);
+        writer.beginPacket(wrap - 20);
+        timestamps.forEach(ts -> writer.julEvent(ts.longValue(), "msg", LOGGER_NAME, 800, null));
+        writer.endPacket(10 * wrap + 8);
+        writer.write();
+
+        List<Long> expected = timestamps.stream()
+                .map(ts -> Long.valueOf(CLOCK_OFFSET + ts.longValue()))
+                .collect(Collectors.toList());
+        List<Long> actual = readEvents(tempDir).stream()
+                .map(event -> Long.valueOf(event.getTimestamp()))
+                .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Test that the events of several packets and stream files are merged in
+     * timestamp order.
+     *
+     * @throws IOException
+     *             If the trace could not be written or read
+     */
+    @Test
+    public void testMergeStreams() throws IOException {
+        int nbEventsPerPacket = 500;
+        CtfTraceWriter.writeMetadata(tempDir, 0);
+        for (int cpu = 0; cpu < 2; cpu++) {
+            StreamWriter writer = new StreamWriter(tempDir.resolve("chan_0_" + cpu), cpu);
+            for (int packet = 0; packet < 3; packet++) {
+                long start = packet * 100000L;
+                writer.beginPacket(start);
+                for (int i = 0; i < nbEventsPerPacket; i++) {
+                    /* CPU 1 gets the odd timestamps, CPU 0 the even ones */
+                    long ts = start + 2 * i + cpu;
+                    if (i % 10 == 0) {
+                        writer.log4j2Event(ts, "Event " + ts, LOGGER_NAME, 400);
+                    } else {
+                        writer.julEvent(ts, "Event " + ts, LOGGER_NAME, 800, null);
+                    }
+                }
+                writer.endPacket(start + 2 * nbEventsPerPacket);
+            }
+            writer.write();
+        }
+
+        List<CtfEvent> events = readEvents(tempDir);
+        assertEquals(2 * 3 * nbEventsPerPacket, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            CtfEvent event = events.get(i);
+            long ts = event.getTimestamp() - CLOCK_OFFSET;
+            assertEquals("Event " + ts, event.getStringField("msg"));
+            assertEquals(ts % 2, event.getCpuId());
+            if (i > 0) {
+                assertTrue(event.getTimestamp() > events.get(i - 1).getTimestamp());
+            }
+        }
+        assertEquals(2 * 3 * nbEventsPerPacket / 10, events.stream()
+                .filter(event -> event.getName().equals(LOG4J2_EVENT))
+                .count());
+    }
+
+    /**
+     * Test finding and opening the trace of a session, laid out as LTTng does.
+     *
+     * @throws IOException
+     *             If the trace could not be written or read
+     */
+    @Test
+    public void testSessionTrace() throws IOException {
+        Path sessionDir = tempDir.resolve("mysession-20260101-120000");
+        Path traceDir = Files.createDirectories(sessionDir.resolve("ust/uid/1000/64-bit"));
+        Files.createDirectories(tempDir.resolve("mysession-other-20260101-130000"));
+        Files.createDirectories(tempDir.resolve("mysession-20251231-120000"));
+
+        CtfTraceWriter.writeMetadata(traceDir, 0);
+        StreamWriter writer = new StreamWriter(traceDir.resolve("chan_0_0"), 0);
+        writer.beginPacket(0).julEvent(10, "Hello", LOGGER_NAME, 800, null).endPacket(10);
+        writer.write();
+        /* Stream files may be empty */
+        Files.createFile(traceDir.resolve("chan_0_1"));
+        Files.createDirectories(traceDir.resolve("index"));
+
+        assertEquals(sessionDir, CtfTrace.findSessionTrace(tempDir, "mysession"));
+        assertNull(CtfTrace.findSessionTrace(tempDir, "othersession"));
+        assertEquals(1, readEvents(sessionDir).size());
+    }
+
+    /**
+     * Test that invalid metadata is reported.
+     *
+     * @throws IOException
+     *             If the test files could not be written
+     */
+    @Test
+    public void testInvalidMetadata() throws IOException {
+        assertThrows(IOException.class, () -> CtfTrace.open(tempDir));
+
+        Files.write(tempDir.resolve("metadata"), "/* CTF 1.8 */\ntrace { byte_order = sideways; };".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> CtfTrace.open(tempDir));
+    }
+
+    private static List<CtfEvent> readEvents(Path trace) throws IOException {
+        try (Stream<CtfEvent> events = CtfTrace.open(trace).events()) {
+            return events.collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> toStrings(List<CtfEvent> events) {
+        return events.stream().map(CtfEvent::toString).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.tools.ctf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Writes synthetic CTF traces, laid out like the ones of the LTTng-UST Java
+ * agents, so that {@link CtfTrace} can be tested without a tracer.
+ */
+class CtfTraceWriter {
+
+    /** Offset of the clock, in nanoseconds since the Epoch */
+    static final long CLOCK_OFFSET = 1700000000000000000L;
+
+    static final String JUL_EVENT = "lttng_jul:event";
+    static final String LOG4J2_EVENT = "lttng_log4j2:event";
+
+    /** Name of the application context field, as it appears in the trace */
+    static final String APP_CONTEXT = "_app_myRetriever_myContext";
+
+    private static final int JUL_EVENT_ID = 1;
+    /* Too large for the compact event header */
+    private static final int LOG4J2_EVENT_ID = 40;
+
+    private static final int COMPACT_ID_EXTENDED = 31;
+    private static final int COMPACT_TIMESTAMP_BITS = 27;
+    private static final int PACKET_ALIGNMENT = 4096;
+
+    static final String METADATA = "/* CTF 1.8 */\n"
+            + "\n"
+            + "typealias integer { size = 8; align = 8; signed = false; } := uint8_t;\n"
+            + "typealias integer { size = 16; align = 8; signed = false; } := uint16_t;\n"
+            + "typealias integer { size = 32; align = 8; signed = false; } := uint32_t;\n"
+            + "typealias integer { size = 64; align = 8; signed = false; } := uint64_t;\n"
+            + "typealias integer { size = 64; align = 8; signed = false; } := unsigned long;\n"
+            + "typealias integer { size = 5; align = 1; signed = false; } := uint5_t;\n"
+            + "typealias integer { size = 27; align = 1; signed = false; } := uint27_t;\n"
+            + "\n"
+            + "trace {\n"
+            + "\tmajor = 1;\n"
+            + "\tminor = 8;\n"
+            + "\tuuid = \"7c2d9ee6-41a4-4c6e-8d27-52b8f5ae0b4f\";\n"
+            + "\tbyte_order = le;\n"
+            + "\tpacket.header := struct {\n"
+            + "\t\tuint32_t magic;\n"
+            + "\t\tuint8_t  uuid[16];\n"
+            + "\t\tuint32_t stream_id;\n"
+            + "\t\tuint64_t stream_instance_id;\n"
+            + "\t};\n"
+            + "};\n"
+            + "\n"
+            + "env {\n"
+            + "\thostname = \"testhost\";\n"
+            + "\tdomain = \"ust\";\n"
+            + "\ttracer_name = \"lttng-ust\";\n"
+            + "\ttracer_major = 2;\n"
+            + "};\n"
+            + "\n"
+            + "clock {\n"
+            + "\tname = \"monotonic\";\n"
+            + "\tdescription = \"Monotonic Clock\";\n"
+            + "\tfreq = 1000000000; /* Frequency, in Hz */\n"
+            + "\t/* clock value offset from Epoch is: offset * (1/freq) */\n"
+            + "\toffset = " + CLOCK_OFFSET + ";\n"
+            + "};\n"
+            + "\n"
+            + "typealias integer {\n"
+            + "\tsize = 27; align = 1; signed = false;\n"
+            + "\tmap = clock.monotonic.value;\n"
+            + "} := uint27_clock_monotonic_t;\n"
+            + "\n"
+            + "typealias integer {\n"
+            + "\tsize = 64; align = 8; signed = false;\n"
+            + "\tmap = clock.monotonic.value;\n"
+            + "} := uint64_clock_monotonic_t;\n"
+            + "\n"
+            + "struct packet_context {\n"
+            + "\tuint64_clock_monotonic_t timestamp_begin;\n"
+            + "\tuint64_clock_monotonic_t timestamp_end;\n"
+            + "\tuint64_t content_size;\n"
+            + "\tuint64_t packet_size;\n"
+            + "\tuint64_t packet_seq_num;\n"
+            + "\tunsigned long events_discarded;\n"
+            + "\tuint32_t cpu_id;\n"
+            + "};\n"
+            + "\n"
+            + "struct event_header_compact {\n"
+            + "\tenum : uint5_t { compact = 0 ... 30, extended = 31 } id;\n"
+            + "\tvariant <id> {\n"
+            + "\t\tstruct {\n"
+            + "\t\t\tuint27_clock_monotonic_t timestamp;\n"
+            + "\t\t} compact;\n"
+            + "\t\tstruct {\n"
+            + "\t\t\tuint32_t id;\n"
+            + "\t\t\tuint64_clock_monotonic_t timestamp;\n"
+            + "\t\t} extended;\n"
+            + "\t} v;\n"
+            + "} align(8);\n"
+            + "\n"
+            + "stream {\n"
+            + "\tid = 0;\n"
+            + "\tevent.header := struct event_header_compact;\n"
+            + "\tpacket.context := struct packet_context;\n"
+            + "\tevent.context := struct {\n"
+            + "\t\tenum : integer { size = 8; align = 8; signed = 0; encoding = none; base = 10; } { \"_none\" = 0, \"_int64\" = 1, \"_string\" = 2, } _" + APP_CONTEXT + "_tag;\n"
+            + "\t\tvariant <_" + APP_CONTEXT + "_tag> {\n"
+            + "\t\t\tstruct { } _none;\n"
+            + "\t\t\tinteger { size = 64; align = 8; signed = 1; encoding = none; base = 10; } _int64;\n"
+            + "\t\t\tstring { encoding = UTF8; } _string;\n"
+            + "\t\t} _" + APP_CONTEXT + ";\n"
+            + "\t};\n"
+            + "};\n"
+            + "\n"
+            + "event {\n"
+            + "\tname = \"" + JUL_EVENT + "\";\n"
+            + "\tid = " + JUL_EVENT_ID + ";\n"
+            + "\tstream_id = 0;\n"
+            + "\tloglevel = 13;\n"
+            + "\tfields := struct {\n"
+            + "\t\tstring _msg;\n"
+            + "\t\tstring _logger_name;\n"
+            + "\t\tstring _class_name;\n"
+            + "\t\tstring _method_name;\n"
+            + "\t\tinteger { size = 64; align = 8; signed = 1; encoding = none; base = 10; } _long_millis;\n"
+            + "\t\tinteger { size = 32; align = 8; signed = 1; encoding = none; base = 10; } _int_loglevel;\n"
+            + "\t\tinteger { size = 32; align = 8; signed = 1; encoding = none; base = 10; } _int_threadid;\n"
+            + "\t};\n"
+            + "};\n"
+            + "\n"
+            + "event {\n"
+            + "\tname = \"" + LOG4J2_EVENT + "\";\n"
+            + "\tid = " + LOG4J2_EVENT_ID + ";\n"
+            + "\tstream_id = 0;\n"
+            + "\tloglevel = 13;\n"
+            + "\tfields := struct {\n"
+            + "\t\tstring _msg;\n"
+            + "\t\tstring _logger_name;\n"
+            + "\t\tstring _class_name;\n"
+            + "\t\tstring _method_name;\n"
+            + "\t\tstring _filename;\n"
+            + "\t\tinteger { size = 32; align = 8; signed = 1; encoding = none; base = 10; } _line_number;\n"
+            + "\t\tinteger { size = 64; align = 8; signed = 1; encoding = none; base = 10; } _timestamp;\n"
+            + "\t\tinteger { size = 32; align = 8; signed = 1; encoding = none; base = 10; } _int_loglevel;\n"
+            + "\t\tstring _thread_name;\n"
+            + "\t};\n"
+            + "};\n";
+
+    private CtfTraceWriter() {}
+
+    /**
+     * Write the metadata file of a trace.
+     *
+     * @param directory
+     *            The trace directory
+     * @param packetSize
+     *            The number of bytes of text per metadata packet, or 0 to write
+     *            the metadata in text form
+     * @throws IOException
+     *             If the file could not be written
+     */
+    static void writeMetadata(Path directory, int packetSize) throws IOException {
+        byte[] text = METADATA.getBytes(StandardCharsets.UTF_8);
+        Path file = directory.resolve("metadata");
+        if (packetSize <= 0) {
+            Files.write(file, text);
+            return;
+        }
+
+        int packets = (text.length + packetSize - 1) / packetSize;
+        int paddedSize = Metadata.METADATA_PACKET_HEADER_SIZE + packetSize + 3;
+        ByteBuffer buffer = ByteBuffer.allocate(packets * paddedSize).order(ByteOrder.LITTLE_ENDIAN);
+        for (int offset = 0; offset < text.length; offset += packetSize) {
+            int length = Math.min(packetSize, text.length - offset);
+            int start = buffer.position();
+            buffer.putInt(Metadata.METADATA_PACKET_MAGIC);
+            buffer.put(new byte[16]);
+            buffer.putInt(0);
+            buffer.putInt((Metadata.METADATA_PACKET_HEADER_SIZE + length) * 8);
+            buffer.putInt(paddedSize * 8);
+            buffer.put(new byte[] { 0, 0, 0, 1, 8 });
+            buffer.put(text, offset, length);
+            buffer.position(start + paddedSize);
+        }
+        Files.write(file, buffer.array());
+    }
+
+    /**
+     * Writer of one stream file
+     */
+    static class StreamWriter {
+
+        private final Path file;
+        private final int cpuId;
+        private final ByteBuffer packet = ByteBuffer.allocate(1024 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        private final ByteBuffer output = ByteBuffer.allocate(16 * 1024 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+
+        private long packetSeqNum = 0;
+        private long lastTimestamp;
+
+        StreamWriter(Path file, int cpuId) {
+            this.file = file;
+            this.cpuId = cpuId;
+        }
+
+        /**
+         * Start a new packet.
+         *
+         * @param timestampBegin
+         *            The timestamp of the start of the packet
+         * @return This writer
+         */
+        StreamWriter beginPacket(long timestampBegin) {
+            packet.clear();
+            /* Packet header */
+            packet.putInt(0xC1FC1FC1);
+            packet.put(new byte[16]);
+            packet.putInt(0);
+            packet.putLong(cpuId);
+            /* Packet context, the sizes and end timestamp are set at the end */
+            packet.putLong(timestampBegin);
+            packet.putLong(0);
+            packet.putLong(0);
+            packet.putLong(0);
+            packet.putLong(packetSeqNum++);
+            packet.putLong(0);
+            packet.putInt(cpuId);
+            lastTimestamp = timestampBegin;
+            return this;
+        }
+
+        /**
+         * Add a JUL event to the current packet.
+         *
+         * @param timestamp
+         *            The timestamp of the event
+         * @param msg
+         *            The message
+         * @param loggerName
+         *            The logger name
+         * @param loglevel
+         *            The log level
+         * @param appContext
+         *            The value of the application context: a string, a long,
+         *            or null if the context has no value
+         * @return This writer
+         */
+        StreamWriter julEvent(long timestamp, String msg, String loggerName, int loglevel, Object appContext) {
+            putEventHeader(JUL_EVENT_ID, timestamp);
+            putAppContext(appContext);
+            putString(msg);
+            putString(loggerName);
+            putString("org.lttng.SomeClass");
+            putString("someMethod");
+            packet.putLong(timestamp / 1000000);
+            packet.putInt(loglevel);
+            packet.putInt(cpuId + 1);
+            return this;
+        }
+
+        /**
+         * Add a log4j 2.x event to the current packet. This one always uses
+         * the extended event header, since its ID is too large for the
+         * compact one.
+         *
+         * @param timestamp
+         *            The timestamp of the event
+         * @param msg
+         *            The message
+         * @param loggerName
+         *            The logger name
+         * @param loglevel
+         *            The log level
+         * @return This writer
+         */
+        StreamWriter log4j2Event(long timestamp, String msg, String loggerName, int loglevel) {
+            putEventHeader(LOG4J2_EVENT_ID, timestamp);
+            putAppContext(null);
+            putString(msg);
+            putString(loggerName);
+            putString("org.lttng.SomeClass");
+            putString("someMethod");
+            putString("SomeClass.java");
+            packet.putInt(42);
+            packet.putLong(timestamp / 1000000);
+            packet.putInt(loglevel);
+            putString("main");
+            return this;
+        }
+
+        /**
+         * End the current packet, padding it to a multiple of the page size.
+         *
+         * @param timestampEnd
+         *            The timestamp of the end of the packet
+         * @return This writer
+         */
+        StreamWriter endPacket(long timestampEnd) {
+            int contentSize = packet.position();
+            int packetSize = ((contentSize + PACKET_ALIGNMENT - 1) / PACKET_ALIGNMENT) * PACKET_ALIGNMENT;
+            packet.putLong(40, timestampEnd);
+            packet.putLong(48, contentSize * 8L);
+            packet.putLong(56, packetSize * 8L);
+            output.put(packet.array(), 0, contentSize);
+            output.put(new byte[packetSize - contentSize]);
+            return this;
+        }
+
+        /**
+         * Write the packets to the stream file.
+         *
+         * @throws IOException
+         *             If the file could not be written
+         */
+        void write() throws IOException {
+            Files.write(file, Arrays.copyOf(output.array(), output.position()));
+        }
+
+        private void putEventHeader(int id, long timestamp) {
+            long delta = timestamp - lastTimestamp;
+            if (id < COMPACT_ID_EXTENDED && delta >= 0 && delta < (1L << COMPACT_TIMESTAMP_BITS)) {
+                /* 5-bit ID, then the 27 low-order bits of the timestamp */
+                long lowBits = timestamp & ((1L << COMPACT_TIMESTAMP_BITS) - 1);
+                packet.putInt((int) (id | (lowBits << 5)));
+            } else {
+                packet.put((byte) COMPACT_ID_EXTENDED);
+                packet.putInt(id);
+                packet.putLong(timestamp);
+            }
+            lastTimestamp = timestamp;
+        }
+
+        private void putAppContext(Object value) {
+            if (value instanceof String) {
+                packet.put((byte) 2);
+                putString((String) value);
+            } else if (value instanceof Long) {
+                packet.put((byte) 1);
+                packet.putLong(((Long) value).longValue());
+            } else {
+                packet.put((byte) 0);
+            }
+        }
+
+        private void putString(String value) {
+            packet.put(value.getBytes(StandardCharsets.UTF_8));
+            packet.put((byte) 0);
+        }
+    }
+}
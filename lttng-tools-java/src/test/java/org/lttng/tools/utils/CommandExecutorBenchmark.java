@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools.utils;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmark comparing the latency of running short commands with each
+ * {@link CommandExecutor}.
+ */
+@Tag("benchmark")
+public class CommandExecutorBenchmark {
+
+    /** Nb of runs per executor, result will be averaged */
+    private static final int NB_RUNS = 5;
+
+    /** Commands per run */
+    private static final int NB_COMMANDS = 200;
+
+    /** Commands run before measuring, to warm up the JVM */
+    private static final int NB_WARMUP_COMMANDS = 50;
+
+    private static final List<String> COMMAND = Arrays.asList("uname", "-s");
+
+    /**
+     * Run the benchmark
+     */
+    @Test
+    public void runBenchmark() {
+        System.out.println();
+        System.out.println("Running benchmark: " + this.getClass().getCanonicalName());
+
+        long processAverage = runTest("process", new ProcessCommandExecutor());
+        long pooledAverage;
+        try (PooledShellCommandExecutor pooled = new PooledShellCommandExecutor(1, Collections.emptyMap())) {
+            pooledAverage = runTest("pooled", pooled);
+        }
+
+        System.out.println(String.format("speedup of pooled over process = %.2fx",
+                Double.valueOf((double) processAverage / pooledAverage)));
+        assertTrue(pooledAverage < processAverage);
+    }
+
+    private static long runTest(String name, CommandExecutor executor) {
+        for (int i = 0; i < NB_WARMUP_COMMANDS; i++) {
+            executor.getOutputFromCommand(false, COMMAND);
+        }
+
+        long total = 0;
+        for (int i = 0; i < NB_RUNS; i++) {
+            long start = System.nanoTime();
+            for (int j = 0; j < NB_COMMANDS; j++) {
+                executor.getOutputFromCommand(false, COMMAND);
+            }
+            long end = System.nanoTime();
+
+            total += (end - start);
+        }
+        long average = (total / NB_RUNS) / NB_COMMANDS;
+        System.out.println(name + ", average = " + average / 1000 + " us/command");
+        return average;
+    }
+}
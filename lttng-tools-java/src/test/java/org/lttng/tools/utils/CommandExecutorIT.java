@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Tests for the {@link CommandExecutor} implementations, which should all
+ * behave the same.
+ */
+public class CommandExecutorIT {
+
+    private static final PooledShellCommandExecutor POOLED_EXECUTOR = new PooledShellCommandExecutor(2, Collections.emptyMap());
+
+    /**
+     * @return The executors to test
+     */
+    static Stream<CommandExecutor> executors() {
+        return Stream.of(new ProcessCommandExecutor(), POOLED_EXECUTOR);
+    }
+
+    /**
+     * Class teardown
+     */
+    @AfterAll
+    public static void teardownClass() {
+        POOLED_EXECUTOR.close();
+    }
+
+    /**
+     * Test that the exit code of the commands is reported.
+     *
+     * @param executor
+     *            The executor to test
+     */
+    @ParameterizedTest
+    @MethodSource("executors")
+    @SuppressWarnings("static-method")
+    public void testExitCode(CommandExecutor executor) {
+        assertTrue(executor.executeCommand(Arrays.asList("true")));
+        assertFalse(executor.executeCommand(Arrays.asList("false")));
+        assertFalse(executor.executeCommand(Arrays.asList("sh", "-c", "exit 3")));
+    }
+
+    /**
+     * Test retrieving the output of a command, including its standard error
+     * and a last line with no newline.
+     *
+     * @param executor
+     *            The executor to test
+     */
+    @ParameterizedTest
+    @MethodSource("executors")
+    @SuppressWarnings("static-method")
+    public void testOutput(CommandExecutor executor) {
+        List<String> output = executor.getOutputFromCommand(false,
+                Arrays.asList("sh", "-c", "echo 'first line'; echo \"$1\" >&2; printf last", "sh", "it's"));
+        assertEquals(Arrays.asList("first line", "it's", "last"), output);
+    }
+
+    /**
+     * Test that the exit code and the output are both available, and that a
+     * large output is captured completely.
+     *
+     * @param executor
+     *            The executor to test
+     */
+    @ParameterizedTest
+    @MethodSource("executors")
+    @SuppressWarnings("static-method")
+    public void testCommandOutput(CommandExecutor executor) {
+        CommandResult output = executor.runCommand(false,
+                Arrays.asList("sh", "-c", "seq 1 100000; exit 4"));
+        assertEquals(4, output.getExitCode());
+        assertFalse(output.isSuccess());
+        assertFalse(output.isTruncated());
+
+        List<String> lines = output.getLines();
+        assertEquals(100000, lines.size());
+        assertEquals("1", lines.get(0));
+        assertEquals("100000", lines.get(99999));
+    }
+
+    /**
+     * Test that a command which exceeds its timeout is killed, and that the
+     * executor remains usable.
+     *
+     * @param executor
+     *            The executor to test
+     */
+    @ParameterizedTest
+    @MethodSource("executors")
+    @SuppressWarnings("static-method")
+    public void testTimeout(CommandExecutor executor) {
+        CommandResult result = executor.runCommand(false,
+                Arrays.asList("sh", "-c", "echo started; exec sleep 60"), 500, TimeUnit.MILLISECONDS);
+        assertTrue(result.isTimedOut());
+        assertFalse(result.isSuccess());
+        assertEquals(CommandResult.TIMEOUT_EXIT_CODE, result.getExitCode());
+        assertEquals("started", result.getLines().get(0));
+        assertTrue(result.getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(result.getDurationNanos() < TimeUnit.SECONDS.toNanos(30));
+
+        assertFalse(executor.executeCommand(Arrays.asList("sleep", "60"), 200, TimeUnit.MILLISECONDS));
+
+        result = executor.runCommand(false, Arrays.asList("echo", "after"), 10, TimeUnit.SECONDS);
+        assertFalse(result.isTimedOut());
+        assertTrue(result.isSuccess());
+        assertEquals(Collections.singletonList("after"), result.getLines());
+    }
+
+    /**
+     * Test that a streamed command is killed after the default timeout, and
+     * that it is then reported as a failure.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testStreamTimeout() {
+        System.setProperty(ShellUtils.COMMAND_TIMEOUT_PROPERTY, "1");
+        try (Stream<String> lines = ShellUtils.streamOutputFromCommand(
+                Arrays.asList("sh", "-c", "echo started; exec sleep 60"))) {
+            Iterator<String> iterator = lines.iterator();
+            assertEquals("started", iterator.next());
+            long start = System.nanoTime();
+            assertThrows(UncheckedIOException.class, () -> iterator.hasNext());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+        } finally {
+            System.clearProperty(ShellUtils.COMMAND_TIMEOUT_PROPERTY);
+        }
+    }
+
+    /**
+     * Test that a command which does not exist is reported as a failure.
+     *
+     * @param executor
+     *            The executor to test
+     */
+    @ParameterizedTest
+    @MethodSource("executors")
+    @SuppressWarnings("static-method")
+    public void testMissingCommand(CommandExecutor executor) {
+        assertFalse(executor.executeCommand(Arrays.asList("lttng-tools-java-no-such-command")));
+    }
+
+    /**
+     * Test running more concurrent commands than there are shells in the
+     * pool.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testPoolConcurrency() {
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<List<String>>> outputs = IntStream.range(0, 32)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                            POOLED_EXECUTOR.getOutputFromCommand(false, Arrays.asList("echo", Integer.toString(i))), threads))
+                    .collect(Collectors.toList());
+
+            for (int i = 0; i < outputs.size(); i++) {
+                assertEquals(Collections.singletonList(Integer.toString(i)), outputs.get(i).join());
+            }
+        } finally {
+            threads.shutdown();
+        }
+    }
+}
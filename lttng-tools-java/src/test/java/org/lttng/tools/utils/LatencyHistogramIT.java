@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramIT {
+
+    /**
+     * Test that the buckets cover all values, in order, without gaps.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testBuckets() {
+        long[] values = { 0, 1, 31, 32, 33, 63, 64, 65, 1000, 123456789, Long.MAX_VALUE - 1, Long.MAX_VALUE };
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(value <= LatencyHistogram.bucketUpperBound(index), "value " + value);
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.bucketUpperBound(index - 1), "value " + value);
+            }
+        }
+    }
+
+    /**
+     * Test that the percentiles are within the expected precision.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertEquals(100000, histogram.getTotalCount());
+        assertEquals(100000000, histogram.getMax());
+        assertEquals(50000500.0, histogram.getMean(), 0.001);
+        assertWithin(50000000, histogram.getValueAtPercentile(50));
+        assertWithin(99000000, histogram.getValueAtPercentile(99));
+        assertWithin(99900000, histogram.getValueAtPercentile(99.9));
+        assertEquals(100000000, histogram.getValueAtPercentile(100));
+    }
+
+    /**
+     * Test concurrent recording from many threads.
+     *
+     * @throws InterruptedException
+     *             Fails the test
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Random random = new Random(t);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    histogram.record(random.nextInt(1000000));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400000, histogram.getTotalCount());
+    }
+
+    /**
+     * Test merging histograms, and getting the values recorded since a copy
+     * was made.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testAddAndSince() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(2000);
+        LatencyHistogram copy = histogram.copy();
+
+        histogram.record(500);
+        LatencyHistogram diff = histogram.since(copy);
+        assertEquals(1, diff.getTotalCount());
+        assertEquals(500, diff.getTotalValue());
+        assertWithin(500, diff.getMax());
+
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(copy);
+        merged.add(diff);
+        assertEquals(3, merged.getTotalCount());
+        assertEquals(2000, merged.getMax());
+    }
+
+    /**
+     * Test formatting the percentiles, which are all in nanoseconds.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testFormatPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals("p50 = 0 ns, max = 0 ns", histogram.formatPercentiles(50));
+
+        histogram.record(10);
+        histogram.record(20);
+        assertEquals("p50 = 10 ns, p99.9 = 20 ns, max = 20 ns", histogram.formatPercentiles(50, 99.9));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected * 0.04, "expected about " + expected + " but was " + actual);
+    }
+}
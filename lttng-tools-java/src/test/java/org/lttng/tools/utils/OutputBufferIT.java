@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.tools.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link OutputBuffer} and {@link CommandResult}.
+ */
+public class OutputBufferIT {
+
+    private static OutputBuffer fill(int maxBytes, String content) throws IOException {
+        OutputBuffer buffer = new OutputBuffer(maxBytes);
+        buffer.readFrom(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        return buffer;
+    }
+
+    /**
+     * Test splitting the output into lines, with the various line terminators.
+     *
+     * @throws IOException
+     *             Fails the test
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testLines() throws IOException {
+        CommandResult output = fill(1024, "a\nbé\r\nc\rd\n\ne").toCommandResult(0, 0, false);
+        assertEquals(Arrays.asList("a", "bé", "c", "d", "", "e"), output.getLines());
+        assertTrue(output.isSuccess());
+
+        assertEquals(Collections.singletonList("a"), fill(1024, "a\n").toCommandResult(0, 0, false).getLines());
+        assertEquals(Collections.emptyList(), fill(1024, "").toCommandResult(0, 0, false).getLines());
+    }
+
+    /**
+     * Test that the output is truncated once it reaches the size cap, while
+     * the rest of the input is still consumed.
+     *
+     * @throws IOException
+     *             Fails the test
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testSizeCap() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            sb.append("line ").append(i).append('\n');
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8));
+        OutputBuffer buffer = new OutputBuffer(14);
+        buffer.readFrom(in);
+
+        assertEquals(0, in.available());
+        assertEquals(14, buffer.size());
+        assertEquals(sb.length(), buffer.getTotalBytes());
+        assertTrue(buffer.isTruncated());
+
+        CommandResult output = buffer.toCommandResult(1, 0, false);
+        assertTrue(output.isTruncated());
+        assertEquals(1, output.getExitCode());
+        assertEquals(Arrays.asList("line 0", "line 1"), output.getLines());
+    }
+
+    /**
+     * Test reusing a buffer, and that the outputs taken from it are not
+     * affected.
+     *
+     * @throws IOException
+     *             Fails the test
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testReuse() throws IOException {
+        OutputBuffer buffer = fill(1024, "first");
+        CommandResult first = buffer.toCommandResult(0, 0, false);
+        buffer.reset();
+
+        byte[] bytes = "second".getBytes(StandardCharsets.UTF_8);
+        buffer.append(bytes, 0, bytes.length);
+        CommandResult second = buffer.toCommandResult(0, 0, false);
+
+        assertEquals("first", first.getText());
+        assertEquals("second", second.getText());
+        assertFalse(second.isTruncated());
+    }
+}
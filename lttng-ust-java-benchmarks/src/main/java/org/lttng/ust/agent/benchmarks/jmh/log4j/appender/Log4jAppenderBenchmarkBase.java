@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jmh.log4j.appender;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Appender;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.lttng.ust.agent.benchmarks.MessageMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Base abstract class for the JMH log4j 1.x benchmarks. Sub-classes can setup
+ * parameters to test different types of appenders.
+ *
+ * Every benchmark method logs one message, and only differs by its number of
+ * threads. The log4j 1.x API has no parameterized
+ * logging methods, so the {@link MessageMode#PARAMETERIZED} mode is not run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public abstract class Log4jAppenderBenchmarkBase {
+
+    private static final String CONSTANT_MESSAGE = "Constant benchmark message";
+
+    /** Number of pre-built messages per thread, must be a power of 2 */
+    private static final int NB_PREBUILT_MESSAGES = 1024;
+
+    // ------------------------------------------------------------------------
+    // Attributes
+    // ------------------------------------------------------------------------
+
+    @Param({ "CONCATENATED", "CONSTANT", "PREBUILT" })
+    private MessageMode messageMode;
+
+    private Logger logger;
+    private Appender appender;
+
+    /**
+     * Per-thread state of the benchmark, to build the messages
+     */
+    @State(Scope.Thread)
+    public static class Worker {
+
+        private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+        final int threadId = NEXT_ID.getAndIncrement();
+        final String[] prebuiltMessages = new String[NB_PREBUILT_MESSAGES];
+        int iteration = 0;
+
+        /**
+         * Build the messages of the {@link MessageMode#PREBUILT} mode
+         */
+        @Setup
+        public void setup() {
+            for (int i = 0; i < NB_PREBUILT_MESSAGES; i++) {
+                prebuiltMessages[i] = "Thread " + threadId + ", iteration " + i;
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Maintenance methods
+    // ------------------------------------------------------------------------
+
+    /**
+     * Benchmark setup
+     *
+     * @throws Exception
+     *             If the appender could not be created
+     */
+    @Setup
+    public void setup() throws Exception {
+        logger = createLogger();
+        appender = createAppender();
+        if (logger != null && appender != null) {
+            logger.addAppender(appender);
+        }
+    }
+
+    /**
+     * Benchmark teardown
+     *
+     * @throws Exception
+     *             If the appender could not be cleaned up
+     */
+    @TearDown
+    public void teardown() throws Exception {
+        if (appender != null) {
+            if (logger != null) {
+                logger.removeAppender(appender);
+            }
+            appender.close();
+        }
+        appender = null;
+        logger = null;
+        cleanup();
+    }
+
+    /**
+     * Create the logger used by the benchmark. The default one does not log to
+     * the appenders of its parents, and accepts all levels.
+     *
+     * @return The logger, or null to only build the messages
+     */
+    @SuppressWarnings("static-method")
+    protected Logger createLogger() {
+        Logger log = Logger.getLogger("Test logger");
+        log.setAdditivity(false);
+        log.setLevel(Level.ALL);
+        return log;
+    }
+
+    /**
+     * Create the appender to attach to the logger.
+     *
+     * @return The appender, or null to not use any
+     * @throws Exception
+     *             If the appender could not be created
+     */
+    protected abstract Appender createAppender() throws Exception;
+
+    /**
+     * Clean up what was set up by {@link #createAppender()}, after the appender
+     * was closed. Does nothing by default.
+     *
+     * @throws Exception
+     *             If the clean up failed
+     */
+    protected void cleanup() throws Exception {
+    }
+
+    // ------------------------------------------------------------------------
+    // Benchmark methods
+    // ------------------------------------------------------------------------
+
+    /**
+     * Log one message from 1 thread
+     *
+     * @param worker
+     *            The state of the current thread
+     * @param bh
+     *            Blackhole consuming the message
+     */
+    @Benchmark
+    @Threads(1)
+    public void log1Thread(Worker worker, Blackhole bh) {
+        log(worker, bh);
+    }
+
+    /**
+     * Log one message from each of 2 threads
+     *
+     * @param worker
+     *            The state of the current thread
+     * @param bh
+     *            Blackhole consuming the message
+     */
+    @Benchmark
+    @Threads(2)
+    public void log2Threads(Worker worker, Blackhole bh) {
+        log(worker, bh);
+    }
+
+    /**
+     * Log one message from each of 4 threads
+     *
+     * @param worker
+     *            The state of the current thread
+     * @param bh
+     *            Blackhole consuming the message
+     */
+    @Benchmark
+    @Threads(4)
+    public void log4Threads(Worker worker, Blackhole bh) {
+        log(worker, bh);
+    }
+
+    /**
+     * Log one message from each of 8 threads
+     *
+     * @param worker
+     *            The state of the current thread
+     * @param bh
+     *            Blackhole consuming the message
+     */
+    @Benchmark
+    @Threads(8)
+    public void log8Threads(Worker worker, Blackhole bh) {
+        log(worker, bh);
+    }
+
+    private void log(Worker worker, Blackhole bh) {
+        int i = worker.iteration++;
+        String message;
+        switch (messageMode) {
+        case CONSTANT:
+            message = CONSTANT_MESSAGE;
+            break;
+        case PREBUILT:
+            message = worker.prebuiltMessages[i & (NB_PREBUILT_MESSAGES - 1)];
+            break;
+        case CONCATENATED:
+        default:
+            message = "Thread " + worker.threadId + ", iteration " + i;
+            break;
+        }
+        if (logger != null) {
+            logger.info(message);
+        }
+        bh.consume(message);
+    }
+}
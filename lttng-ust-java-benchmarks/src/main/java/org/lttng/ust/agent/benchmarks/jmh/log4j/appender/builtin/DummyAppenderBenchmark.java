@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jmh.log4j.appender.builtin;
+
+import org.apache.log4j.Appender;
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.spi.LoggingEvent;
+import org.lttng.ust.agent.benchmarks.jmh.log4j.appender.Log4jAppenderBenchmarkBase;
+
+/**
+ * Benchmark with an appender that does nothing.
+ */
+public class DummyAppenderBenchmark extends Log4jAppenderBenchmarkBase {
+
+    @Override
+    protected Appender createAppender() {
+        return new DummyAppender();
+    }
+
+    private static class DummyAppender extends AppenderSkeleton {
+
+        public DummyAppender() {
+            super();
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public boolean requiresLayout() {
+            return false;
+        }
+
+        @Override
+        protected void append(LoggingEvent event) {}
+
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jmh.log4j.appender.builtin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.log4j.Appender;
+import org.apache.log4j.FileAppender;
+import org.apache.log4j.PatternLayout;
+import org.lttng.ust.agent.benchmarks.jmh.log4j.appender.Log4jAppenderBenchmarkBase;
+
+/**
+ * Benchmark using a {@link FileAppender}, with a {@link PatternLayout}.
+ */
+public class FileAppenderBenchmark extends Log4jAppenderBenchmarkBase {
+
+    private Path outputFile;
+
+    @Override
+    protected Appender createAppender() throws IOException {
+        outputFile = Files.createTempFile(this.getClass().getSimpleName(), null);
+
+        return new FileAppender(new PatternLayout(PatternLayout.TTCC_CONVERSION_PATTERN),
+                outputFile.toString(), false);
+    }
+
+    @Override
+    protected void cleanup() throws IOException {
+        Files.deleteIfExists(outputFile);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jmh.log4j.appender.lttng;
+
+import java.io.IOException;
+
+import org.apache.log4j.Appender;
+import org.lttng.tools.ILttngSession;
+import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.ust.agent.benchmarks.jmh.log4j.appender.Log4jAppenderBenchmarkBase;
+import org.lttng.ust.agent.log4j.LttngLogAppender;
+
+/**
+ * Benchmark the LTTng-log4j appender, but without tracing enabled for its events.
+ */
+public class LttngLog4jAppenderTracingDisabledBenchmark extends Log4jAppenderBenchmarkBase {
+
+    private ILttngSession session;
+
+    @Override
+    protected Appender createAppender() throws IOException {
+        Appender appender = new LttngLogAppender();
+
+        session = ILttngSession.createSession(null, Domain.LOG4J);
+        if (!session.enableEvents("non-event") || !session.start()) {
+            throw new IllegalStateException("Could not set up the tracing session");
+        }
+        return appender;
+    }
+
+    @Override
+    protected void cleanup() {
+        session.stop();
+        session.close();
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jmh.log4j2.appender;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.util.Unbox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base abstract class for the JMH log4j 2.x benchmarks. Sub-classes select the
+ * appender to which the events are sent.
+ *
+ * The logger is defined in one XML configuration file per {@link LoggerMode}.
+ * It only declares the appender selected by the "lttng.benchmark.appender"
+ * system property, so that for example the LTTng agent is not started by the
+ * baseline benchmarks. Each benchmark method is run in JVMs with log4j's
+ * garbage-free mode enabled or disabled, since it can only be set when log4j
+ * is initialized. Messages are parameterized and their arguments are boxed with
+ * {@link Unbox}, so that a garbage-free setup does not allocate anything when
+ * logging. Run with the GC profiler ("-prof gc") to get the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(4)
+public abstract class Log4j2AppenderBenchmarkBase {
+
+    /**
+     * How the loggers dispatch the events to the appenders
+     */
+    public enum LoggerMode {
+        /** Regular loggers, calling the appenders in the logging thread */
+        SYNC("log4j2.benchmark.sync.xml"),
+        /** Asynchronous loggers, backed by a LMAX disruptor ring buffer */
+        ASYNC_LOGGER("log4j2.benchmark.async-logger.xml"),
+        /** Regular loggers, calling the appenders through an AsyncAppender */
+        ASYNC_APPENDER("log4j2.benchmark.async-appender.xml");
+
+        final String configFile;
+
+        private LoggerMode(String configFile) {
+            this.configFile = configFile;
+        }
+    }
+
+    /** System property selecting the appender in the configuration files */
+    private static final String APPENDER_PROPERTY = "lttng.benchmark.appender";
+
+    /** Name of the logger, as defined in the configuration files */
+    private static final String LOGGER_NAME = "BenchmarkLogger";
+
+    /** Selects the appender dropping all the events */
+    protected static final String NULL_APPENDER = "Null";
+
+    /** Selects the LTTng appender */
+    protected static final String LTTNG_APPENDER = "Lttng";
+
+    // ------------------------------------------------------------------------
+    // Attributes
+    // ------------------------------------------------------------------------
+
+    @Param
+    private LoggerMode mode;
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+
+    /**
+     * Per-thread state of the benchmark, to build the messages
+     */
+    @State(Scope.Thread)
+    public static class Worker {
+
+        private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+        final int threadId = NEXT_ID.getAndIncrement();
+        int iteration = 0;
+    }
+
+    // ------------------------------------------------------------------------
+    // Maintenance methods
+    // ------------------------------------------------------------------------
+
+    /**
+     * Benchmark setup
+     *
+     * @throws Exception
+     *             If the tracing could not be set up
+     */
+    @Setup
+    public void setup() throws Exception {
+        URL config = getClass().getClassLoader().getResource(mode.configFile);
+        if (config == null) {
+            throw new IllegalStateException("Config file not found: " + mode.configFile);
+        }
+        setupTracing();
+        System.setProperty(APPENDER_PROPERTY, getAppenderName());
+        loggerContext = getLoggerContext(config);
+        logger = loggerContext.getLogger(LOGGER_NAME);
+    }
+
+    /**
+     * Benchmark teardown
+     *
+     * @throws Exception
+     *             If the tracing could not be cleaned up
+     */
+    @TearDown
+    public void teardown() throws Exception {
+        /* Also waits for the asynchronous loggers and appenders to drain */
+        loggerContext.stop();
+        loggerContext = null;
+        logger = null;
+        cleanup();
+    }
+
+    private static LoggerContext getLoggerContext(URL config) throws URISyntaxException {
+        return (LoggerContext) LogManager.getContext(ClassLoader.getSystemClassLoader(), false, config.toURI());
+    }
+
+    /**
+     * @return The appender to which the logger sends the events, one of the
+     *         values of {@link #APPENDER_PROPERTY} known to the configuration
+     *         files
+     */
+    protected abstract String getAppenderName();
+
+    /**
+     * Set up the tracing session, if any, before the logger context is
+     * created. Does nothing by default.
+     *
+     * @throws Exception
+     *             If the setup failed
+     */
+    protected void setupTracing() throws Exception {
+    }
+
+    /**
+     * Clean up what was set up by {@link #setupTracing()}, after the logger
+     * context was stopped. Does nothing by default.
+     *
+     * @throws Exception
+     *             If the clean up failed
+     */
+    protected void cleanup() throws Exception {
+    }
+
+    // ------------------------------------------------------------------------
+    // Benchmark methods
+    // ------------------------------------------------------------------------
+
+    /**
+     * Log one message, with log4j's garbage-free mode enabled
+     *
+     * @param worker
+     *            The state of the current thread
+     */
+    @Benchmark
+    @Fork(value = 3, jvmArgsAppend = {
+            "-Dlog4j2.enableThreadlocals=true",
+            "-Dlog4j2.enableDirectEncoders=true" })
+    public void logGarbageFree(Worker worker) {
+        log(worker);
+    }
+
+    /**
+     * Log one message, with log4j's garbage-free mode disabled
+     *
+     * @param worker
+     *            The state of the current thread
+     */
+    @Benchmark
+    @Fork(value = 3, jvmArgsAppend = {
+            "-Dlog4j2.enableThreadlocals=false",
+            "-Dlog4j2.enableDirectEncoders=false" })
+    public void logNotGarbageFree(Worker worker) {
+        log(worker);
+    }
+
+    private void log(Worker worker) {
+        logger.info("Thread {}, iteration {}", Unbox.box(worker.threadId), Unbox.box(worker.iteration++));
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jmh.log4j2.appender.builtin;
+
+import org.lttng.ust.agent.benchmarks.jmh.log4j2.appender.Log4j2AppenderBenchmarkBase;
+
+/**
+ * Benchmark sending the events to log4j's "Null" appender, which drops them.
+ * This is the baseline cost of the logger itself.
+ */
+public class NullAppenderBenchmark extends Log4j2AppenderBenchmarkBase {
+
+    @Override
+    protected String getAppenderName() {
+        return NULL_APPENDER;
+    }
+}
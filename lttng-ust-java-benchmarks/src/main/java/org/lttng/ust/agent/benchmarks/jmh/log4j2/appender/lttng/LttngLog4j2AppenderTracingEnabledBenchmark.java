@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jmh.log4j2.appender.lttng;
+
+import org.lttng.tools.ILttngSession;
+import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.ust.agent.benchmarks.jmh.log4j2.appender.Log4j2AppenderBenchmarkBase;
+
+/**
+ * Benchmark the LTTng-log4j2 appender, with it actually sending events to the
+ * tracer.
+ */
+public class LttngLog4j2AppenderTracingEnabledBenchmark extends Log4j2AppenderBenchmarkBase {
+
+    private ILttngSession session;
+
+    @Override
+    protected String getAppenderName() {
+        return LTTNG_APPENDER;
+    }
+
+    @Override
+    protected void setupTracing() {
+        session = ILttngSession.createSession(null, Domain.LOG4J2);
+        if (!session.enableAllEvents() || !session.start()) {
+            throw new IllegalStateException("Could not set up the tracing session");
+        }
+    }
+
+    @Override
+    protected void cleanup() {
+        session.stop();
+        session.close();
+    }
+}
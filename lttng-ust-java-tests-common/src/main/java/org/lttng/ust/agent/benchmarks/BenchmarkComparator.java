@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Comparison of benchmark results against a baseline, typically obtained with
+ * a previous version of the LTTng-UST agent.
+ *
+ * Results are matched by {@link BenchmarkResult#getComparisonKey()}, and their
+ * samples are compared with Welch's t-test, which does not assume both sets of
+ * samples have the same variance. A result is a regression if it is slower by
+ * more than a minimum relative change, and the difference is significant.
+ *
+ * It can also be run from the command line, with the baseline and current CSV
+ * files as arguments, in which case the exit code is 1 if there are
+ * regressions.
+ */
+public final class BenchmarkComparator {
+
+    /**
+     * System property giving the CSV file of the baseline results. When set,
+     * the benchmarks compare their results to it, and fail if they regressed.
+     */
+    public static final String BASELINE_PROPERTY = "lttng.benchmark.baseline";
+
+    /** System property giving the significance level, 0.01 by default */
+    public static final String ALPHA_PROPERTY = "lttng.benchmark.alpha";
+
+    /**
+     * System property giving the minimum relative change, in percent, for a
+     * difference to count as a regression or improvement, 5 by default
+     */
+    public static final String MIN_CHANGE_PROPERTY = "lttng.benchmark.minChange";
+
+    private static final double DEFAULT_ALPHA = 0.01;
+    private static final double DEFAULT_MIN_CHANGE = 5.0;
+
+    /**
+     * Comparison of one result with its baseline
+     */
+    public static final class Comparison {
+
+        /** Outcome of a comparison */
+        public enum Verdict {
+            /** Not significantly different */
+            SAME,
+            /** Significantly faster */
+            IMPROVEMENT,
+            /** Significantly slower */
+            REGRESSION
+        }
+
+        private final BenchmarkResult baseline;
+        private final BenchmarkResult current;
+        private final double pValue;
+        private final Verdict verdict;
+
+        Comparison(BenchmarkResult baseline, BenchmarkResult current, double alpha, double minChange) {
+            this.baseline = baseline;
+            this.current = current;
+            this.pValue = welchTTest(baseline.getSamples(), current.getSamples());
+
+            double change = getChange();
+            if (pValue >= alpha || Double.isNaN(pValue) || Math.abs(change) < minChange) {
+                verdict = Verdict.SAME;
+            } else {
+                verdict = (change > 0 ? Verdict.REGRESSION : Verdict.IMPROVEMENT);
+            }
+        }
+
+        /**
+         * @return The baseline result
+         */
+        public BenchmarkResult getBaseline() {
+            return baseline;
+        }
+
+        /**
+         * @return The current result
+         */
+        public BenchmarkResult getCurrent() {
+            return current;
+        }
+
+        /**
+         * @return The relative change of the mean from the baseline, in
+         *         percent. Positive values are slowdowns.
+         */
+        public double getChange() {
+            return (current.getMean() - baseline.getMean()) / baseline.getMean() * 100.0;
+        }
+
+        /**
+         * @return The two-sided p-value of Welch's t-test, or NaN if there
+         *         are not enough samples
+         */
+        public double getPValue() {
+            return pValue;
+        }
+
+        /**
+         * @return The outcome of the comparison
+         */
+        public Verdict getVerdict() {
+            return verdict;
+        }
+
+        /**
+         * @return A one-line description of this comparison
+         */
+        public String format() {
+            return String.format(Locale.ROOT, "%s, %d threads (%s, %s): %.1f -> %.1f ns (%+.1f%%, p = %.4f, %s -> %s) %s",
+                    current.getBenchmark(), Integer.valueOf(current.getThreads()), current.getMessageMode(), current.getTimingMode(),
+                    Double.valueOf(baseline.getMean()), Double.valueOf(current.getMean()), Double.valueOf(getChange()), Double.valueOf(pValue),
+                    baseline.getAgentVersion(), current.getAgentVersion(), verdict);
+        }
+    }
+
+    private BenchmarkComparator() {
+    }
+
+    /**
+     * Compare results with a baseline, using the significance level and
+     * minimum change given by the system properties.
+     *
+     * @param baseline
+     *            The baseline results
+     * @param current
+     *            The results to compare
+     * @return The comparisons, for the current results which have a baseline
+     */
+    public static List<Comparison> compare(List<BenchmarkResult> baseline, List<BenchmarkResult> current) {
+        double alpha = Double.parseDouble(System.getProperty(ALPHA_PROPERTY, Double.toString(DEFAULT_ALPHA)));
+        double minChange = Double.parseDouble(System.getProperty(MIN_CHANGE_PROPERTY, Double.toString(DEFAULT_MIN_CHANGE)));
+        return compare(baseline, current, alpha, minChange);
+    }
+
+    /**
+     * Compare results with a baseline. If there are many results for the same
+     * key, the last one is used.
+     *
+     * @param baseline
+     *            The baseline results
+     * @param current
+     *            The results to compare
+     * @param alpha
+     *            The significance level of the t-test
+     * @param minChange
+     *            The minimum relative change, in percent, for a regression or
+     *            improvement
+     * @return The comparisons, for the current results which have a baseline
+     */
+    public static List<Comparison> compare(List<BenchmarkResult> baseline, List<BenchmarkResult> current,
+            double alpha, double minChange) {
+        Map<String, BenchmarkResult> baselineByKey = lastByKey(baseline);
+        List<Comparison> comparisons = new ArrayList<>();
+        for (BenchmarkResult result : lastByKey(current).values()) {
+            BenchmarkResult base = baselineByKey.get(result.getComparisonKey());
+            if (base != null) {
+                comparisons.add(new Comparison(base, result, alpha, minChange));
+            }
+        }
+        return comparisons;
+    }
+
+    private static Map<String, BenchmarkResult> lastByKey(List<BenchmarkResult> results) {
+        Map<String, BenchmarkResult> map = new LinkedHashMap<>();
+        for (BenchmarkResult result : results) {
+            map.remove(result.getComparisonKey());
+            map.put(result.getComparisonKey(), result);
+        }
+        return map;
+    }
+
+    /**
+     * Compare two CSV files of results, and print the comparisons.
+     *
+     * @param args
+     *            The baseline CSV file and the current CSV file
+     * @throws IOException
+     *             If the files could not be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparator <baseline.csv> <current.csv>");
+            System.exit(2);
+        }
+        List<Comparison> comparisons = compare(
+                BenchmarkResults.read(Paths.get(args[0])),
+                BenchmarkResults.read(Paths.get(args[1])));
+        comparisons.forEach(comparison -> System.out.println(comparison.format()));
+        boolean regressed = comparisons.stream()
+                .anyMatch(comparison -> comparison.getVerdict() == Comparison.Verdict.REGRESSION);
+        System.exit(regressed ? 1 : 0);
+    }
+
+    // ------------------------------------------------------------------------
+    // Statistics
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return The sample variance of the values, or NaN if there are less than
+     *         2 values
+     */
+    static double variance(double[] values) {
+        int n = values.length;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double mean = 0;
+        for (double value : values) {
+            mean += value;
+        }
+        mean /= n;
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (n - 1);
+    }
+
+    /**
+     * Welch's unequal variances t-test.
+     *
+     * @return The two-sided p-value for the two sets of samples having the
+     *         same mean, or NaN if one of them has less than 2 samples
+     */
+    static double welchTTest(double[] a, double[] b) {
+        if (a.length < 2 || b.length < 2) {
+            return Double.NaN;
+        }
+        double meanA = mean(a);
+        double meanB = mean(b);
+        double varA = variance(a) / a.length;
+        double varB = variance(b) / b.length;
+        double se2 = varA + varB;
+        if (se2 == 0) {
+            return (meanA == meanB ? 1.0 : 0.0);
+        }
+        double t = (meanB - meanA) / Math.sqrt(se2);
+        double df = se2 * se2 / (varA * varA / (a.length - 1) + varB * varB / (b.length - 1));
+        return studentTTwoSided(t, df);
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    /**
+     * @return P(|T| >= |t|) for a Student's t distribution with df degrees of
+     *         freedom
+     */
+    static double studentTTwoSided(double t, double df) {
+        return regularizedIncompleteBeta(df / (df + t * t), df / 2.0, 0.5);
+    }
+
+    /**
+     * Regularized incomplete beta function I_x(a, b), evaluated with its
+     * continued fraction (Lentz's method).
+     */
+    static double regularizedIncompleteBeta(double x, double a, double b) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b)
+                + a * Math.log(x) + b * Math.log(1 - x));
+        /* The continued fraction converges quickly for x < (a + 1) / (a + b + 2) */
+        if (x < (a + 1) / (a + b + 2)) {
+            return front * betaContinuedFraction(x, a, b) / a;
+        }
+        return 1 - front * betaContinuedFraction(1 - x, b, a) / b;
+    }
+
+    private static double betaContinuedFraction(double x, double a, double b) {
+        final double tiny = 1e-300;
+        final double epsilon = 1e-14;
+
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < tiny ? tiny : d);
+        double h = d;
+        for (int m = 1; m <= 300; m++) {
+            int m2 = 2 * m;
+            /* Even step */
+            double aa = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1 + aa * d;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1 + aa / c;
+            c = (Math.abs(c) < tiny ? tiny : c);
+            h *= d * c;
+            /* Odd step */
+            aa = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1 + aa * d;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1 + aa / c;
+            c = (Math.abs(c) < tiny ? tiny : c);
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < epsilon) {
+                break;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Natural logarithm of the gamma function, with the Lanczos approximation.
+     */
+    private static double logGamma(double x) {
+        final double[] coefficients = {
+                76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5 };
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+}
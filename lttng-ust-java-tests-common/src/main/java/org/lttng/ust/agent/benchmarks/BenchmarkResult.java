@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a logging benchmark for one thread count, as saved by
+ * {@link BenchmarkResults}.
+ *
+ * The samples are the value measured in each run: the average time per loop in
+ * {@link TimingMode#THROUGHPUT} mode, or the 99th percentile of the time of
+ * each loop in the latency modes, in nanoseconds. They are what
+ * {@link BenchmarkComparator} compares.
+ */
+public final class BenchmarkResult {
+
+    /** Header line of the CSV format */
+    public static final String CSV_HEADER = "benchmark,agentVersion,threads,messageMode,timingMode,"
+            + "mean,stdDev,bytesPerLoop,gcCount,gcTimeMs,p50,p99,p999,max,samples";
+
+    private static final int CSV_FIELDS = 15;
+
+    private final String benchmark;
+    private final String agentVersion;
+    private final int threads;
+    private final MessageMode messageMode;
+    private final TimingMode timingMode;
+    private final double[] samples;
+    private final long bytesPerLoop;
+    private final long gcCount;
+    private final long gcTimeMs;
+    private final long[] percentiles;
+
+    /**
+     * Constructor
+     *
+     * @param benchmark
+     *            The name of the benchmark, typically its class name
+     * @param agentVersion
+     *            The version of the LTTng-UST agent that was benchmarked
+     * @param threads
+     *            The number of worker threads
+     * @param messageMode
+     *            How the messages were built
+     * @param timingMode
+     *            What was measured
+     * @param samples
+     *            The value measured in each run, in nanoseconds
+     * @param bytesPerLoop
+     *            The bytes allocated per loop, or -1 if unknown
+     * @param gcCount
+     *            The number of garbage collections during the runs
+     * @param gcTimeMs
+     *            The time spent in garbage collections during the runs
+     * @param percentiles
+     *            The p50, p99, p99.9 and max time of each loop over all the
+     *            runs, or all zeroes in {@link TimingMode#THROUGHPUT} mode
+     */
+    public BenchmarkResult(String benchmark, String agentVersion, int threads,
+            MessageMode messageMode, TimingMode timingMode, double[] samples,
+            long bytesPerLoop, long gcCount, long gcTimeMs, long[] percentiles) {
+        if (percentiles.length != 4) {
+            throw new IllegalArgumentException("Expected p50, p99, p99.9 and max");
+        }
+        this.benchmark = benchmark;
+        this.agentVersion = agentVersion;
+        this.threads = threads;
+        this.messageMode = messageMode;
+        this.timingMode = timingMode;
+        this.samples = samples.clone();
+        this.bytesPerLoop = bytesPerLoop;
+        this.gcCount = gcCount;
+        this.gcTimeMs = gcTimeMs;
+        this.percentiles = percentiles.clone();
+    }
+
+    /**
+     * @return The name of the benchmark
+     */
+    public String getBenchmark() {
+        return benchmark;
+    }
+
+    /**
+     * @return The version of the LTTng-UST agent that was benchmarked
+     */
+    public String getAgentVersion() {
+        return agentVersion;
+    }
+
+    /**
+     * @return The number of worker threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return How the messages were built
+     */
+    public MessageMode getMessageMode() {
+        return messageMode;
+    }
+
+    /**
+     * @return What was measured
+     */
+    public TimingMode getTimingMode() {
+        return timingMode;
+    }
+
+    /**
+     * @return The value measured in each run, in nanoseconds
+     */
+    public double[] getSamples() {
+        return samples.clone();
+    }
+
+    /**
+     * @return The mean of the samples
+     */
+    public double getMean() {
+        return Arrays.stream(samples).average().orElse(Double.NaN);
+    }
+
+    /**
+     * @return The sample standard deviation of the samples
+     */
+    public double getStdDev() {
+        return Math.sqrt(BenchmarkComparator.variance(samples));
+    }
+
+    /**
+     * @return The bytes allocated per loop, or -1 if unknown
+     */
+    public long getBytesPerLoop() {
+        return bytesPerLoop;
+    }
+
+    /**
+     * @return The number of garbage collections during the runs
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * @return The time spent in garbage collections during the runs, in
+     *         milliseconds
+     */
+    public long getGcTimeMs() {
+        return gcTimeMs;
+    }
+
+    /**
+     * @return The p50, p99, p99.9 and max time of each loop, in nanoseconds,
+     *         or all zeroes if they were not measured
+     */
+    public long[] getPercentiles() {
+        return percentiles.clone();
+    }
+
+    /**
+     * Get the key identifying what was measured, so that results of different
+     * agent versions can be compared. It is made of the benchmark name, thread
+     * count and modes.
+     *
+     * @return The comparison key
+     */
+    public String getComparisonKey() {
+        return benchmark + ',' + threads + ',' + messageMode + ',' + timingMode;
+    }
+
+    // ------------------------------------------------------------------------
+    // Serialization
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return This result as a line of CSV, matching {@link #CSV_HEADER}
+     */
+    public String toCsvLine() {
+        return String.join(",",
+                benchmark,
+                agentVersion,
+                Integer.toString(threads),
+                messageMode.name(),
+                timingMode.name(),
+                format(getMean()),
+                format(getStdDev()),
+                Long.toString(bytesPerLoop),
+                Long.toString(gcCount),
+                Long.toString(gcTimeMs),
+                Long.toString(percentiles[0]),
+                Long.toString(percentiles[1]),
+                Long.toString(percentiles[2]),
+                Long.toString(percentiles[3]),
+                Arrays.stream(samples).mapToObj(BenchmarkResult::format).collect(Collectors.joining(";")));
+    }
+
+    /**
+     * Parse a line written by {@link #toCsvLine()}.
+     *
+     * @param line
+     *            The CSV line
+     * @return The corresponding result
+     * @throws IllegalArgumentException
+     *             If the line is not a valid result
+     */
+    public static BenchmarkResult fromCsvLine(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != CSV_FIELDS) {
+            throw new IllegalArgumentException("Invalid benchmark result: " + line);
+        }
+        try {
+            double[] samples = (fields[14].isEmpty() ? new double[0]
+                    : Arrays.stream(fields[14].split(";")).mapToDouble(Double::parseDouble).toArray());
+            long[] percentiles = {
+                    Long.parseLong(fields[10]),
+                    Long.parseLong(fields[11]),
+                    Long.parseLong(fields[12]),
+                    Long.parseLong(fields[13]) };
+            return new BenchmarkResult(fields[0], fields[1], Integer.parseInt(fields[2]),
+                    MessageMode.valueOf(fields[3]), TimingMode.valueOf(fields[4]), samples,
+                    Long.parseLong(fields[7]), Long.parseLong(fields[8]), Long.parseLong(fields[9]),
+                    percentiles);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid benchmark result: " + line, e);
+        }
+    }
+
+    /**
+     * @return This result as a JSON object
+     */
+    public String toJson() {
+        return "{\"benchmark\": \"" + benchmark
+                + "\", \"agentVersion\": \"" + agentVersion
+                + "\", \"threads\": " + threads
+                + ", \"messageMode\": \"" + messageMode
+                + "\", \"timingMode\": \"" + timingMode
+                + "\", \"mean\": " + format(getMean())
+                + ", \"stdDev\": " + format(getStdDev())
+                + ", \"bytesPerLoop\": " + bytesPerLoop
+                + ", \"gcCount\": " + gcCount
+                + ", \"gcTimeMs\": " + gcTimeMs
+                + ", \"p50\": " + percentiles[0]
+                + ", \"p99\": " + percentiles[1]
+                + ", \"p999\": " + percentiles[2]
+                + ", \"max\": " + percentiles[3]
+                + ", \"samples\": ["
+                + Arrays.stream(samples).mapToObj(BenchmarkResult::format).collect(Collectors.joining(", "))
+                + "]}";
+    }
+
+    private static String format(double value) {
+        return (Double.isNaN(value) ? "0" : String.format(Locale.ROOT, "%.3f", Double.valueOf(value)));
+    }
+}
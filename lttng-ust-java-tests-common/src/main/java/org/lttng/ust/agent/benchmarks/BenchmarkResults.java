@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.lttng.ust.agent.ILttngAgent;
+
+/**
+ * Storage of the results of the logging benchmarks.
+ *
+ * Every benchmark appends one line per thread count to the
+ * {@value #CSV_FILE_NAME} file of the results directory, and writes all its
+ * results to "&lt;benchmark&gt;.json" in the same directory. The results are
+ * identified by the benchmark name, thread count and version of the
+ * LTTng-UST agent. The CSV file can be kept as a baseline for
+ * {@link BenchmarkComparator}.
+ */
+public final class BenchmarkResults {
+
+    /**
+     * System property giving the directory in which to write the results,
+     * "target/benchmark-results" by default
+     */
+    public static final String RESULTS_DIR_PROPERTY = "lttng.benchmark.resultsDir";
+
+    /** Name of the CSV file containing all the results */
+    public static final String CSV_FILE_NAME = "results.csv";
+
+    private static final String DEFAULT_RESULTS_DIR = "target/benchmark-results";
+
+    private static final Pattern JAR_VERSION_PATTERN = Pattern.compile("-(\\d[\\w.-]*)\\.jar$");
+
+    private BenchmarkResults() {
+    }
+
+    /**
+     * @return The directory in which to write the results
+     */
+    public static Path getResultsDirectory() {
+        return Paths.get(System.getProperty(RESULTS_DIR_PROPERTY, DEFAULT_RESULTS_DIR));
+    }
+
+    /**
+     * Get the version of the LTTng-UST agent in use, from the manifest of its
+     * jar, or else from the name of the jar file.
+     *
+     * @return The agent version, or "unknown" if it could not be found
+     */
+    public static String getAgentVersion() {
+        Package agentPackage = ILttngAgent.class.getPackage();
+        if (agentPackage != null && agentPackage.getImplementationVersion() != null) {
+            return agentPackage.getImplementationVersion();
+        }
+
+        CodeSource source = ILttngAgent.class.getProtectionDomain().getCodeSource();
+        if (source != null && source.getLocation() != null) {
+            try {
+                String jarName = Paths.get(source.getLocation().toURI()).getFileName().toString();
+                Matcher matcher = JAR_VERSION_PATTERN.matcher(jarName);
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                /* Fall through */
+            }
+        }
+        return "unknown";
+    }
+
+    /**
+     * Save the results of one benchmark.
+     *
+     * @param benchmark
+     *            The name of the benchmark
+     * @param results
+     *            Its results
+     * @return The CSV file to which the results were appended
+     * @throws IOException
+     *             If the results could not be written
+     */
+    public static Path write(String benchmark, List<BenchmarkResult> results) throws IOException {
+        Path dir = Files.createDirectories(getResultsDirectory());
+
+        Path csvFile = dir.resolve(CSV_FILE_NAME);
+        List<String> lines = new ArrayList<>();
+        if (!Files.exists(csvFile)) {
+            lines.add(BenchmarkResult.CSV_HEADER);
+        }
+        results.forEach(result -> lines.add(result.toCsvLine()));
+        Files.write(csvFile, lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        String json = results.stream()
+                .map(result -> "  " + result.toJson())
+                .collect(Collectors.joining(",\n", "[\n", "\n]\n"));
+        Files.write(dir.resolve(benchmark + ".json"), json.getBytes(StandardCharsets.UTF_8));
+
+        return csvFile;
+    }
+
+    /**
+     * Read results written by {@link #write}.
+     *
+     * @param csvFile
+     *            The CSV file to read
+     * @return The results it contains, in order
+     * @throws IOException
+     *             If the file could not be read
+     * @throws IllegalArgumentException
+     *             If the file contains invalid results
+     */
+    public static List<BenchmarkResult> read(Path csvFile) throws IOException {
+        return Files.readAllLines(csvFile, StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isEmpty() && !line.equals(BenchmarkResult.CSV_HEADER))
+                .map(BenchmarkResult::fromCsvLine)
+                .collect(Collectors.toList());
+    }
+}
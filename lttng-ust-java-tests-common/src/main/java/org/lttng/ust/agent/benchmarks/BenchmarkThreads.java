@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creation and configuration of the worker threads of the logging benchmarks.
+ */
+final class BenchmarkThreads {
+
+    /** Value of the thread count property sweeping up to the number of cores */
+    static final String CORES = "cores";
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_UNSTARTED;
+
+    static {
+        /* Virtual threads exist since Java 21, look them up by reflection */
+        Method ofVirtual = null;
+        Method name = null;
+        Method unstarted = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builderClass.getMethod("name", String.class);
+            unstarted = builderClass.getMethod("unstarted", Runnable.class);
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_UNSTARTED = unstarted;
+    }
+
+    private BenchmarkThreads() {
+    }
+
+    /**
+     * Parse the thread counts to run the benchmark with.
+     *
+     * @param value
+     *            A comma-separated list of thread counts, or {@link #CORES}
+     *            for 1, 1, 2, 4, 8... up to the number of available cores
+     * @return The thread counts
+     */
+    static int[] parseThreadCounts(String value) {
+        if (CORES.equalsIgnoreCase(value.trim())) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            List<Integer> counts = new ArrayList<>(Arrays.asList(Integer.valueOf(1), Integer.valueOf(1)));
+            for (int i = 2; i < cores; i *= 2) {
+                counts.add(Integer.valueOf(i));
+            }
+            if (cores > 1) {
+                counts.add(Integer.valueOf(cores));
+            }
+            return counts.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        int[] counts = Arrays.stream(value.split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        if (counts.length == 0 || Arrays.stream(counts).anyMatch(count -> count <= 0)) {
+            throw new IllegalArgumentException("Invalid thread counts: " + value);
+        }
+        return counts;
+    }
+
+    /**
+     * Parse a list of CPUs, in the format used by "taskset -c", for example
+     * "0-3,8,10-11".
+     *
+     * @param value
+     *            The list of CPUs
+     * @return The CPU numbers, in order
+     */
+    static int[] parseCpuList(String value) {
+        List<Integer> cpus = new ArrayList<>();
+        for (String range : value.split(",")) {
+            String[] bounds = range.trim().split("-");
+            int first = Integer.parseInt(bounds[0].trim());
+            int last = (bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : first);
+            if (bounds.length > 2 || first < 0 || last < first) {
+                throw new IllegalArgumentException("Invalid CPU list: " + value);
+            }
+            for (int cpu = first; cpu <= last; cpu++) {
+                cpus.add(Integer.valueOf(cpu));
+            }
+        }
+        return cpus.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return If this JVM supports virtual threads
+     */
+    static boolean isVirtualThreadSupported() {
+        return (OF_VIRTUAL != null);
+    }
+
+    /**
+     * Create a new thread, which is not started.
+     *
+     * @param runnable
+     *            What the thread runs
+     * @param name
+     *            The name of the thread
+     * @param virtual
+     *            True to create a virtual thread, which requires
+     *            {@link #isVirtualThreadSupported()}, false for a platform
+     *            thread
+     * @return The new thread
+     */
+    static Thread newThread(Runnable runnable, String name, boolean virtual) {
+        if (!virtual) {
+            return new Thread(runnable, name);
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, name);
+            return (Thread) BUILDER_UNSTARTED.invoke(builder, runnable);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create a virtual thread", e);
+        }
+    }
+
+    /**
+     * Pin the calling thread to one CPU, using "taskset". Only works on Linux,
+     * for platform threads.
+     *
+     * @param cpu
+     *            The CPU on which the thread should run
+     * @return If the thread could be pinned
+     */
+    static boolean pinCurrentThread(int cpu) {
+        try {
+            /*
+             * "/proc/thread-self" links to "<pid>/task/<tid>". Read the link
+             * itself, since the canonical paths of File may be cached.
+             */
+            String tid = Files.readSymbolicLink(Paths.get("/proc/thread-self")).getFileName().toString();
+
+            /* Not a command of the test, so do not print nor record it */
+            ProcessBuilder builder = new ProcessBuilder("taskset", "-p", "-c", Integer.toString(cpu), tid);
+            builder.redirectErrorStream(true);
+            builder.redirectOutput(Redirect.to(new File("/dev/null")));
+            return (builder.start().waitFor() == 0);
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
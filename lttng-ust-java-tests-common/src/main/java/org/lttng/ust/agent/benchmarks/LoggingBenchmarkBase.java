@@ -0,0 +1,654 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lttng.tools.utils.LatencyHistogram;
+import org.lttng.ust.agent.benchmarks.BenchmarkComparator.Comparison;
+import org.lttng.ust.agent.utils.TestPrintExtension;
+
+/**
+ * Base abstract class for the logging benchmarks of all domains. It runs the
+ * logging action provided by the sub-class in an increasing number of threads,
+ * and prints the average time per loop for each number of threads.
+ *
+ * It also prints the number of bytes allocated per loop by the worker
+ * threads, when the JVM supports measuring it, and the number and total time
+ * of the garbage collections that happened during the runs. The way the
+ * messages are built is selected with the {@link #MESSAGE_MODE_PROPERTY}
+ * system property, see {@link MessageMode}.
+ *
+ * The {@link #TIMING_MODE_PROPERTY} system property selects whether to print
+ * the average time per loop, or percentiles of the time of each loop, see
+ * {@link TimingMode}. In the latter case, every thread records the times in its
+ * own histogram, and the histograms of all the threads and runs are merged.
+ *
+ * The thread counts can be changed with the {@link #THREADS_PROPERTY} system
+ * property. The workers can also run in virtual threads, or be pinned to CPUs
+ * with "taskset", see {@link #VIRTUAL_THREADS_PROPERTY} and
+ * {@link #PIN_CPUS_PROPERTY}. Running with "-Djdk.tracePinnedThreads=full"
+ * shows the virtual threads which block their carrier thread.
+ *
+ * The results are saved with {@link BenchmarkResults}. If the
+ * {@link BenchmarkComparator#BASELINE_PROPERTY} system property gives the
+ * results of a previous run, the new results are compared to them, and the
+ * benchmark fails if it regressed.
+ */
+@ExtendWith(TestPrintExtension.class)
+@Tag("benchmark")
+public abstract class LoggingBenchmarkBase {
+
+    // ------------------------------------------------------------------------
+    // Configurable test parameters
+    // ------------------------------------------------------------------------
+
+    /** Nb of runs per test, result will be averaged */
+    private static final int NB_RUNS = 10;
+
+    /** Trace/log events per run */
+    private static final int NB_ITER = 100000;
+
+    /** Which tests to run (for different number of threads) */
+    private static final int[] DEFAULT_NB_THREADS = {1, 1, 2, 3, 4, 5, 6, 7, 8};
+
+    /**
+     * System property giving the thread counts to run with, as a
+     * comma-separated list, or "cores" for 1, 1, 2, 4, 8... up to the number
+     * of available cores
+     */
+    public static final String THREADS_PROPERTY = "lttng.benchmark.threads";
+
+    /** System property to run the workers in virtual threads (Java 21+) */
+    public static final String VIRTUAL_THREADS_PROPERTY = "lttng.benchmark.virtualThreads";
+
+    /**
+     * System property giving a list of CPUs to pin the workers to, in the
+     * format of "taskset -c", for example "0-7". The workers are assigned to
+     * the CPUs in turn.
+     */
+    public static final String PIN_CPUS_PROPERTY = "lttng.benchmark.pinCpus";
+
+    /** System property selecting the {@link MessageMode} */
+    public static final String MESSAGE_MODE_PROPERTY = "lttng.benchmark.messageMode";
+
+    /** System property selecting the {@link TimingMode} */
+    public static final String TIMING_MODE_PROPERTY = "lttng.benchmark.timingMode";
+
+    /**
+     * System property giving the rate, in loops per second per thread, of the
+     * {@link TimingMode#FIXED_RATE} mode
+     */
+    public static final String RATE_PROPERTY = "lttng.benchmark.rate";
+
+    /** Default loops per second per thread in fixed-rate mode */
+    private static final long DEFAULT_RATE = 100000;
+
+    /** Percentiles printed in the latency modes */
+    private static final double[] PERCENTILES = { 50.0, 99.0, 99.9 };
+
+    /** Message logged in {@link MessageMode#CONSTANT} mode */
+    protected static final String CONSTANT_MESSAGE = "Constant benchmark message";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    // ------------------------------------------------------------------------
+    // Abstract methods
+    // ------------------------------------------------------------------------
+
+    /**
+     * Called right before the benchmark is run, after the test setup. This is
+     * where sub-classes should attach their handler or appender to the logger.
+     *
+     * @return The action of the worker threads: given a thread ID, it returns
+     *         the action to run at each iteration, which receives the
+     *         iteration number
+     */
+    protected abstract IntFunction<IntConsumer> prepareBenchmark();
+
+    // ------------------------------------------------------------------------
+    // Messages
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return The message mode selected by the {@link #MESSAGE_MODE_PROPERTY}
+     *         system property, {@link MessageMode#CONCATENATED} by default
+     */
+    protected static MessageMode getMessageMode() {
+        String mode = System.getProperty(MESSAGE_MODE_PROPERTY);
+        if (mode == null || mode.isEmpty()) {
+            return MessageMode.CONCATENATED;
+        }
+        return MessageMode.valueOf(mode.toUpperCase());
+    }
+
+    /**
+     * Get the messages a worker thread should log, for the modes which log
+     * plain strings. Pre-built messages are built by this method, so it should
+     * be called before the timed part of the benchmark, in the function
+     * returned by {@link #prepareBenchmark()}.
+     *
+     * @param mode
+     *            The message mode, other than {@link MessageMode#PARAMETERIZED}
+     * @param threadId
+     *            The ID of the worker thread
+     * @return The function giving the message to log at each iteration
+     */
+    protected static IntFunction<String> getMessages(MessageMode mode, int threadId) {
+        switch (mode) {
+        case CONCATENATED:
+            return i -> "Thread " + threadId + ", iteration " + i;
+        case CONSTANT:
+            return i -> CONSTANT_MESSAGE;
+        case PREBUILT:
+            String[] messages = new String[NB_ITER];
+            for (int i = 0; i < NB_ITER; i++) {
+                messages[i] = "Thread " + threadId + ", iteration " + i;
+            }
+            return i -> messages[i];
+        case PARAMETERIZED:
+        default:
+            throw new IllegalArgumentException("Not a plain string message mode: " + mode);
+        }
+    }
+
+    /**
+     * Get the parameters a worker thread should pass to the logging calls, in
+     * the {@link MessageMode#PARAMETERIZED} mode. They are boxed by this
+     * method, so it should be called before the timed part of the benchmark,
+     * like {@link #getMessages(MessageMode, int)}.
+     *
+     * @param threadId
+     *            The ID of the worker thread
+     * @return The function giving the thread ID and iteration number to log
+     *         at each iteration
+     */
+    protected static IntFunction<Object[]> getParameters(int threadId) {
+        Integer boxedThreadId = Integer.valueOf(threadId);
+        Object[][] parameters = new Object[NB_ITER][];
+        for (int i = 0; i < NB_ITER; i++) {
+            parameters[i] = new Object[] { boxedThreadId, Integer.valueOf(i) };
+        }
+        return i -> parameters[i];
+    }
+
+    // ------------------------------------------------------------------------
+    // Timing
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return The timing mode selected by the {@link #TIMING_MODE_PROPERTY}
+     *         system property, {@link TimingMode#THROUGHPUT} by default
+     */
+    protected static TimingMode getTimingMode() {
+        String mode = System.getProperty(TIMING_MODE_PROPERTY);
+        if (mode == null || mode.isEmpty()) {
+            return TimingMode.THROUGHPUT;
+        }
+        return TimingMode.valueOf(mode.toUpperCase().replace('-', '_'));
+    }
+
+    /**
+     * @return The interval between the start of two loops of a thread in
+     *         {@link TimingMode#FIXED_RATE} mode, in nanoseconds
+     */
+    private static long getIntervalNanos() {
+        long rate = Long.getLong(RATE_PROPERTY, DEFAULT_RATE).longValue();
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Invalid rate: " + rate);
+        }
+        return Math.max(1, 1000000000L / rate);
+    }
+
+    // ------------------------------------------------------------------------
+    // Threads
+    // ------------------------------------------------------------------------
+
+    /**
+     * Get the thread counts to run with when the {@link #THREADS_PROPERTY}
+     * system property is not set. Sub-classes which run many variants of the
+     * benchmark can override it to run fewer thread counts.
+     *
+     * @return The default thread counts. The first run is a warm-up, its
+     *         result is replaced by the next one with the same thread count.
+     */
+    @SuppressWarnings("static-method")
+    protected int[] getDefaultThreadCounts() {
+        return DEFAULT_NB_THREADS;
+    }
+
+    /**
+     * @return The thread counts selected by the {@link #THREADS_PROPERTY}
+     *         system property
+     */
+    private int[] getThreadCounts() {
+        String value = System.getProperty(THREADS_PROPERTY);
+        if (value == null || value.isEmpty()) {
+            return getDefaultThreadCounts();
+        }
+        return BenchmarkThreads.parseThreadCounts(value);
+    }
+
+    /**
+     * @return The CPUs selected by the {@link #PIN_CPUS_PROPERTY} system
+     *         property, or an empty array to not pin the workers
+     */
+    private static int[] getPinCpus() {
+        String value = System.getProperty(PIN_CPUS_PROPERTY);
+        if (value == null || value.isEmpty()) {
+            return new int[0];
+        }
+        return BenchmarkThreads.parseCpuList(value);
+    }
+
+    /**
+     * Settings of the worker threads, common to all the runs of a benchmark
+     */
+    private static final class RunSettings {
+
+        final TimingMode timingMode;
+        final long intervalNanos;
+        final boolean virtualThreads;
+        final int[] pinCpus;
+
+        RunSettings(TimingMode timingMode, long intervalNanos, boolean virtualThreads, int[] pinCpus) {
+            this.timingMode = timingMode;
+            this.intervalNanos = intervalNanos;
+            this.virtualThreads = virtualThreads;
+            this.pinCpus = pinCpus;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Test methods
+    // ------------------------------------------------------------------------
+
+    /**
+     * Run the benchmark under the given name, from a test method of the
+     * sub-class. Sub-classes which run it with different parameters, for
+     * example from a parameterized test, should give a different name to each
+     * variant, so that their results are saved and compared separately.
+     *
+     * @param benchmark
+     *            The name of the benchmark, which should not contain commas
+     */
+    protected void runBenchmark(String benchmark) {
+        boolean virtualThreads = Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY);
+        int[] pinCpus = getPinCpus();
+        Assumptions.assumeTrue(!virtualThreads || BenchmarkThreads.isVirtualThreadSupported(),
+                "Virtual threads are not supported by this JVM");
+        if (virtualThreads && pinCpus.length > 0) {
+            throw new IllegalArgumentException("Virtual threads cannot be pinned to CPUs");
+        }
+
+        IntFunction<IntConsumer> action = prepareBenchmark();
+        TimingMode timingMode = getTimingMode();
+        long intervalNanos = (timingMode == TimingMode.FIXED_RATE ? getIntervalNanos() : 0);
+        RunSettings settings = new RunSettings(timingMode, intervalNanos, virtualThreads, pinCpus);
+
+        System.out.println();
+        System.out.print("Running benchmark: " + benchmark
+                + " (" + getMessageMode() + " messages, " + timingMode);
+        if (timingMode == TimingMode.FIXED_RATE) {
+            System.out.print(", one loop every " + intervalNanos + " ns");
+        }
+        if (virtualThreads) {
+            System.out.print(", virtual threads");
+        }
+        if (pinCpus.length > 0) {
+            System.out.print(", pinned to CPUs " + Arrays.toString(pinCpus));
+        }
+        System.out.println(")");
+
+        /* Only keep the last result of each thread count, the first one is a warm-up */
+        Map<Integer, BenchmarkResult> results = new LinkedHashMap<>();
+        for (int i : getThreadCounts()) {
+            results.put(Integer.valueOf(i), runTest(benchmark, action, i, settings));
+        }
+        saveAndCompare(benchmark, new ArrayList<>(results.values()));
+    }
+
+    private static void saveAndCompare(String benchmark, List<BenchmarkResult> results) {
+        try {
+            BenchmarkResults.write(benchmark, results);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String baselineFile = System.getProperty(BenchmarkComparator.BASELINE_PROPERTY);
+        if (baselineFile == null || baselineFile.isEmpty()) {
+            return;
+        }
+        List<BenchmarkResult> baseline;
+        try {
+            baseline = BenchmarkResults.read(Paths.get(baselineFile)).stream()
+                    .filter(result -> result.getBenchmark().equals(benchmark))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        System.out.println("Comparison with " + baselineFile + ':');
+        List<Comparison> comparisons = BenchmarkComparator.compare(baseline, results);
+        comparisons.forEach(comparison -> System.out.println(comparison.format()));
+        List<String> regressions = comparisons.stream()
+                .filter(comparison -> comparison.getVerdict() == Comparison.Verdict.REGRESSION)
+                .map(Comparison::format)
+                .collect(Collectors.toList());
+        if (!regressions.isEmpty()) {
+            Assertions.fail("Benchmark regressed:\n" + String.join("\n", regressions));
+        }
+    }
+
+    private static BenchmarkResult runTest(String benchmark, IntFunction<IntConsumer> action, int nbThreads,
+            RunSettings settings) {
+        TimingMode timingMode = settings.timingMode;
+        long total = 0;
+        long allocated = 0;
+        long gcCount = 0;
+        long gcTime = 0;
+        double[] samples = new double[NB_RUNS];
+        LatencyHistogram latencies = new LatencyHistogram();
+        LatencyHistogram serviceTimes = new LatencyHistogram();
+        for (int i = 0; i < NB_RUNS; i++) {
+            Runner runner = new Runner(nbThreads, NB_ITER, action, settings);
+            runner.start();
+
+            long gcCountBefore = getGcCount();
+            long gcTimeBefore = getGcTime();
+
+            long start = System.nanoTime();
+            runner.run();
+            long end = System.nanoTime();
+
+            gcCount += getGcCount() - gcCountBefore;
+            gcTime += getGcTime() - gcTimeBefore;
+            total += (end - start);
+            long runAllocated = runner.getAllocatedBytes();
+            allocated = (allocated < 0 || runAllocated < 0 ? -1 : allocated + runAllocated);
+            LatencyHistogram runLatencies = new LatencyHistogram();
+            runner.addLatencies(runLatencies, serviceTimes);
+            latencies.add(runLatencies);
+            samples[i] = (timingMode == TimingMode.THROUGHPUT
+                    ? (double) (end - start) / NB_ITER
+                    : runLatencies.getValueAtPercentile(99.0));
+        }
+        long average = (total / NB_RUNS);
+        StringBuilder sb = new StringBuilder();
+        sb.append(nbThreads).append(" threads, ");
+        switch (timingMode) {
+        case LATENCY:
+            sb.append(latencies.formatPercentiles(PERCENTILES));
+            break;
+        case FIXED_RATE:
+            sb.append(latencies.formatPercentiles(PERCENTILES));
+            sb.append(" (service time: ");
+            sb.append(serviceTimes.formatPercentiles(PERCENTILES));
+            sb.append(')');
+            break;
+        case THROUGHPUT:
+        default:
+            sb.append("average = ").append(average / NB_ITER).append(" ns/loop");
+            break;
+        }
+        long bytesPerLoop = (allocated < 0 ? -1 : allocated / ((long) NB_RUNS * NB_ITER * nbThreads));
+        if (bytesPerLoop >= 0) {
+            sb.append(", ").append(bytesPerLoop).append(" bytes/loop");
+        }
+        sb.append(", GC: ").append(gcCount).append(" collections, ").append(gcTime).append(" ms");
+        System.out.println(sb.toString());
+
+        long[] percentiles = new long[PERCENTILES.length + 1];
+        if (timingMode != TimingMode.THROUGHPUT) {
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                percentiles[i] = latencies.getValueAtPercentile(PERCENTILES[i]);
+            }
+            percentiles[PERCENTILES.length] = latencies.getMax();
+        }
+        return new BenchmarkResult(benchmark, BenchmarkResults.getAgentVersion(), nbThreads,
+                getMessageMode(), timingMode, samples, bytesPerLoop, gcCount, gcTime, percentiles);
+    }
+
+    private static long getGcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(count -> count > 0)
+                .sum();
+    }
+
+    private static long getGcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0)
+                .sum();
+    }
+
+    /**
+     * @return The number of bytes allocated so far by the current thread, or
+     *         -1 if the JVM does not support measuring it
+     */
+    static long getCurrentThreadAllocatedBytes() {
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // ------------------------------------------------------------------------
+    // Helper classes
+    // ------------------------------------------------------------------------
+
+    private static class Runner implements Runnable {
+
+        private final List<Worker> workers = new LinkedList<>();
+        private final List<Thread> workerThreads = new LinkedList<>();
+        private final CountDownLatch readyLatch;
+        private final CountDownLatch startLatch = new CountDownLatch(1);
+
+        public Runner(int nbThreads, int nbIter, IntFunction<IntConsumer> action, RunSettings settings) {
+            readyLatch = new CountDownLatch(nbThreads);
+
+            for (int id = 0; id < nbThreads; id++) {
+                int cpu = (settings.pinCpus.length > 0 ? settings.pinCpus[id % settings.pinCpus.length] : -1);
+                Worker curWorker = new Worker(nbIter, action.apply(id), settings, cpu, readyLatch, startLatch);
+                workers.add(curWorker);
+                workerThreads.add(BenchmarkThreads.newThread(curWorker, "worker " + id, settings.virtualThreads));
+            }
+        }
+
+        /**
+         * Start the worker threads, and wait until they are ready to run.
+         * This is not part of the timed run.
+         */
+        public void start() {
+            workerThreads.forEach(Thread::start);
+            try {
+                readyLatch.await();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+            if (workers.stream().anyMatch(worker -> !worker.pinned)) {
+                /* Make the workers return without running */
+                workerThreads.forEach(Thread::interrupt);
+                throw new IllegalStateException("Could not pin the worker threads with taskset");
+            }
+        }
+
+        @Override
+        public void run() {
+            startLatch.countDown();
+
+            workerThreads.forEach(t -> {
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+
+        /**
+         * @return The total number of bytes allocated by the workers during
+         *         the run, or -1 if it could not be measured
+         */
+        public long getAllocatedBytes() {
+            long total = 0;
+            for (Worker worker : workers) {
+                if (worker.allocatedBytes < 0) {
+                    return -1;
+                }
+                total += worker.allocatedBytes;
+            }
+            return total;
+        }
+
+        /**
+         * Add the times recorded by the workers during the run, in the
+         * latency modes.
+         *
+         * @param latencies
+         *            The histogram of the latencies
+         * @param serviceTimes
+         *            The histogram of the service times, which only differ
+         *            from the latencies in fixed-rate mode
+         */
+        public void addLatencies(LatencyHistogram latencies, LatencyHistogram serviceTimes) {
+            for (Worker worker : workers) {
+                latencies.add(worker.latencies);
+                serviceTimes.add(worker.serviceTimes);
+            }
+        }
+
+        private static class Worker implements Runnable {
+
+            private final IntConsumer action;
+            private final int nbIter;
+            private final TimingMode timingMode;
+            private final long intervalNanos;
+            private final int cpu;
+            private final CountDownLatch readyLatch;
+            private final CountDownLatch startLatch;
+            final LatencyHistogram latencies = new LatencyHistogram();
+            final LatencyHistogram serviceTimes = new LatencyHistogram();
+
+            @SuppressWarnings("unused")
+            private volatile int value = 0;
+
+            volatile long allocatedBytes = -1;
+            volatile boolean pinned = false;
+
+            public Worker(int nbIter, IntConsumer action, RunSettings settings, int cpu,
+                    CountDownLatch readyLatch, CountDownLatch startLatch) {
+                this.action = action;
+                this.nbIter = nbIter;
+                this.timingMode = settings.timingMode;
+                this.intervalNanos = settings.intervalNanos;
+                this.cpu = cpu;
+                this.readyLatch = readyLatch;
+                this.startLatch = startLatch;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    pinned = (cpu < 0 || BenchmarkThreads.pinCurrentThread(cpu));
+                } finally {
+                    /* If pinning failed with an exception, start() fails the run */
+                    readyLatch.countDown();
+                }
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                long before = getCurrentThreadAllocatedBytes();
+                switch (timingMode) {
+                case LATENCY:
+                    runLatency();
+                    break;
+                case FIXED_RATE:
+                    runFixedRate();
+                    break;
+                case THROUGHPUT:
+                default:
+                    for (int i = 0; i < nbIter; i++) {
+                        value = i;
+                        action.accept(i);
+                    }
+                    break;
+                }
+                long after = getCurrentThreadAllocatedBytes();
+                allocatedBytes = (before < 0 ? -1 : after - before);
+            }
+
+            private void runLatency() {
+                for (int i = 0; i < nbIter; i++) {
+                    value = i;
+                    long start = System.nanoTime();
+                    action.accept(i);
+                    long end = System.nanoTime();
+                    latencies.record(end - start);
+                    serviceTimes.record(end - start);
+                }
+            }
+
+            private void runFixedRate() {
+                long runStart = System.nanoTime();
+                for (int i = 0; i < nbIter; i++) {
+                    value = i;
+                    long intendedStart = runStart + i * intervalNanos;
+                    long start = System.nanoTime();
+                    while (start - intendedStart < 0) {
+                        /* Busy-wait, sleeping is not precise enough */
+                        start = System.nanoTime();
+                    }
+                    action.accept(i);
+                    long end = System.nanoTime();
+                    latencies.record(end - intendedStart);
+                    serviceTimes.record(end - start);
+                }
+            }
+        }
+    }
+}
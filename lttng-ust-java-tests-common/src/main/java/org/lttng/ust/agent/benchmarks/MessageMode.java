@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks;
+
+/**
+ * How the logging benchmarks build the messages they log, to separate the cost
+ * of building the message from the cost of logging it.
+ */
+public enum MessageMode {
+
+    /** Concatenate the thread ID and iteration number at every call */
+    CONCATENATED,
+
+    /** Always log the same constant string */
+    CONSTANT,
+
+    /** Log concatenated messages, built before the timed runs */
+    PREBUILT,
+
+    /**
+     * Pass the thread ID and iteration number as parameters of the logging
+     * call, for the APIs that support it. The parameters are boxed before the
+     * timed runs.
+     */
+    PARAMETERIZED;
+}
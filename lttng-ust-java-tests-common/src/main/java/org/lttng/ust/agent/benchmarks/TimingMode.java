@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks;
+
+/**
+ * What the logging benchmarks measure.
+ */
+public enum TimingMode {
+
+    /** Average time per logging call, with the workers logging in a loop */
+    THROUGHPUT,
+
+    /**
+     * Distribution of the time of each logging call, with the workers logging
+     * in a loop
+     */
+    LATENCY,
+
+    /**
+     * Distribution of the time of each logging call, with the workers logging
+     * at a fixed rate. The time of a call is counted from when it should have
+     * started according to that rate, so that calls which are delayed by a
+     * previous slow call are accounted for (correcting the "coordinated
+     * omission" of the other modes).
+     */
+    FIXED_RATE;
+}
@@ -0,0 +1,650 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.integration.client;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.lttng.ust.agent.session.EventRule;
+
+/**
+ * Stand-in for a user session daemon, speaking the agent side of its TCP
+ * protocol, so that a {@code LttngTcpSessiondClient} can be tested without a
+ * lttng-tools installation.
+ *
+ * It listens on a local port, and writes it to an agent port file, where
+ * non-root clients look for it. By default, the port file is in a temporary
+ * home directory, so that the port file of a real session daemon is not
+ * touched. The clients of the same JVM find it if they are started within
+ * {@link #withUserHome}, which sets the "user.home" of the JVM only while they
+ * read the port file. As this property is shared by the whole JVM, session
+ * daemons must not be started nor connected to concurrently. Writing the
+ * user's actual port file, for example for clients of other processes, must be
+ * asked for explicitly with
+ * {@code new MockSessiond(MockSessiond.getUserPortFile())}. A file that was
+ * already there is then restored on {@link #close()}.
+ *
+ * Each client that connects and registers is sent the "registration done"
+ * command, and is then available from {@link #awaitAgent}. Commands are sent
+ * to it with the methods of {@link Agent}, which wait for the reply. The
+ * connections that failed to register are available from
+ * {@link #getRegistrationFailures()}.
+ */
+public class MockSessiond implements AutoCloseable {
+
+    /** Commands of the agent protocol */
+    public enum Command {
+        /** List the available loggers */
+        LIST(1),
+        /** Enable an event rule */
+        ENABLE_EVENT(2),
+        /** Disable an event */
+        DISABLE_EVENT(3),
+        /** End of the registration, the client does not reply to it */
+        REG_DONE(4),
+        /** Enable an application context */
+        ENABLE_APP_CONTEXT(5),
+        /** Disable an application context */
+        DISABLE_APP_CONTEXT(6);
+
+        private final int value;
+
+        private Command(int value) {
+            this.value = value;
+        }
+
+        /**
+         * @return The value of this command in the protocol
+         */
+        public int value() {
+            return value;
+        }
+    }
+
+    /**
+     * Action run by {@link MockSessiond#withUserHome}.
+     */
+    @FunctionalInterface
+    public interface HomeAction {
+
+        /**
+         * Run the action.
+         *
+         * @throws IOException
+         *             If the action failed
+         * @throws InterruptedException
+         *             If the action was interrupted
+         */
+        void run() throws IOException, InterruptedException;
+    }
+
+    /** Reply code of a successful command */
+    public static final int REPLY_SUCCESS = 1;
+
+    /** Reply code of an invalid or failed command */
+    public static final int REPLY_INVALID = 2;
+
+    /** Reply code of a "disable-event" command for an unknown logger */
+    public static final int REPLY_UNKNOWN_LOGGER = 3;
+
+    static final Charset PROTOCOL_CHARSET = StandardCharsets.UTF_8;
+
+    /** Size of the registration message sent by the clients */
+    private static final int REGISTRATION_SIZE = 16;
+
+    /** Size of the event names in the commands, including the final '\0' */
+    private static final int EVENT_NAME_SIZE = 256;
+
+    /** Time to wait for a client reply before failing */
+    private static final int REPLY_TIMEOUT_MS = 10000;
+
+    private static final String USER_HOME_PROPERTY = "user.home";
+
+    private final ServerSocket serverSocket;
+    private final Path portFile;
+    private final Path temporaryHome;
+    private final byte[] previousPortFile;
+    private final boolean createdPortDirectory;
+    private final Thread acceptThread;
+    private final BlockingQueue<Agent> registeredAgents = new LinkedBlockingQueue<>();
+    private final List<Agent> agents = new CopyOnWriteArrayList<>();
+    private final List<IOException> registrationFailures = new CopyOnWriteArrayList<>();
+
+    /**
+     * Start listening, and write the port to the agent port file of a
+     * temporary home directory. The clients must be started within
+     * {@link #withUserHome} to find it.
+     *
+     * @throws IOException
+     *             If the socket could not be opened or the port file could not
+     *             be written, or if $LTTNG_HOME is set, as the clients would
+     *             then not look in the temporary home directory
+     */
+    public MockSessiond() throws IOException {
+        this(null, createTemporaryHome());
+    }
+
+    /**
+     * Start listening, and write the port to the given file. Use
+     * {@link #getUserPortFile()} to write the user's actual port file.
+     *
+     * @param portFile
+     *            The port file to write
+     * @throws IOException
+     *             If the socket could not be opened or the port file could not
+     *             be written
+     */
+    public MockSessiond(Path portFile) throws IOException {
+        this(portFile, null);
+    }
+
+    private MockSessiond(Path portFile, Path temporaryHome) throws IOException {
+        this.portFile = (temporaryHome == null ? portFile : getPortFile(temporaryHome));
+        this.temporaryHome = temporaryHome;
+        try {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            deleteTemporaryHome();
+            throw e;
+        }
+        try {
+            previousPortFile = (Files.exists(this.portFile) ? Files.readAllBytes(this.portFile) : null);
+            createdPortDirectory = !Files.exists(this.portFile.getParent());
+            Files.createDirectories(this.portFile.getParent());
+            Files.write(this.portFile, (serverSocket.getLocalPort() + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            serverSocket.close();
+            deleteTemporaryHome();
+            throw e;
+        }
+
+        acceptThread = new Thread(this::acceptConnections, "mock-sessiond");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    /**
+     * Get the agent port file of the user session daemon, where non-root
+     * clients look for the port to connect to.
+     *
+     * @return The path of the port file, in $LTTNG_HOME if it is defined, or
+     *         else in the user's home directory
+     */
+    public static Path getUserPortFile() {
+        String home = System.getenv("LTTNG_HOME");
+        if (home == null) {
+            home = System.getProperty(USER_HOME_PROPERTY);
+        }
+        return getPortFile(Paths.get(home));
+    }
+
+    /**
+     * Run an action with the temporary home directory of this session daemon
+     * as the "user.home" of the JVM, typically starting clients and waiting
+     * for them to connect. The previous value is restored afterwards, so this
+     * must not be called concurrently with anything else using this property.
+     *
+     * @param action
+     *            The action to run
+     * @throws IOException
+     *             If the action failed
+     * @throws InterruptedException
+     *             If the action was interrupted
+     */
+    public void withUserHome(HomeAction action) throws IOException, InterruptedException {
+        if (temporaryHome == null) {
+            action.run();
+            return;
+        }
+        String previousUserHome = System.getProperty(USER_HOME_PROPERTY);
+        System.setProperty(USER_HOME_PROPERTY, temporaryHome.toString());
+        try {
+            action.run();
+        } finally {
+            if (previousUserHome != null) {
+                System.setProperty(USER_HOME_PROPERTY, previousUserHome);
+            } else {
+                System.clearProperty(USER_HOME_PROPERTY);
+            }
+        }
+    }
+
+    /**
+     * @return The port file this session daemon wrote
+     */
+    public Path getPortFile() {
+        return portFile;
+    }
+
+    /**
+     * @return The port on which this session daemon listens
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Wait for the next client to register.
+     *
+     * @param timeout
+     *            The maximum time to wait
+     * @param unit
+     *            The unit of the timeout
+     * @return The registered client, or null if none registered in time
+     * @throws InterruptedException
+     *             If the wait was interrupted
+     */
+    public Agent awaitAgent(long timeout, TimeUnit unit) throws InterruptedException {
+        return registeredAgents.poll(timeout, unit);
+    }
+
+    /**
+     * @return The errors of the connections which failed to register, in the
+     *         order they happened
+     */
+    public List<IOException> getRegistrationFailures() {
+        return Collections.unmodifiableList(registrationFailures);
+    }
+
+    /**
+     * Stop listening, disconnect the clients and restore the port file, or
+     * delete the temporary home directory.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            /* Nothing to do, we are closing */
+        }
+        try {
+            acceptThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        agents.forEach(Agent::close);
+
+        if (temporaryHome != null) {
+            deleteTemporaryHome();
+            return;
+        }
+
+        try {
+            if (previousPortFile != null) {
+                Files.write(portFile, previousPortFile);
+            } else {
+                Files.deleteIfExists(portFile);
+                if (createdPortDirectory) {
+                    Files.deleteIfExists(portFile.getParent());
+                }
+            }
+        } catch (DirectoryNotEmptyException e) {
+            /* Something else was written there in the meantime, leave it */
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path getPortFile(Path home) {
+        return home.resolve(".lttng").resolve("agent.port");
+    }
+
+    private static Path createTemporaryHome() throws IOException {
+        if (System.getenv("LTTNG_HOME") != null) {
+            throw new IOException("LTTNG_HOME is set, the clients would not find the port file of a temporary home");
+        }
+        return Files.createTempDirectory("mock-sessiond");
+    }
+
+    private void deleteTemporaryHome() {
+        if (temporaryHome == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(portFile);
+            Files.deleteIfExists(portFile.getParent());
+            Files.deleteIfExists(temporaryHome);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("resource")
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                /* The server socket was closed */
+                return;
+            } catch (IOException e) {
+                registrationFailures.add(e);
+                continue;
+            }
+
+            try {
+                socket.setSoTimeout(REPLY_TIMEOUT_MS);
+                socket.setTcpNoDelay(true);
+                /* Closed with the others in close() */
+                Agent agent = new Agent(socket);
+                agents.add(agent);
+                registeredAgents.add(agent);
+            } catch (IOException e) {
+                /* This client failed to register, wait for the next one */
+                registrationFailures.add(e);
+                try {
+                    /* Also closes its streams */
+                    socket.close();
+                } catch (IOException e2) {
+                    /* Nothing to do, we are closing */
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Clients
+    // ------------------------------------------------------------------------
+
+    /**
+     * A client connected to the session daemon. Its methods send one command
+     * and return the code of the reply, they can be called from any thread.
+     */
+    public static class Agent implements AutoCloseable {
+
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        private final int domain;
+        private final int pid;
+        private final int majorVersion;
+        private final int minorVersion;
+
+        /**
+         * Read the registration message of the client, and reply to it. The
+         * socket is left open if this fails, it is up to the caller to close
+         * it.
+         */
+        Agent(Socket socket) throws IOException {
+            this.socket = socket;
+            in = new DataInputStream(socket.getInputStream());
+            out = new DataOutputStream(socket.getOutputStream());
+
+            /* Registration message, in network byte order */
+            byte[] registration = new byte[REGISTRATION_SIZE];
+            in.readFully(registration);
+            ByteBuffer buf = ByteBuffer.wrap(registration).order(ByteOrder.BIG_ENDIAN);
+            domain = buf.getInt();
+            pid = buf.getInt();
+            majorVersion = buf.getInt();
+            minorVersion = buf.getInt();
+
+            sendHeader(Command.REG_DONE, 0);
+            out.flush();
+        }
+
+        /**
+         * @return The tracing domain of the client, as in
+         *         {@code ILttngAgent.Domain.value()}
+         */
+        public int getDomain() {
+            return domain;
+        }
+
+        /**
+         * @return The PID of the client's process
+         */
+        public int getPid() {
+            return pid;
+        }
+
+        /**
+         * @return The major version of the protocol used by the client
+         */
+        public int getMajorVersion() {
+            return majorVersion;
+        }
+
+        /**
+         * @return The minor version of the protocol used by the client
+         */
+        public int getMinorVersion() {
+            return minorVersion;
+        }
+
+        /**
+         * Send an "enable-event" command for the given rule.
+         *
+         * @param rule
+         *            The event rule to enable
+         * @return The reply code
+         * @throws IOException
+         *             If the client did not reply
+         */
+        public int enableEvent(EventRule rule) throws IOException {
+            return enableEvent(rule.getEventName(),
+                    rule.getLogLevelSelector().getLogLevel(),
+                    rule.getLogLevelSelector().getLogLevelType().ordinal(),
+                    rule.getFilterString());
+        }
+
+        /**
+         * Send an "enable-event" command.
+         *
+         * @param eventName
+         *            The event name, or "*" for all events
+         * @param logLevel
+         *            The log level value
+         * @param logLevelType
+         *            The log level type, as in the ordinal of
+         *            {@code LogLevelSelector.LogLevelType}
+         * @param filter
+         *            The filter string, or null for none
+         * @return The reply code
+         * @throws IOException
+         *             If the client did not reply
+         */
+        public int enableEvent(String eventName, int logLevel, int logLevelType, String filter) throws IOException {
+            byte[] filterBytes = nullTerminated(filter);
+            ByteBuffer buf = newPayload(4 + 4 + EVENT_NAME_SIZE + 4 + filterBytes.length);
+            buf.putInt(logLevel);
+            buf.putInt(logLevelType);
+            buf.put(eventName(eventName));
+            buf.putInt(filterBytes.length);
+            buf.put(filterBytes);
+            return sendCommand(Command.ENABLE_EVENT, buf.array());
+        }
+
+        /**
+         * Send a "disable-event" command.
+         *
+         * @param eventName
+         *            The event name, or "*" for all events
+         * @return The reply code
+         * @throws IOException
+         *             If the client did not reply
+         */
+        public int disableEvent(String eventName) throws IOException {
+            return sendCommand(Command.DISABLE_EVENT, eventName(eventName));
+        }
+
+        /**
+         * Send an "enable application context" command.
+         *
+         * @param retrieverName
+         *            The name of the context retriever
+         * @param contextName
+         *            The name of the context
+         * @return The reply code
+         * @throws IOException
+         *             If the client did not reply
+         */
+        public int enableAppContext(String retrieverName, String contextName) throws IOException {
+            return sendCommand(Command.ENABLE_APP_CONTEXT, appContextPayload(retrieverName, contextName));
+        }
+
+        /**
+         * Send a "disable application context" command.
+         *
+         * @param retrieverName
+         *            The name of the context retriever
+         * @param contextName
+         *            The name of the context
+         * @return The reply code
+         * @throws IOException
+         *             If the client did not reply
+         */
+        public int disableAppContext(String retrieverName, String contextName) throws IOException {
+            return sendCommand(Command.DISABLE_APP_CONTEXT, appContextPayload(retrieverName, contextName));
+        }
+
+        /**
+         * Send a "list" command.
+         *
+         * @return The logger names listed by the client
+         * @throws IOException
+         *             If the client did not reply, or replied with an error
+         */
+        public synchronized List<String> listLoggers() throws IOException {
+            sendHeader(Command.LIST, 0);
+            out.flush();
+
+            int code = in.readInt();
+            if (code != REPLY_SUCCESS) {
+                throw new IOException("List command failed with code " + code);
+            }
+            int dataSize = in.readInt();
+            int nbLoggers = in.readInt();
+            byte[] data = new byte[dataSize];
+            in.readFully(data);
+
+            List<String> loggers = new ArrayList<>(nbLoggers);
+            int start = 0;
+            for (int i = 0; i < data.length; i++) {
+                if (data[i] == 0) {
+                    loggers.add(new String(data, start, i - start, PROTOCOL_CHARSET));
+                    start = i + 1;
+                }
+            }
+            if (loggers.size() != nbLoggers) {
+                throw new IOException("Expected " + nbLoggers + " loggers, got " + loggers.size());
+            }
+            return Collections.unmodifiableList(loggers);
+        }
+
+        /**
+         * Send a command, and wait for its reply. Commands which reply more
+         * than a code, like {@link Command#LIST}, should be sent with their own
+         * method instead.
+         *
+         * @param command
+         *            The command
+         * @param payload
+         *            The payload of the command, can be empty
+         * @return The reply code
+         * @throws IOException
+         *             If the client did not reply
+         */
+        public synchronized int sendCommand(Command command, byte[] payload) throws IOException {
+            sendHeader(command, payload.length);
+            out.write(payload);
+            out.flush();
+            return in.readInt();
+        }
+
+        /**
+         * Disconnect the client, which will then try to reconnect.
+         */
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                /* Nothing to do, we are closing */
+            }
+        }
+
+        private void sendHeader(Command command, long dataSize) throws IOException {
+            out.writeLong(dataSize);
+            out.writeInt(command.value());
+            /* Command version */
+            out.writeInt(0);
+        }
+
+        private static ByteBuffer newPayload(int size) {
+            return ByteBuffer.allocate(size).order(ByteOrder.BIG_ENDIAN);
+        }
+
+        private static byte[] eventName(String eventName) {
+            byte[] bytes = eventName.getBytes(PROTOCOL_CHARSET);
+            if (bytes.length >= EVENT_NAME_SIZE) {
+                throw new IllegalArgumentException("Event name too long: " + eventName);
+            }
+            /* Padded with '\0' */
+            byte[] name = new byte[EVENT_NAME_SIZE];
+            System.arraycopy(bytes, 0, name, 0, bytes.length);
+            return name;
+        }
+
+        private static byte[] nullTerminated(String string) {
+            if (string == null || string.isEmpty()) {
+                return new byte[0];
+            }
+            byte[] bytes = string.getBytes(PROTOCOL_CHARSET);
+            byte[] terminated = new byte[bytes.length + 1];
+            System.arraycopy(bytes, 0, terminated, 0, bytes.length);
+            return terminated;
+        }
+
+        private static byte[] appContextPayload(String retrieverName, String contextName) {
+            byte[] retriever = nullTerminated(retrieverName);
+            byte[] context = nullTerminated(contextName);
+            ByteBuffer buf = newPayload(4 + 4 + retriever.length + context.length);
+            buf.putInt(retriever.length);
+            buf.putInt(context.length);
+            buf.put(retriever);
+            buf.put(context);
+            return buf.array();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.ust.agent.integration.client;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.lttng.ust.agent.ILttngAgent;
+import org.lttng.ust.agent.client.ILttngTcpClientListener;
+import org.lttng.ust.agent.client.LttngTcpSessiondClient;
+
+/**
+ * A {@link MockSessiond} with one TCP client per domain connected to it, each
+ * running in its own thread and forwarding the commands to a given listener.
+ *
+ * It is meant to be created in the class setup of the tests and benchmarks of
+ * the TCP client, and closed in their teardown. The commands are sent through
+ * the {@link MockSessiond.Agent} of each domain. As the clients are started
+ * within {@link MockSessiond#withUserHome}, instances must not be created
+ * concurrently.
+ */
+public class MockSessiondClients implements AutoCloseable {
+
+    /** Time to wait for each client to connect and register */
+    private static final int CONNECTION_TIMEOUT_SECONDS = 5;
+
+    private final MockSessiond sessiond;
+    private final Map<ILttngAgent.Domain, LttngTcpSessiondClient> clients = new EnumMap<>(ILttngAgent.Domain.class);
+    private final Map<ILttngAgent.Domain, Thread> clientThreads = new EnumMap<>(ILttngAgent.Domain.class);
+    private final Map<ILttngAgent.Domain, MockSessiond.Agent> agents = new EnumMap<>(ILttngAgent.Domain.class);
+
+    /**
+     * Start the session daemon, and connect one client to it.
+     *
+     * @param domain
+     *            The domain of the client
+     * @param listener
+     *            The listener receiving the commands of the client
+     * @throws IOException
+     *             If the session daemon could not be started, or the client
+     *             did not connect in time
+     * @throws InterruptedException
+     *             If the wait for the client was interrupted
+     */
+    public MockSessiondClients(ILttngAgent.Domain domain, ILttngTcpClientListener listener)
+            throws IOException, InterruptedException {
+        this(Collections.singletonMap(domain, listener));
+    }
+
+    /**
+     * Start the session daemon, and connect one client per domain to it.
+     *
+     * @param listeners
+     *            The listener receiving the commands of the client of each
+     *            domain
+     * @throws IOException
+     *             If the session daemon could not be started, or a client did
+     *             not connect in time
+     * @throws InterruptedException
+     *             If the wait for the clients was interrupted
+     */
+    @SuppressWarnings("resource")
+    public MockSessiondClients(Map<ILttngAgent.Domain, ? extends ILttngTcpClientListener> listeners)
+            throws IOException, InterruptedException {
+        sessiond = new MockSessiond();
+        try {
+            /* The clients read the port file when they connect */
+            sessiond.withUserHome(() -> {
+                for (Map.Entry<ILttngAgent.Domain, ? extends ILttngTcpClientListener> entry : listeners.entrySet()) {
+                    ILttngAgent.Domain domain = entry.getKey();
+                    LttngTcpSessiondClient client = new LttngTcpSessiondClient(entry.getValue(), domain.value(), false);
+                    Thread thread = new Thread(client, "tcp-client-" + domain);
+                    clients.put(domain, client);
+                    clientThreads.put(domain, thread);
+                    thread.start();
+                }
+
+                for (Map.Entry<ILttngAgent.Domain, LttngTcpSessiondClient> entry : clients.entrySet()) {
+                    if (!entry.getValue().waitForConnection(CONNECTION_TIMEOUT_SECONDS)) {
+                        throw new IOException("Timed out waiting for the " + entry.getKey() + " client");
+                    }
+                }
+            });
+
+            /* The clients register in any order, the agents are closed with the session daemon */
+            for (int i = 0; i < clients.size(); i++) {
+                MockSessiond.Agent agent = sessiond.awaitAgent(CONNECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (agent == null) {
+                    IOException e = new IOException("Timed out waiting for a client to register");
+                    sessiond.getRegistrationFailures().forEach(e::addSuppressed);
+                    throw e;
+                }
+                ILttngAgent.Domain domain = clients.keySet().stream()
+                        .filter(d -> d.value() == agent.getDomain())
+                        .findFirst()
+                        .orElseThrow(() -> new IOException("Unexpected client of domain " + agent.getDomain()));
+                if (agents.put(domain, agent) != null) {
+                    throw new IOException("Two clients registered for " + domain);
+                }
+            }
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The session daemon the clients are connected to
+     */
+    public MockSessiond getSessiond() {
+        return sessiond;
+    }
+
+    /**
+     * @param domain
+     *            The domain of the client
+     * @return The connection of the session daemon with the client of this
+     *         domain, through which the commands are sent
+     */
+    public MockSessiond.Agent getAgent(ILttngAgent.Domain domain) {
+        return agents.get(domain);
+    }
+
+    /**
+     * Stop the clients, then the session daemon.
+     */
+    @Override
+    public void close() {
+        clients.values().forEach(LttngTcpSessiondClient::close);
+        for (Thread thread : clientThreads.values()) {
+            /* Skip the client's delay before reconnecting */
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sessiond.close();
+    }
+}
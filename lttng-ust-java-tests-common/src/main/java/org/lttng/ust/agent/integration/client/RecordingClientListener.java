@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.integration.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.lttng.ust.agent.client.ILttngTcpClientListener;
+import org.lttng.ust.agent.session.EventRule;
+
+/**
+ * TCP client listener which records every command it receives, in one
+ * append-only log shared by all the command types.
+ *
+ * Recording a command does not lock: it is appended to a lock-free queue,
+ * with a sequence number giving the order in which the commands were
+ * received. Commands received concurrently may be appended in a different
+ * order than their sequence numbers, so the snapshots returned by
+ * {@link #getRecords()} and {@link #getPayloads} are sorted by sequence
+ * number, which is the authoritative order. Threads waiting for a number of commands with
+ * {@link #awaitRecords} are parked, and woken up by the recording thread.
+ */
+public class RecordingClientListener implements ILttngTcpClientListener {
+
+    /**
+     * Type of a recorded command
+     */
+    public enum CommandType {
+        /** "enable-event", the payload is the {@link EventRule} */
+        EVENT_ENABLED,
+        /** "disable-event", the payload is the event name */
+        EVENT_DISABLED,
+        /** Application context enabled, the payload is "retriever:context" */
+        APP_CONTEXT_ENABLED,
+        /** Application context disabled, the payload is "retriever:context" */
+        APP_CONTEXT_DISABLED,
+        /** "list", there is no payload */
+        LIST
+    }
+
+    /**
+     * One recorded command
+     */
+    public static final class Record {
+
+        private final long sequence;
+        private final CommandType type;
+        private final Object payload;
+        private final long timestamp;
+
+        Record(long sequence, CommandType type, Object payload) {
+            this.sequence = sequence;
+            this.type = type;
+            this.payload = payload;
+            this.timestamp = System.nanoTime();
+        }
+
+        /**
+         * @return The sequence number of the command, starting at 1 for the
+         *         first command received by the listener
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * @return The type of the command
+         */
+        public CommandType getType() {
+            return type;
+        }
+
+        /**
+         * @return The payload of the command, which depends on its type
+         */
+        public Object getPayload() {
+            return payload;
+        }
+
+        /**
+         * @return The time at which the command was received, as given by
+         *         {@link System#nanoTime()}
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + sequence + ' ' + type + (payload == null ? "" : " " + payload);
+        }
+    }
+
+    private final Queue<Record> records = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong appended = new AtomicLong();
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+    /* Number of records appended before the last clear() */
+    private volatile long cleared = 0;
+
+    // ------------------------------------------------------------------------
+    // ILttngTcpClientListener
+    // ------------------------------------------------------------------------
+
+    @Override
+    public boolean eventEnabled(EventRule rule) {
+        record(CommandType.EVENT_ENABLED, rule);
+        return true;
+    }
+
+    @Override
+    public boolean eventDisabled(String name) {
+        record(CommandType.EVENT_DISABLED, name);
+        return true;
+    }
+
+    @Override
+    public boolean appContextEnabled(String contextRetrieverName, String contextName) {
+        record(CommandType.APP_CONTEXT_ENABLED, contextRetrieverName + ':' + contextName);
+        return true;
+    }
+
+    @Override
+    public boolean appContextDisabled(String contextRetrieverName, String contextName) {
+        record(CommandType.APP_CONTEXT_DISABLED, contextRetrieverName + ':' + contextName);
+        return true;
+    }
+
+    /**
+     * Record the command, and return the events of getAvailableEvents().
+     */
+    @Override
+    public Collection<String> listAvailableEvents() {
+        record(CommandType.LIST, null);
+        return getAvailableEvents();
+    }
+
+    /**
+     * Get the events to return to "list" commands. Sub-classes can override it
+     * to provide some.
+     *
+     * @return The available events, none by default
+     */
+    @SuppressWarnings("static-method")
+    protected Collection<String> getAvailableEvents() {
+        return Collections.emptyList();
+    }
+
+    // ------------------------------------------------------------------------
+    // Recorded commands
+    // ------------------------------------------------------------------------
+
+    private void record(CommandType type, Object payload) {
+        records.add(new Record(sequence.incrementAndGet(), type, payload));
+        appended.incrementAndGet();
+
+        for (Thread waiter : waiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * @return The number of commands recorded since instantiation or the last
+     *         {@link #clear()}
+     */
+    public long getRecordCount() {
+        return appended.get() - cleared;
+    }
+
+    /**
+     * Get the commands recorded so far. This does not block the recording of
+     * new commands, which may or may not be part of the returned list if they
+     * are received concurrently.
+     *
+     * @return The commands recorded since instantiation or the last
+     *         {@link #clear()}, in the order they were received
+     */
+    public List<Record> getRecords() {
+        List<Record> snapshot = new ArrayList<>(records);
+        snapshot.sort(Comparator.comparingLong(Record::getSequence));
+        return snapshot;
+    }
+
+    /**
+     * Get the payloads of the commands of one type recorded so far.
+     *
+     * @param type
+     *            The type of commands
+     * @param payloadClass
+     *            The class of the payloads of this type
+     * @return The payloads, in the order the commands were received, as given
+     *         by their sequence numbers
+     */
+    public <T> List<T> getPayloads(CommandType type, Class<T> payloadClass) {
+        List<T> payloads = new ArrayList<>();
+        for (Record record : getRecords()) {
+            if (record.getType() == type) {
+                payloads.add(payloadClass.cast(record.getPayload()));
+            }
+        }
+        return payloads;
+    }
+
+    /**
+     * Wait until at least the given number of commands was recorded since
+     * instantiation or the last {@link #clear()}.
+     *
+     * @param count
+     *            The number of commands to wait for
+     * @param timeout
+     *            The maximum time to wait
+     * @param unit
+     *            The unit of the timeout
+     * @return True if the commands were recorded, false if the wait timed out
+     * @throws InterruptedException
+     *             If the wait was interrupted
+     */
+    public boolean awaitRecords(long count, long timeout, TimeUnit unit) throws InterruptedException {
+        if (getRecordCount() >= count) {
+            return true;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        try {
+            while (getRecordCount() < count) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return true;
+        } finally {
+            waiters.remove(current);
+        }
+    }
+
+    /**
+     * Forget the commands recorded so far. Sequence numbers are not reset.
+     *
+     * Commands received during the call may or may not be forgotten, but
+     * {@link #getRecordCount()} stays consistent with the records that are
+     * kept. This should not be called by more than one thread at a time.
+     */
+    public void clear() {
+        /*
+         * Records are appended before they are counted, so the queue holds at
+         * least "count - cleared" records, and removing that many of the
+         * oldest ones keeps the count equal to the size of the queue.
+         */
+        long count = appended.get();
+        for (long i = cleared; i < count; i++) {
+            records.poll();
+        }
+        cleared = count;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.integration.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registry of made-up logger names, which test listeners can return to "list"
+ * commands to simulate an application with many loggers.
+ *
+ * The names can be set explicitly, or generated to look like the loggers of a
+ * large application, for example "org.lttng.synthetic.module12.Logger12345".
+ * The registry can be updated while a client is running, a "list" command
+ * sees either the old or the new names.
+ */
+public class SyntheticLoggerRegistry {
+
+    /** Maximum number of loggers a registry can hold */
+    public static final int MAX_LOGGERS = 100000;
+
+    /** Prefix of the generated logger names */
+    public static final String LOGGER_PREFIX = "org.lttng.synthetic.";
+
+    /** Number of generated loggers per "module" package */
+    private static final int LOGGERS_PER_MODULE = 100;
+
+    private volatile List<String> loggers = Collections.emptyList();
+
+    /**
+     * Replace the loggers of the registry with generated ones.
+     *
+     * @param count
+     *            The number of loggers, between 0 and {@link #MAX_LOGGERS}
+     */
+    public void generateLoggers(int count) {
+        checkCount(count);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(getGeneratedName(i));
+        }
+        loggers = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Replace the loggers of the registry.
+     *
+     * @param names
+     *            The logger names, at most {@link #MAX_LOGGERS}
+     */
+    public void setLoggers(Collection<String> names) {
+        checkCount(names.size());
+        loggers = Collections.unmodifiableList(new ArrayList<>(names));
+    }
+
+    /**
+     * Remove all the loggers from the registry.
+     */
+    public void clear() {
+        loggers = Collections.emptyList();
+    }
+
+    /**
+     * @return The logger names currently in the registry
+     */
+    public List<String> getLoggers() {
+        return loggers;
+    }
+
+    /**
+     * Get the name given to a generated logger.
+     *
+     * @param index
+     *            The index of the logger, from 0
+     * @return The name of the logger
+     */
+    public static String getGeneratedName(int index) {
+        return LOGGER_PREFIX + "module" + (index / LOGGERS_PER_MODULE) + ".Logger" + index;
+    }
+
+    private static void checkCount(int count) {
+        if (count < 0 || count > MAX_LOGGERS) {
+            throw new IllegalArgumentException("Invalid number of loggers: " + count);
+        }
+    }
+}
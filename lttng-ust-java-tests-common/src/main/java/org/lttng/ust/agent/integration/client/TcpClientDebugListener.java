@@ -18,11 +18,9 @@
 
 package org.lttng.ust.agent.integration.client;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 
-import org.lttng.ust.agent.client.ILttngTcpClientListener;
 import org.lttng.ust.agent.session.EventRule;
 
 /**
@@ -31,45 +29,24 @@ import org.lttng.ust.agent.session.EventRule;
  *
  * @author Alexandre Montplaisir
  */
-public class TcpClientDebugListener implements ILttngTcpClientListener {
+public class TcpClientDebugListener extends RecordingClientListener {
 
-    private final List<EventRule> enabledEventCommands = Collections.synchronizedList(new ArrayList<>());
-    private final List<String> disabledEventCommands = Collections.synchronizedList(new ArrayList<>());
-
-    private final List<String> enabledAppContextCommands = Collections.synchronizedList(new ArrayList<>());
-    private final List<String> disabledAppContextCommands = Collections.synchronizedList(new ArrayList<>());
-
-    @Override
-    public boolean eventEnabled(EventRule rule) {
-        enabledEventCommands.add(rule);
-        return true;
-    }
-
-    @Override
-    public boolean eventDisabled(String name) {
-        disabledEventCommands.add(name);
-        return true;
-    }
-
-    @Override
-    public boolean appContextEnabled(String contextRetrieverName, String contextName) {
-        enabledAppContextCommands.add(contextRetrieverName + ':' + contextName);
-        return true;
-    }
+    private final SyntheticLoggerRegistry loggerRegistry = new SyntheticLoggerRegistry();
 
+    /**
+     * Return the loggers of {@link #getLoggerRegistry()}, which is empty
+     * unless the test populates it.
+     */
     @Override
-    public boolean appContextDisabled(String contextRetrieverName, String contextName) {
-        disabledAppContextCommands.add(contextRetrieverName + ':' + contextName);
-        return true;
+    protected Collection<String> getAvailableEvents() {
+        return loggerRegistry.getLoggers();
     }
 
     /**
-     * Not yet implemented
+     * @return The registry of the loggers returned to "list" commands
      */
-    @Override
-    public List<String> listAvailableEvents() {
-        // TODO NYI
-        return Collections.EMPTY_LIST;
+    public SyntheticLoggerRegistry getLoggerRegistry() {
+        return loggerRegistry;
     }
 
     /**
@@ -77,9 +54,7 @@ public class TcpClientDebugListener implements ILttngTcpClientListener {
      *         instantiation or the last {@link #clearAllCommands}.
      */
     public List<EventRule> getEnabledEventCommands() {
-        synchronized (enabledEventCommands) {
-            return new ArrayList<>(enabledEventCommands);
-        }
+        return getPayloads(CommandType.EVENT_ENABLED, EventRule.class);
     }
 
     /**
@@ -87,9 +62,7 @@ public class TcpClientDebugListener implements ILttngTcpClientListener {
      *         instantiation or the last {@link #clearAllCommands}.
      */
     public List<String> getDisabledEventCommands() {
-        synchronized (disabledEventCommands) {
-            return new ArrayList<>(disabledEventCommands);
-        }
+        return getPayloads(CommandType.EVENT_DISABLED, String.class);
     }
 
     /**
@@ -97,9 +70,7 @@ public class TcpClientDebugListener implements ILttngTcpClientListener {
      *         or the last {@link #clearAllCommands}.
      */
     public List<String> getEnabledAppContextCommands() {
-        synchronized (enabledAppContextCommands) {
-            return new ArrayList<>(enabledAppContextCommands);
-        }
+        return getPayloads(CommandType.APP_CONTEXT_ENABLED, String.class);
     }
 
     /**
@@ -112,19 +83,22 @@ public class TcpClientDebugListener implements ILttngTcpClientListener {
      * @return The number of "context disabled" commands received.
      */
     public List<String> getDisabledAppContextCommands() {
-        synchronized (disabledAppContextCommands) {
-            return new ArrayList<>(disabledAppContextCommands);
-        }
+        return getPayloads(CommandType.APP_CONTEXT_DISABLED, String.class);
+    }
+
+    /**
+     * @return The number of "list" commands that were received, since
+     *         instantiation or the last {@link #clearAllCommands}.
+     */
+    public int getListCommandCount() {
+        return getPayloads(CommandType.LIST, Object.class).size();
     }
 
     /**
-     * Clear all tracked data.
+     * Clear all tracked data. The logger registry is kept.
      */
     public void clearAllCommands() {
-        enabledEventCommands.clear();
-        disabledEventCommands.clear();
-        enabledAppContextCommands.clear();
-        disabledAppContextCommands.clear();
+        clear();
     }
 
 }
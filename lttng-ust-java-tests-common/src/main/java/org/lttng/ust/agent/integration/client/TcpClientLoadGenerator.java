@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.integration.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.lttng.tools.utils.LatencyHistogram;
+import org.lttng.ust.agent.session.LogLevelSelector.LogLevelType;
+
+/**
+ * Drives a TCP client connected to a {@link MockSessiond} with a scripted
+ * stream of commands, and measures how fast the client processes them.
+ *
+ * The commands are sent one after the other, as the session daemon does, and
+ * the script is repeated as needed. They are either sent back-to-back, or at a
+ * fixed rate. In the latter case, the latency of a command is counted from
+ * the time it should have been sent, so that a slow command also counts
+ * against the ones that had to wait for it.
+ */
+public class TcpClientLoadGenerator {
+
+    /**
+     * One command of a script
+     */
+    @FunctionalInterface
+    public interface ScriptedCommand {
+
+        /**
+         * Send the command and wait for its reply.
+         *
+         * @param agent
+         *            The client to send it to
+         * @return The reply code
+         * @throws IOException
+         *             If the client did not reply
+         */
+        int send(MockSessiond.Agent agent) throws IOException;
+    }
+
+    /**
+     * Results of a run
+     */
+    public static class Result {
+
+        private final long nbCommands;
+        private final long nbFailed;
+        private final long durationNanos;
+        private final LatencyHistogram latencies;
+
+        Result(long nbCommands, long nbFailed, long durationNanos, LatencyHistogram latencies) {
+            this.nbCommands = nbCommands;
+            this.nbFailed = nbFailed;
+            this.durationNanos = durationNanos;
+            this.latencies = latencies;
+        }
+
+        /**
+         * @return The number of commands sent
+         */
+        public long getNbCommands() {
+            return nbCommands;
+        }
+
+        /**
+         * @return The number of commands which did not reply with success
+         */
+        public long getNbFailed() {
+            return nbFailed;
+        }
+
+        /**
+         * @return The duration of the run, in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return The number of commands processed per second
+         */
+        public double getCommandsPerSecond() {
+            return nbCommands * 1e9 / durationNanos;
+        }
+
+        /**
+         * @return The latency of each command, in nanoseconds
+         */
+        public LatencyHistogram getLatencies() {
+            return latencies;
+        }
+    }
+
+    private final MockSessiond.Agent agent;
+    private final List<ScriptedCommand> script;
+    private final long intervalNanos;
+
+    /**
+     * Constructor
+     *
+     * @param agent
+     *            The client to drive
+     * @param script
+     *            The commands to send, repeated as needed
+     * @param rate
+     *            The number of commands to send per second, or 0 to send them
+     *            back-to-back
+     */
+    public TcpClientLoadGenerator(MockSessiond.Agent agent, List<ScriptedCommand> script, long rate) {
+        if (script.isEmpty()) {
+            throw new IllegalArgumentException("Empty script");
+        }
+        if (rate < 0) {
+            throw new IllegalArgumentException("Invalid rate: " + rate);
+        }
+        this.agent = agent;
+        this.script = new ArrayList<>(script);
+        this.intervalNanos = (rate == 0 ? 0 : Math.max(1, 1000000000L / rate));
+    }
+
+    /**
+     * Send commands from the script.
+     *
+     * @param nbCommands
+     *            The number of commands to send
+     * @return The results of the run
+     * @throws IOException
+     *             If the client stopped replying
+     */
+    public Result run(long nbCommands) throws IOException {
+        LatencyHistogram latencies = new LatencyHistogram();
+        long nbFailed = 0;
+        long runStart = System.nanoTime();
+        for (long i = 0; i < nbCommands; i++) {
+            ScriptedCommand command = script.get((int) (i % script.size()));
+
+            long start = System.nanoTime();
+            long intendedStart = start;
+            if (intervalNanos > 0) {
+                intendedStart = runStart + i * intervalNanos;
+                while (start - intendedStart < 0) {
+                    /* Busy-wait, sleeping is not precise enough */
+                    start = System.nanoTime();
+                }
+            }
+            int reply = command.send(agent);
+            long end = System.nanoTime();
+
+            latencies.record(end - intendedStart);
+            if (reply != MockSessiond.REPLY_SUCCESS) {
+                nbFailed++;
+            }
+        }
+        return new Result(nbCommands, nbFailed, System.nanoTime() - runStart, latencies);
+    }
+
+    /**
+     * Create a script representing the churn of an automated tracing
+     * controller: it enables rules for many loggers, with various log level
+     * selectors, along with some application contexts, then disables them
+     * all.
+     *
+     * @param nbRules
+     *            The number of rules to enable then disable
+     * @param contextEvery
+     *            Enable an application context every this many rules, or 0
+     *            for none
+     * @return The script
+     */
+    public static List<ScriptedCommand> ruleChurnScript(int nbRules, int contextEvery) {
+        return ruleChurnScript("org.lttng.churn.", "churn_retriever", nbRules, contextEvery);
+    }
+
+    /**
+     * Same as {@link #ruleChurnScript(int, int)}, with the given logger and
+     * retriever names, so that the commands of different scripts can be told
+     * apart.
+     *
+     * @param loggerPrefix
+     *            Prefix of the logger names, followed by "Logger" and the rule
+     *            number
+     * @param retrieverName
+     *            Name of the context retriever of the application contexts
+     * @param nbRules
+     *            The number of rules to enable then disable
+     * @param contextEvery
+     *            Enable an application context every this many rules, or 0
+     *            for none
+     * @return The script
+     */
+    public static List<ScriptedCommand> ruleChurnScript(String loggerPrefix, String retrieverName,
+            int nbRules, int contextEvery) {
+        List<ScriptedCommand> enables = new ArrayList<>();
+        List<ScriptedCommand> disables = new ArrayList<>();
+        LogLevelType[] types = LogLevelType.values();
+        for (int i = 0; i < nbRules; i++) {
+            String eventName = loggerPrefix + "Logger" + i;
+            String filter = "logger_name == \"" + eventName + "\"";
+            int logLevelType = types[i % types.length].ordinal();
+            int logLevel = (logLevelType == LogLevelType.LTTNG_EVENT_LOGLEVEL_ALL.ordinal() ? 0 : 800);
+            enables.add(agent -> agent.enableEvent(eventName, logLevel, logLevelType, filter));
+            disables.add(agent -> agent.disableEvent(eventName));
+
+            if (contextEvery > 0 && i % contextEvery == 0) {
+                String contextName = "context" + i;
+                enables.add(agent -> agent.enableAppContext(retrieverName, contextName));
+                disables.add(agent -> agent.disableAppContext(retrieverName, contextName));
+            }
+        }
+        List<ScriptedCommand> script = new ArrayList<>(enables);
+        script.addAll(disables);
+        return Collections.unmodifiableList(script);
+    }
+}
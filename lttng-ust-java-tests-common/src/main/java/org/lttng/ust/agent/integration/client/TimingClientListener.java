@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.integration.client;
+
+import java.util.Collection;
+
+import org.lttng.tools.utils.LatencyHistogram;
+import org.lttng.ust.agent.client.ILttngTcpClientListener;
+import org.lttng.ust.agent.session.EventRule;
+
+/**
+ * TCP client listener which measures the time spent in the callbacks of
+ * another listener.
+ */
+public class TimingClientListener implements ILttngTcpClientListener {
+
+    private final ILttngTcpClientListener delegate;
+    private final LatencyHistogram callbackTimes = new LatencyHistogram();
+
+    /**
+     * Constructor
+     *
+     * @param delegate
+     *            The listener to time
+     */
+    public TimingClientListener(ILttngTcpClientListener delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return The time spent in each callback, in nanoseconds, since
+     *         instantiation or since the histogram was last reset
+     */
+    public LatencyHistogram getCallbackTimes() {
+        return callbackTimes;
+    }
+
+    @Override
+    public boolean eventEnabled(EventRule rule) {
+        long start = System.nanoTime();
+        boolean ret = delegate.eventEnabled(rule);
+        callbackTimes.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public boolean eventDisabled(String name) {
+        long start = System.nanoTime();
+        boolean ret = delegate.eventDisabled(name);
+        callbackTimes.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public boolean appContextEnabled(String contextRetrieverName, String contextName) {
+        long start = System.nanoTime();
+        boolean ret = delegate.appContextEnabled(contextRetrieverName, contextName);
+        callbackTimes.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public boolean appContextDisabled(String contextRetrieverName, String contextName) {
+        long start = System.nanoTime();
+        boolean ret = delegate.appContextDisabled(contextRetrieverName, contextName);
+        callbackTimes.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public Collection<String> listAvailableEvents() {
+        long start = System.nanoTime();
+        Collection<String> ret = delegate.listAvailableEvents();
+        callbackTimes.record(System.nanoTime() - start);
+        return ret;
+    }
+}
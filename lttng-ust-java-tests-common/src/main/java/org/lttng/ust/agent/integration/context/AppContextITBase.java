@@ -18,6 +18,7 @@
 
 package org.lttng.ust.agent.integration.context;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -25,6 +26,8 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,8 +35,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.lttng.tools.ILttngSession;
 import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.tools.TraceEvent;
 import org.lttng.ust.agent.ILttngHandler;
 import org.lttng.ust.agent.context.ContextInfoManager;
+import org.lttng.ust.agent.utils.CommandMetricsExtension;
 import org.lttng.ust.agent.utils.TestPrintExtension;
 
 /**
@@ -41,6 +46,7 @@ import org.lttng.ust.agent.utils.TestPrintExtension;
  * presence of enabled application contexts in resulting traces.
  */
 @ExtendWith(TestPrintExtension.class)
+@ExtendWith(CommandMetricsExtension.class)
 public abstract class AppContextITBase {
 
     protected static final String EVENT_NAME = "EventName";
@@ -99,34 +105,32 @@ public abstract class AppContextITBase {
 
     /**
      * Utility method to check that a context is present in all events of a
-     * trace output.
+     * trace, with the given value. A null value means the context has no
+     * value.
      */
-    private static void testContextPresentInTrace(List<String> traceOutput, String retrieverName, String contextName, String contextValue) {
-        String traceRetrieverName = convertToNameInTrace(retrieverName);
-        String traceContextName = convertToNameInTrace(contextName);
-
-        String fullString = "_app_" + traceRetrieverName + "_" + traceContextName + " = " + contextValue;
-        traceOutput.forEach(line -> assertTrue(line.contains(fullString)));
+    private static void testContextPresentInTrace(List<TraceEvent> events, String retrieverName, String contextName, Object contextValue) {
+        events.forEach(event -> {
+            assertTrue(event.hasAppContext(retrieverName, contextName));
+            assertEquals(contextValue, event.getAppContext(retrieverName, contextName));
+        });
     }
 
     /**
      * Utility method to check that a context is *absent* from all events of a
-     * trace output
+     * trace
      */
-    private static void testContextNotPresentInTrace(List<String> traceOutput, String retrieverName, String contextName) {
-        String traceRetrieverName = convertToNameInTrace(retrieverName);
-        String traceContextName = convertToNameInTrace(contextName);
-
-        String fullString = "_app_" + traceRetrieverName + "_" + traceContextName;
-        traceOutput.forEach(line -> assertFalse(line.contains(fullString)));
+    private static void testContextNotPresentInTrace(List<TraceEvent> events, String retrieverName, String contextName) {
+        events.forEach(event -> assertFalse(event.hasAppContext(retrieverName, contextName)));
     }
 
     /**
-     * LTTng accepts periods in context names, but ends up printing them as
-     * underscores in the trace, so the metadata grammar remains valid.
+     * Utility method to view the events of the session's trace.
      */
-    private static String convertToNameInTrace(String name) {
-        return name.replace('.', '_');
+    private List<TraceEvent> viewEvents() {
+        try (Stream<TraceEvent> events = session.viewEvents()) {
+            assertNotNull(events);
+            return events.collect(Collectors.toList());
+        }
     }
 
     /**
@@ -140,12 +144,11 @@ public abstract class AppContextITBase {
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertFalse(output.isEmpty());
 
         /* Test that there is no "_app" contexts in the output */
-        output.forEach(line -> assertFalse(line.contains("_app")));
+        output.forEach(event -> assertTrue(event.getAppContexts().isEmpty()));
     }
 
     /**
@@ -162,12 +165,11 @@ public abstract class AppContextITBase {
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertFalse(output.isEmpty());
 
         /* Test that there is no "_app" contexts in the output */
-        output.forEach(line -> assertFalse(line.contains("_app")));
+        output.forEach(event -> assertTrue(event.getAppContexts().isEmpty()));
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -186,12 +188,11 @@ public abstract class AppContextITBase {
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertFalse(output.isEmpty());
 
         /* Test that context name is there but value is not */
-        testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME, "{ { } } }");
+        testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME, null);
     }
 
     /**
@@ -209,13 +210,12 @@ public abstract class AppContextITBase {
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertFalse(output.isEmpty());
 
         /* Test that context name + value are present */
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ \"" + ContextInfoRetrieverStubs.STRING_VALUE + "\" }");
+                ContextInfoRetrieverStubs.STRING_VALUE);
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -236,13 +236,12 @@ public abstract class AppContextITBase {
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertFalse(output.isEmpty());
 
         /* Test that only retriever-name-2 is present, with no value */
         testContextNotPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME);
-        testContextPresentInTrace(output, RETRIEVER_NAME_2, CONTEXT_NAME, "{ { } } }");
+        testContextPresentInTrace(output, RETRIEVER_NAME_2, CONTEXT_NAME, null);
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -264,13 +263,12 @@ public abstract class AppContextITBase {
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertFalse(output.isEmpty());
 
         /* Test that only retriever-name-1 is present, name + value */
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ \"" + ContextInfoRetrieverStubs.STRING_VALUE + "\" }");
+                ContextInfoRetrieverStubs.STRING_VALUE);
         testContextNotPresentInTrace(output, RETRIEVER_NAME_2, CONTEXT_NAME);
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
@@ -294,14 +292,13 @@ public abstract class AppContextITBase {
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertFalse(output.isEmpty());
 
         /* Test that both contexts are present, but only retriever-1's has a value */
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ \"" + ContextInfoRetrieverStubs.STRING_VALUE + "\" }");
-        testContextPresentInTrace(output, RETRIEVER_NAME_2, CONTEXT_NAME, "{ { } } }");
+                ContextInfoRetrieverStubs.STRING_VALUE);
+        testContextPresentInTrace(output, RETRIEVER_NAME_2, CONTEXT_NAME, null);
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -314,15 +311,14 @@ public abstract class AppContextITBase {
      * Utility method to enable all events, add the one context we are looking
      * for, take a trace, and return the trace output.
      */
-    private List<String> enableContextAndTrace() {
+    private List<TraceEvent> enableContextAndTrace() {
         assertTrue(session.enableAllEvents());
         assertTrue(session.enableAppContext(RETRIEVER_NAME_1, CONTEXT_NAME));
         assertTrue(session.start());
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertFalse(output.isEmpty());
 
         return output;
@@ -335,8 +331,8 @@ public abstract class AppContextITBase {
     public void testContextValueNull() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.NULL_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
-        testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME, "{ { } } }");
+        List<TraceEvent> output = enableContextAndTrace();
+        testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME, null);
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -348,9 +344,9 @@ public abstract class AppContextITBase {
     public void testContextValueInteger() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.INTEGER_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
+        List<TraceEvent> output = enableContextAndTrace();
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ " + ContextInfoRetrieverStubs.INTEGER_VALUE + " } }");
+                Long.valueOf(ContextInfoRetrieverStubs.INTEGER_VALUE.longValue()));
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -362,9 +358,9 @@ public abstract class AppContextITBase {
     public void testContextValueLong() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.LONG_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
+        List<TraceEvent> output = enableContextAndTrace();
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ " + ContextInfoRetrieverStubs.LONG_VALUE + " } }");
+                Long.valueOf(ContextInfoRetrieverStubs.LONG_VALUE.longValue()));
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -376,9 +372,9 @@ public abstract class AppContextITBase {
     public void testContextValueDouble() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.DOUBLE_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
+        List<TraceEvent> output = enableContextAndTrace();
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ " + ContextInfoRetrieverStubs.DOUBLE_VALUE + " } }");
+                ContextInfoRetrieverStubs.DOUBLE_VALUE);
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -390,9 +386,9 @@ public abstract class AppContextITBase {
     public void testContextValueCharacter() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.CHARACTER_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
+        List<TraceEvent> output = enableContextAndTrace();
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ \"" + ContextInfoRetrieverStubs.CHARACTER_VALUE + "\" } }");
+                ContextInfoRetrieverStubs.CHARACTER_VALUE.toString());
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -404,9 +400,9 @@ public abstract class AppContextITBase {
     public void testContextValueFloat() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.FLOAT_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
+        List<TraceEvent> output = enableContextAndTrace();
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ " + ContextInfoRetrieverStubs.FLOAT_VALUE + " } }");
+                Double.valueOf(ContextInfoRetrieverStubs.FLOAT_VALUE.toString()));
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -418,9 +414,9 @@ public abstract class AppContextITBase {
     public void testContextValueByte() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.BYTE_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
+        List<TraceEvent> output = enableContextAndTrace();
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ " + ContextInfoRetrieverStubs.BYTE_VALUE + " } }");
+                Long.valueOf(ContextInfoRetrieverStubs.BYTE_VALUE.longValue()));
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -432,9 +428,9 @@ public abstract class AppContextITBase {
     public void testContextValueShort() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.SHORT_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
+        List<TraceEvent> output = enableContextAndTrace();
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ " + ContextInfoRetrieverStubs.SHORT_VALUE + " } }");
+                Long.valueOf(ContextInfoRetrieverStubs.SHORT_VALUE.longValue()));
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -446,8 +442,8 @@ public abstract class AppContextITBase {
     public void testContextValueBooleanTrue() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.BOOLEAN_TRUE_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
-        testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME, "{ 1 } }");
+        List<TraceEvent> output = enableContextAndTrace();
+        testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME, Long.valueOf(1));
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -459,8 +455,8 @@ public abstract class AppContextITBase {
     public void testContextValueBooleanFalse() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.BOOLEAN_FALSE_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
-        testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME, "{ 0 } }");
+        List<TraceEvent> output = enableContextAndTrace();
+        testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME, Long.valueOf(0));
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -472,9 +468,9 @@ public abstract class AppContextITBase {
     public void testContextValueString() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.STRING_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
+        List<TraceEvent> output = enableContextAndTrace();
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ \"" + ContextInfoRetrieverStubs.STRING_VALUE + "\" } }");
+                ContextInfoRetrieverStubs.STRING_VALUE);
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -486,9 +482,9 @@ public abstract class AppContextITBase {
     public void testContextValueObject() {
         assertTrue(cim.registerContextInfoRetriever(RETRIEVER_NAME_1, ContextInfoRetrieverStubs.OBJECT_RETRIEVER));
 
-        List<String> output = enableContextAndTrace();
+        List<TraceEvent> output = enableContextAndTrace();
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ \"" + ContextInfoRetrieverStubs.OBJECT_VALUE.toString() + "\" } }");
+                ContextInfoRetrieverStubs.OBJECT_VALUE.toString());
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -515,8 +511,7 @@ public abstract class AppContextITBase {
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertFalse(output.isEmpty());
 
         testContextNotPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME);
@@ -541,8 +536,7 @@ public abstract class AppContextITBase {
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertTrue(output.isEmpty());
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
@@ -565,12 +559,11 @@ public abstract class AppContextITBase {
         sendEventsToLoggers();
         assertTrue(session.stop());
 
-        List<String> output = session.view();
-        assertNotNull(output);
+        List<TraceEvent> output = viewEvents();
         assertFalse(output.isEmpty());
 
         testContextPresentInTrace(output, RETRIEVER_NAME_1, CONTEXT_NAME,
-                "{ \"" + ContextInfoRetrieverStubs.STRING_VALUE + "\" } }");
+                ContextInfoRetrieverStubs.STRING_VALUE);
 
         assertTrue(cim.unregisterContextInfoRetriever(RETRIEVER_NAME_1));
     }
@@ -37,6 +37,7 @@ import org.lttng.tools.ILttngSession.Domain;
 import org.lttng.ust.agent.ILttngHandler;
 import org.lttng.ust.agent.context.ContextInfoManager;
 import org.lttng.ust.agent.context.IContextInfoRetriever;
+import org.lttng.ust.agent.utils.CommandMetricsExtension;
 import org.lttng.ust.agent.utils.TestPrintExtension;
 
 /**
@@ -52,6 +53,7 @@ import org.lttng.ust.agent.utils.TestPrintExtension;
  * possible cases. The goal of this class is to test all these cases.
  */
 @ExtendWith(TestPrintExtension.class)
+@ExtendWith(CommandMetricsExtension.class)
 public abstract class AppContextOrderingITBase {
 
     protected static final String EVENT_NAME = "EventName";
@@ -24,6 +24,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,7 +33,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.lttng.tools.ILttngSession;
 import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.tools.TraceEvent;
 import org.lttng.ust.agent.ILttngHandler;
+import org.lttng.ust.agent.utils.CommandMetricsExtension;
 import org.lttng.ust.agent.utils.TestPrintExtension;
 
 /**
@@ -39,6 +43,7 @@ import org.lttng.ust.agent.utils.TestPrintExtension;
  * presence of enabled events in resulting traces.
  */
 @ExtendWith(TestPrintExtension.class)
+@ExtendWith(CommandMetricsExtension.class)
 public abstract class EnabledEventsITBase {
 
     protected static final String EVENT_NAME_A = "EventA";
@@ -289,10 +294,13 @@ public abstract class EnabledEventsITBase {
         assertTrue(session.stop());
         assertEquals(1, handlerA.getEventCount());
 
-        List<String> output = session.view();
+        List<TraceEvent> events;
+        try (Stream<TraceEvent> stream = session.viewEvents()) {
+            assertNotNull(stream);
+            events = stream.collect(Collectors.toList());
+        }
 
-        assertNotNull(output);
-        assertEquals(1, output.size());
-        assertTrue(output.get(0).contains("msg = \"Message with a localized value: 10 and some others: [1000, 1001, 1002]\""));
+        assertEquals(1, events.size());
+        assertEquals("Message with a localized value: 10 and some others: [1000, 1001, 1002]", events.get(0).getMsg());
     }
 }
@@ -30,12 +30,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.lttng.tools.ILttngSession;
+import org.lttng.ust.agent.utils.CommandMetricsExtension;
 import org.lttng.ust.agent.utils.TestPrintExtension;
 
 /**
  * Base class for the list events command tests
  */
 @ExtendWith(TestPrintExtension.class)
+@ExtendWith(CommandMetricsExtension.class)
 public abstract class ListEventsITBase {
 
     protected static final String LOGGER_NAME_1 = "org.lttng.somecomponent";
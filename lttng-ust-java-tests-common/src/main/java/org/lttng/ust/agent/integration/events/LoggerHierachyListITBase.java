@@ -33,6 +33,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.lttng.tools.ILttngSession;
+import org.lttng.ust.agent.utils.CommandMetricsExtension;
 import org.lttng.ust.agent.utils.TestPrintExtension;
 
 /**
@@ -47,6 +48,7 @@ import org.lttng.ust.agent.utils.TestPrintExtension;
  * @author Alexandre Montplaisir
  */
 @ExtendWith(TestPrintExtension.class)
+@ExtendWith(CommandMetricsExtension.class)
 public abstract class LoggerHierachyListITBase {
 
     protected static final String PARENT_LOGGER = "org.lttng";
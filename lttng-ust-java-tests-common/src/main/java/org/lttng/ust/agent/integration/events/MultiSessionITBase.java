@@ -22,21 +22,37 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.lttng.tools.AsyncLttngSession;
 import org.lttng.tools.ILttngSession;
 import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.tools.TraceEvent;
 import org.lttng.ust.agent.ILttngHandler;
+import org.lttng.ust.agent.utils.CommandMetricsExtension;
 import org.lttng.ust.agent.utils.TestPrintExtension;
 
 /**
  * Base abstract class for tests with multiple concurrent tracing sessions
+ *
+ * The operations which apply to all the sessions, like creating, starting
+ * and stopping them, are run concurrently.
  */
 @ExtendWith(TestPrintExtension.class)
+@ExtendWith(CommandMetricsExtension.class)
 public abstract class MultiSessionITBase {
 
     protected static final String EVENT_NAME_A = "EventA";
@@ -44,9 +60,13 @@ public abstract class MultiSessionITBase {
     protected static final String EVENT_NAME_C = "EventABC";
     protected static final String EVENT_NAME_D = "EventABCDÉ";
 
-    private ILttngSession session1;
-    private ILttngSession session2;
-    private ILttngSession session3;
+    private static final int NB_SESSIONS = 3;
+
+    private ExecutorService executor;
+
+    private AsyncLttngSession session1;
+    private AsyncLttngSession session2;
+    private AsyncLttngSession session3;
 
     /* Fields defined by the sub-class */
     protected ILttngHandler handlerA;
@@ -64,10 +84,27 @@ public abstract class MultiSessionITBase {
      * Base test setup
      */
     @BeforeEach
+    @SuppressWarnings("resource")
     public void testSetup() {
-        session1 = ILttngSession.createSession(null, getDomain());
-        session2 = ILttngSession.createSession(null, getDomain());
-        session3 = ILttngSession.createSession(null, getDomain());
+        executor = Executors.newFixedThreadPool(NB_SESSIONS);
+
+        List<CompletableFuture<ILttngSession>> created = new ArrayList<>();
+        for (int i = 0; i < NB_SESSIONS; i++) {
+            created.add(CompletableFuture.supplyAsync(() -> ILttngSession.createSession(null, getDomain()), executor));
+        }
+        try {
+            CompletableFuture.allOf(created.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            /* Destroy the sessions which could be created */
+            created.stream()
+                    .filter(future -> !future.isCompletedExceptionally())
+                    .forEach(future -> future.join().close());
+            executor.shutdown();
+            throw e;
+        }
+        session1 = created.get(0).join().async(executor);
+        session2 = created.get(1).join().async(executor);
+        session3 = created.get(2).join().async(executor);
     }
 
     /**
@@ -75,9 +112,13 @@ public abstract class MultiSessionITBase {
      */
     @AfterEach
     public void testTeardown() {
-        session1.close();
-        session2.close();
-        session3.close();
+        if (session1 != null) {
+            CompletableFuture.allOf(session1.close(), session2.close(), session3.close()).join();
+            session1 = null;
+            session2 = null;
+            session3 = null;
+        }
+        executor.shutdown();
 
         if (closeHandlers()) {
             handlerA.close();
@@ -97,25 +138,16 @@ public abstract class MultiSessionITBase {
      */
     @Test
     public void testNoEvents() {
-        assertTrue(session1.start());
-        assertTrue(session2.start());
-        assertTrue(session3.start());
+        assertTrue(forAllSessions(AsyncLttngSession::start));
 
         sendEventsToLoggers();
 
-        assertTrue(session1.stop());
-        assertTrue(session2.stop());
-        assertTrue(session3.stop());
+        assertTrue(forAllSessions(AsyncLttngSession::stop));
 
-        List<String> output1 = session1.view();
-        List<String> output2 = session2.view();
-        List<String> output3 = session3.view();
-        assertNotNull(output1);
-        assertNotNull(output2);
-        assertNotNull(output3);
-        assertTrue(output1.isEmpty());
-        assertTrue(output2.isEmpty());
-        assertTrue(output3.isEmpty());
+        List<List<TraceEvent>> outputs = viewAllSessions();
+        assertEventCounts(outputs.get(0), 0, 0, 0, 0);
+        assertEventCounts(outputs.get(1), 0, 0, 0, 0);
+        assertEventCounts(outputs.get(2), 0, 0, 0, 0);
 
         assertEquals(0, handlerA.getEventCount());
         assertEquals(0, handlerB.getEventCount());
@@ -129,26 +161,17 @@ public abstract class MultiSessionITBase {
      */
     @Test
     public void testAllEventsOneSession() {
-        assertTrue(session1.enableAllEvents());
-        assertTrue(session1.start());
-        assertTrue(session2.start());
-        assertTrue(session3.start());
+        assertTrue(session1.enableAllEvents().join().booleanValue());
+        assertTrue(forAllSessions(AsyncLttngSession::start));
 
         sendEventsToLoggers();
 
-        assertTrue(session1.stop());
-        assertTrue(session2.stop());
-        assertTrue(session3.stop());
+        assertTrue(forAllSessions(AsyncLttngSession::stop));
 
-        List<String> output1 = session1.view();
-        List<String> output2 = session2.view();
-        List<String> output3 = session3.view();
-        assertNotNull(output1);
-        assertNotNull(output2);
-        assertNotNull(output3);
-        assertEquals(40, output1.size());
-        assertTrue(output2.isEmpty());
-        assertTrue(output3.isEmpty());
+        List<List<TraceEvent>> outputs = viewAllSessions();
+        assertEventCounts(outputs.get(0), 10, 10, 10, 10);
+        assertEventCounts(outputs.get(1), 0, 0, 0, 0);
+        assertEventCounts(outputs.get(2), 0, 0, 0, 0);
 
         assertEquals(10, handlerA.getEventCount());
         assertEquals(10, handlerB.getEventCount());
@@ -162,28 +185,19 @@ public abstract class MultiSessionITBase {
      */
     @Test
     public void testAllEventsAllSessions() {
-        assertTrue(session1.enableAllEvents());
-        assertTrue(session2.enableAllEvents());
-        assertTrue(session3.enableAllEvents());
-        assertTrue(session1.start());
-        assertTrue(session2.start());
-        assertTrue(session3.start());
+        assertTrue(session1.enableAllEvents().join().booleanValue());
+        assertTrue(session2.enableAllEvents().join().booleanValue());
+        assertTrue(session3.enableAllEvents().join().booleanValue());
+        assertTrue(forAllSessions(AsyncLttngSession::start));
 
         sendEventsToLoggers();
 
-        assertTrue(session1.stop());
-        assertTrue(session2.stop());
-        assertTrue(session3.stop());
+        assertTrue(forAllSessions(AsyncLttngSession::stop));
 
-        List<String> output1 = session1.view();
-        List<String> output2 = session2.view();
-        List<String> output3 = session3.view();
-        assertNotNull(output1);
-        assertNotNull(output2);
-        assertNotNull(output3);
-        assertEquals(40, output1.size());
-        assertEquals(40, output2.size());
-        assertEquals(40, output3.size());
+        List<List<TraceEvent>> outputs = viewAllSessions();
+        assertEventCounts(outputs.get(0), 10, 10, 10, 10);
+        assertEventCounts(outputs.get(1), 10, 10, 10, 10);
+        assertEventCounts(outputs.get(2), 10, 10, 10, 10);
 
         assertEquals(10, handlerA.getEventCount());
         assertEquals(10, handlerB.getEventCount());
@@ -196,27 +210,18 @@ public abstract class MultiSessionITBase {
      */
     @Test
     public void testSomeEvents() {
-        assertTrue(session1.enableEvents(EVENT_NAME_A));
-        assertTrue(session2.enableEvents(EVENT_NAME_B));
-        assertTrue(session1.start());
-        assertTrue(session2.start());
-        assertTrue(session3.start());
+        assertTrue(session1.enableEvents(EVENT_NAME_A).join().booleanValue());
+        assertTrue(session2.enableEvents(EVENT_NAME_B).join().booleanValue());
+        assertTrue(forAllSessions(AsyncLttngSession::start));
 
         sendEventsToLoggers();
 
-        assertTrue(session1.stop());
-        assertTrue(session2.stop());
-        assertTrue(session3.stop());
+        assertTrue(forAllSessions(AsyncLttngSession::stop));
 
-        List<String> output1 = session1.view();
-        List<String> output2 = session2.view();
-        List<String> output3 = session3.view();
-        assertNotNull(output1);
-        assertNotNull(output2);
-        assertNotNull(output3);
-        assertEquals(10, output1.size());
-        assertEquals(10, output2.size());
-        assertEquals(0, output3.size());
+        List<List<TraceEvent>> outputs = viewAllSessions();
+        assertEventCounts(outputs.get(0), 10, 0, 0, 0);
+        assertEventCounts(outputs.get(1), 0, 10, 0, 0);
+        assertEventCounts(outputs.get(2), 0, 0, 0, 0);
 
         assertEquals(10, handlerA.getEventCount());
         assertEquals(10, handlerB.getEventCount());
@@ -230,27 +235,18 @@ public abstract class MultiSessionITBase {
      */
     @Test
     public void testAllEventsAndSome() {
-        assertTrue(session1.enableAllEvents());
-        assertTrue(session2.enableEvents(EVENT_NAME_D));
-        assertTrue(session1.start());
-        assertTrue(session2.start());
-        assertTrue(session3.start());
+        assertTrue(session1.enableAllEvents().join().booleanValue());
+        assertTrue(session2.enableEvents(EVENT_NAME_D).join().booleanValue());
+        assertTrue(forAllSessions(AsyncLttngSession::start));
 
         sendEventsToLoggers();
 
-        assertTrue(session1.stop());
-        assertTrue(session2.stop());
-        assertTrue(session3.stop());
+        assertTrue(forAllSessions(AsyncLttngSession::stop));
 
-        List<String> output1 = session1.view();
-        List<String> output2 = session2.view();
-        List<String> output3 = session3.view();
-        assertNotNull(output1);
-        assertNotNull(output2);
-        assertNotNull(output3);
-        assertEquals(40, output1.size());
-        assertEquals(10, output2.size());
-        assertEquals(0, output3.size());
+        List<List<TraceEvent>> outputs = viewAllSessions();
+        assertEventCounts(outputs.get(0), 10, 10, 10, 10);
+        assertEventCounts(outputs.get(1), 0, 0, 0, 10);
+        assertEventCounts(outputs.get(2), 0, 0, 0, 0);
 
         assertEquals(10, handlerA.getEventCount());
         assertEquals(10, handlerB.getEventCount());
@@ -264,33 +260,24 @@ public abstract class MultiSessionITBase {
      */
     @Test
     public void testSomeEventsAfterDisabling() {
-        assertTrue(session1.enableEvents(EVENT_NAME_A, EVENT_NAME_B, EVENT_NAME_C));
-        assertTrue(session2.enableEvents(EVENT_NAME_B, EVENT_NAME_C, EVENT_NAME_D));
-        assertTrue(session3.enableEvents(EVENT_NAME_A));
+        assertTrue(session1.enableEvents(EVENT_NAME_A, EVENT_NAME_B, EVENT_NAME_C).join().booleanValue());
+        assertTrue(session2.enableEvents(EVENT_NAME_B, EVENT_NAME_C, EVENT_NAME_D).join().booleanValue());
+        assertTrue(session3.enableEvents(EVENT_NAME_A).join().booleanValue());
 
-        assertTrue(session1.disableEvents(EVENT_NAME_C));
-        assertTrue(session2.disableEvents(EVENT_NAME_B, EVENT_NAME_C));
-        assertTrue(session3.disableEvents(EVENT_NAME_A));
+        assertTrue(session1.disableEvents(EVENT_NAME_C).join().booleanValue());
+        assertTrue(session2.disableEvents(EVENT_NAME_B, EVENT_NAME_C).join().booleanValue());
+        assertTrue(session3.disableEvents(EVENT_NAME_A).join().booleanValue());
 
-        assertTrue(session1.start());
-        assertTrue(session2.start());
-        assertTrue(session3.start());
+        assertTrue(forAllSessions(AsyncLttngSession::start));
 
         sendEventsToLoggers();
 
-        assertTrue(session1.stop());
-        assertTrue(session2.stop());
-        assertTrue(session3.stop());
+        assertTrue(forAllSessions(AsyncLttngSession::stop));
 
-        List<String> output1 = session1.view();
-        List<String> output2 = session2.view();
-        List<String> output3 = session3.view();
-        assertNotNull(output1);
-        assertNotNull(output2);
-        assertNotNull(output3);
-        assertEquals(20, output1.size());
-        assertEquals(10, output2.size());
-        assertEquals(0, output3.size());
+        List<List<TraceEvent>> outputs = viewAllSessions();
+        assertEventCounts(outputs.get(0), 10, 10, 0, 0);
+        assertEventCounts(outputs.get(1), 0, 0, 0, 10);
+        assertEventCounts(outputs.get(2), 0, 0, 0, 0);
 
         assertEquals(10, handlerA.getEventCount());
         assertEquals(10, handlerB.getEventCount());
@@ -303,27 +290,18 @@ public abstract class MultiSessionITBase {
      */
     @Test
     public void testPrefixAndEvent() {
-        assertTrue(session1.enableEvents("EventAB*"));
-        assertTrue(session3.enableEvents(EVENT_NAME_A));
-        assertTrue(session1.start());
-        assertTrue(session2.start());
-        assertTrue(session3.start());
+        assertTrue(session1.enableEvents("EventAB*").join().booleanValue());
+        assertTrue(session3.enableEvents(EVENT_NAME_A).join().booleanValue());
+        assertTrue(forAllSessions(AsyncLttngSession::start));
 
         sendEventsToLoggers();
 
-        assertTrue(session1.stop());
-        assertTrue(session2.stop());
-        assertTrue(session3.stop());
+        assertTrue(forAllSessions(AsyncLttngSession::stop));
 
-        List<String> output1 = session1.view();
-        List<String> output2 = session2.view();
-        List<String> output3 = session3.view();
-        assertNotNull(output1);
-        assertNotNull(output2);
-        assertNotNull(output3);
-        assertEquals(30, output1.size());
-        assertEquals(0, output2.size());
-        assertEquals(10, output3.size());
+        List<List<TraceEvent>> outputs = viewAllSessions();
+        assertEventCounts(outputs.get(0), 0, 10, 10, 10);
+        assertEventCounts(outputs.get(1), 0, 0, 0, 0);
+        assertEventCounts(outputs.get(2), 10, 0, 0, 0);
 
         assertEquals(10, handlerA.getEventCount());
         assertEquals(10, handlerB.getEventCount());
@@ -337,31 +315,65 @@ public abstract class MultiSessionITBase {
      */
     @Test
     public void testAllEventsAndPrefix() {
-        assertTrue(session1.enableAllEvents());
-        assertTrue(session2.enableEvents("EventABC*"));
-        assertTrue(session1.start());
-        assertTrue(session2.start());
-        assertTrue(session3.start());
+        assertTrue(session1.enableAllEvents().join().booleanValue());
+        assertTrue(session2.enableEvents("EventABC*").join().booleanValue());
+        assertTrue(forAllSessions(AsyncLttngSession::start));
 
         sendEventsToLoggers();
 
-        assertTrue(session1.stop());
-        assertTrue(session2.stop());
-        assertTrue(session3.stop());
+        assertTrue(forAllSessions(AsyncLttngSession::stop));
 
-        List<String> output1 = session1.view();
-        List<String> output2 = session2.view();
-        List<String> output3 = session3.view();
-        assertNotNull(output1);
-        assertNotNull(output2);
-        assertNotNull(output3);
-        assertEquals(40, output1.size());
-        assertEquals(20, output2.size());
-        assertEquals(0, output3.size());
+        List<List<TraceEvent>> outputs = viewAllSessions();
+        assertEventCounts(outputs.get(0), 10, 10, 10, 10);
+        assertEventCounts(outputs.get(1), 0, 0, 10, 10);
+        assertEventCounts(outputs.get(2), 0, 0, 0, 0);
 
         assertEquals(10, handlerA.getEventCount());
         assertEquals(10, handlerB.getEventCount());
         assertEquals(10, handlerC.getEventCount());
         assertEquals(10, handlerD.getEventCount());
     }
+
+    // ------------------------------------------------------------------------
+    // Private helper methods
+    // ------------------------------------------------------------------------
+
+    /**
+     * Run one operation on all the sessions concurrently.
+     *
+     * @return If the operation succeeded on every session
+     */
+    private boolean forAllSessions(Function<AsyncLttngSession, CompletableFuture<Boolean>> operation) {
+        return AsyncLttngSession.forAll(Arrays.asList(session1, session2, session3), operation);
+    }
+
+    /**
+     * View the traces of all the sessions concurrently.
+     *
+     * @return The events of session1, session2 and session3, in that order
+     */
+    private List<List<TraceEvent>> viewAllSessions() {
+        List<CompletableFuture<List<TraceEvent>>> outputs = Arrays.asList(session1, session2, session3).stream()
+                .map(AsyncLttngSession::viewEvents)
+                .collect(Collectors.toList());
+        return outputs.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Check the number of events of each logger in the trace of one session.
+     * The loggers are named after the events.
+     */
+    private static void assertEventCounts(List<TraceEvent> events, int nbEventsA, int nbEventsB, int nbEventsC, int nbEventsD) {
+        assertNotNull(events);
+        Map<String, Long> counts = events.stream()
+                .collect(Collectors.groupingBy(TraceEvent::getLoggerName, Collectors.counting()));
+
+        assertEquals(nbEventsA, counts.getOrDefault(EVENT_NAME_A, Long.valueOf(0)).intValue(), EVENT_NAME_A);
+        assertEquals(nbEventsB, counts.getOrDefault(EVENT_NAME_B, Long.valueOf(0)).intValue(), EVENT_NAME_B);
+        assertEquals(nbEventsC, counts.getOrDefault(EVENT_NAME_C, Long.valueOf(0)).intValue(), EVENT_NAME_C);
+        assertEquals(nbEventsD, counts.getOrDefault(EVENT_NAME_D, Long.valueOf(0)).intValue(), EVENT_NAME_D);
+        assertEquals(nbEventsA + nbEventsB + nbEventsC + nbEventsD, events.size());
+    }
 }
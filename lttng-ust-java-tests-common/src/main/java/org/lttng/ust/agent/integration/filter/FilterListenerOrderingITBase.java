@@ -32,6 +32,7 @@ import org.lttng.tools.ILttngSession;
 import org.lttng.ust.agent.filter.FilterChangeNotifier;
 import org.lttng.ust.agent.integration.filter.FilterListenerITBase.TestFilterListener;
 import org.lttng.ust.agent.session.EventRule;
+import org.lttng.ust.agent.utils.CommandMetricsExtension;
 import org.lttng.ust.agent.utils.EventRuleFactory;
 import org.lttng.ust.agent.utils.TestPrintExtension;
 
@@ -68,6 +69,7 @@ import org.lttng.ust.agent.utils.TestPrintExtension;
  * </p>
  */
 @ExtendWith(TestPrintExtension.class)
+@ExtendWith(CommandMetricsExtension.class)
 @SuppressWarnings("javadoc")
 public abstract class FilterListenerOrderingITBase {
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.utils;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
+import org.lttng.tools.CommandMetrics;
+
+/**
+ * Test extension that prints, after each test, how much time went into each
+ * type of command that was run during the test, including its setup and
+ * teardown methods. See {@link CommandMetrics}.
+ */
+public class CommandMetricsExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final String START_METRICS = "start metrics";
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws Exception {
+        getStore(context).put(START_METRICS, CommandMetrics.snapshot());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        CommandMetrics.Snapshot start = getStore(context).remove(START_METRICS, CommandMetrics.Snapshot.class);
+        CommandMetrics.Snapshot metrics = CommandMetrics.snapshot().since(start);
+        if (metrics.getCommandCount() == 0) {
+            return;
+        }
+        System.out.println("\nCommands run by " + context.getDisplayName() + ":\n" + metrics.format() + "\n");
+    }
+
+    private Store getStore(ExtensionContext context) {
+        return context.getStore(Namespace.create(getClass(), context.getRequiredTestMethod()));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.lttng.ust.agent.benchmarks.BenchmarkComparator.Comparison;
+import org.lttng.ust.agent.utils.TestPrintExtension;
+
+/**
+ * Tests for the saving and comparison of benchmark results.
+ */
+@ExtendWith(TestPrintExtension.class)
+public class BenchmarkComparatorIT {
+
+    private static final double[] BASELINE_SAMPLES = { 100, 102, 98, 101, 99, 100, 103, 97, 100, 100 };
+
+    @TempDir
+    Path tempDir;
+
+    private static BenchmarkResult result(String version, int threads, double... samples) {
+        return new BenchmarkResult("SomeBenchmark", version, threads, MessageMode.CONCATENATED,
+                TimingMode.THROUGHPUT, samples, 48, 2, 5, new long[4]);
+    }
+
+    private static double[] shift(double[] samples, double delta) {
+        return Arrays.stream(samples).map(sample -> sample + delta).toArray();
+    }
+
+    /**
+     * Test the p-values of the t-test against known values.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testStudentT() {
+        /* Symmetric around 0 */
+        assertEquals(1.0, BenchmarkComparator.studentTTwoSided(0, 10), 1e-9);
+        /* Two-sided 95% and 99% critical values */
+        assertEquals(0.05, BenchmarkComparator.studentTTwoSided(2.228, 10), 1e-4);
+        assertEquals(0.01, BenchmarkComparator.studentTTwoSided(3.169, 10), 1e-4);
+        assertEquals(0.05, BenchmarkComparator.studentTTwoSided(-1.960, 100000), 1e-3);
+    }
+
+    /**
+     * Test the t-test on identical, shifted and constant samples.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testWelchTTest() {
+        assertEquals(1.0, BenchmarkComparator.welchTTest(BASELINE_SAMPLES, BASELINE_SAMPLES), 1e-9);
+        assertTrue(BenchmarkComparator.welchTTest(BASELINE_SAMPLES, shift(BASELINE_SAMPLES, 10)) < 1e-6);
+        assertTrue(BenchmarkComparator.welchTTest(BASELINE_SAMPLES, shift(BASELINE_SAMPLES, 0.5)) > 0.5);
+
+        double[] constant = { 5, 5, 5 };
+        assertEquals(1.0, BenchmarkComparator.welchTTest(constant, constant), 0);
+        assertEquals(0.0, BenchmarkComparator.welchTTest(constant, new double[] { 6, 6, 6 }), 0);
+        assertTrue(Double.isNaN(BenchmarkComparator.welchTTest(new double[] { 1 }, constant)));
+    }
+
+    /**
+     * Test that regressions and improvements are detected, and that small or
+     * noisy changes are not.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testCompare() {
+        List<BenchmarkResult> baseline = Arrays.asList(
+                result("1.0", 1, BASELINE_SAMPLES),
+                result("1.0", 2, BASELINE_SAMPLES),
+                result("1.0", 4, BASELINE_SAMPLES),
+                result("1.0", 8, BASELINE_SAMPLES));
+        List<BenchmarkResult> current = Arrays.asList(
+                result("1.1", 1, shift(BASELINE_SAMPLES, 20)),
+                result("1.1", 2, shift(BASELINE_SAMPLES, -20)),
+                /* Significant, but smaller than the minimum change */
+                result("1.1", 4, shift(BASELINE_SAMPLES, 2)),
+                /* Large, but too noisy */
+                result("1.1", 8, 50, 200, 60, 190, 70, 180, 80, 170, 90, 160),
+                /* No baseline */
+                result("1.1", 16, BASELINE_SAMPLES));
+
+        List<Comparison> comparisons = BenchmarkComparator.compare(baseline, current, 0.01, 5);
+        assertEquals(4, comparisons.size());
+        assertEquals(Comparison.Verdict.REGRESSION, comparisons.get(0).getVerdict());
+        assertEquals(20.0, comparisons.get(0).getChange(), 1e-9);
+        assertEquals(Comparison.Verdict.IMPROVEMENT, comparisons.get(1).getVerdict());
+        assertEquals(Comparison.Verdict.SAME, comparisons.get(2).getVerdict());
+        assertEquals(Comparison.Verdict.SAME, comparisons.get(3).getVerdict());
+    }
+
+    /**
+     * Test writing and reading back results.
+     *
+     * @throws IOException
+     *             If the results could not be written or read
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        String previous = System.getProperty(BenchmarkResults.RESULTS_DIR_PROPERTY);
+        System.setProperty(BenchmarkResults.RESULTS_DIR_PROPERTY, tempDir.toString());
+        try {
+            BenchmarkResult first = result("1.0", 1, BASELINE_SAMPLES);
+            BenchmarkResult second = new BenchmarkResult("SomeBenchmark", "1.0", 4, MessageMode.PREBUILT,
+                    TimingMode.LATENCY, new double[] { 1.5, 2.25 }, -1, 0, 0, new long[] { 1, 2, 3, 4 });
+            Path csvFile = BenchmarkResults.write("SomeBenchmark", Collections.singletonList(first));
+            BenchmarkResults.write("SomeBenchmark", Collections.singletonList(second));
+
+            List<String> lines = Files.readAllLines(csvFile);
+            assertEquals(3, lines.size());
+            assertEquals(BenchmarkResult.CSV_HEADER, lines.get(0));
+            assertTrue(Files.exists(tempDir.resolve("SomeBenchmark.json")));
+
+            List<BenchmarkResult> read = BenchmarkResults.read(csvFile);
+            assertEquals(2, read.size());
+            assertEquals(first.getComparisonKey(), read.get(0).getComparisonKey());
+            assertArrayEquals(BASELINE_SAMPLES, read.get(0).getSamples(), 1e-3);
+            assertEquals(second.toCsvLine(), read.get(1).toCsvLine());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(BenchmarkResults.RESULTS_DIR_PROPERTY);
+            } else {
+                System.setProperty(BenchmarkResults.RESULTS_DIR_PROPERTY, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.lttng.ust.agent.ILttngAgent;
+import org.lttng.ust.agent.integration.client.MockSessiond;
+import org.lttng.ust.agent.integration.client.MockSessiondClients;
+import org.lttng.ust.agent.integration.client.TcpClientDebugListener;
+import org.lttng.ust.agent.integration.client.TcpClientLoadGenerator;
+import org.lttng.ust.agent.integration.client.TimingClientListener;
+import org.lttng.ust.agent.utils.TestPrintExtension;
+
+/**
+ * Benchmark of the command processing of the TCP client, driven by a
+ * {@link MockSessiond} with a stream of enable/disable/context commands
+ * representing rule churn.
+ *
+ * For each command rate, it prints the number of commands processed per
+ * second, percentiles of the latency of each command as seen by the session
+ * daemon, and percentiles of the time spent in the listener callbacks.
+ */
+@ExtendWith(TestPrintExtension.class)
+@Tag("benchmark")
+public class TcpClientCommandBenchmark {
+
+    /**
+     * System property giving the number of commands per run, 20000 by
+     * default. At a fixed rate, runs are limited to 2 seconds.
+     */
+    public static final String NB_COMMANDS_PROPERTY = "lttng.benchmark.commands";
+
+    /** Number of rules enabled then disabled by the script */
+    private static final int NB_RULES = 1000;
+
+    /** Enable an application context every this many rules */
+    private static final int CONTEXT_EVERY = 10;
+
+    /** Maximum duration of the runs at a fixed rate */
+    private static final int MAX_RUN_SECONDS = 2;
+
+    /** Number of runs per rate, after a warm-up run */
+    private static final int NB_RUNS = 5;
+
+    private static final double[] PERCENTILES = { 50.0, 99.0, 99.9 };
+
+    private static TcpClientDebugListener debugListener;
+    private static TimingClientListener clientListener;
+    private static MockSessiondClients clients;
+    private static MockSessiond.Agent agent;
+
+    /**
+     * Class setup
+     *
+     * @throws IOException
+     *             If the mock session daemon could not be started
+     * @throws InterruptedException
+     *             If the wait for the client was interrupted
+     */
+    @BeforeAll
+    public static void setupClass() throws IOException, InterruptedException {
+        debugListener = new TcpClientDebugListener();
+        clientListener = new TimingClientListener(debugListener);
+        clients = new MockSessiondClients(ILttngAgent.Domain.JUL, clientListener);
+        agent = clients.getAgent(ILttngAgent.Domain.JUL);
+    }
+
+    /**
+     * Class teardown
+     */
+    @AfterAll
+    public static void teardownClass() {
+        if (clients != null) {
+            clients.close();
+        }
+    }
+
+    /**
+     * Run the benchmark at the given rate.
+     *
+     * @param rate
+     *            The number of commands per second, or 0 to send them
+     *            back-to-back
+     * @throws IOException
+     *             If the client stopped replying
+     */
+    @ParameterizedTest(name = "{0} commands/s")
+    @ValueSource(longs = { 0, 1000, 10000 })
+    public void runCommandBenchmark(long rate) throws IOException {
+        long nbCommands = Long.getLong(NB_COMMANDS_PROPERTY, 20000).longValue();
+        if (rate > 0) {
+            nbCommands = Math.min(nbCommands, rate * MAX_RUN_SECONDS);
+        }
+        List<TcpClientLoadGenerator.ScriptedCommand> script = TcpClientLoadGenerator.ruleChurnScript(NB_RULES, CONTEXT_EVERY);
+        TcpClientLoadGenerator generator = new TcpClientLoadGenerator(agent, script, rate);
+
+        System.out.println();
+        System.out.println("Running benchmark: " + getClass().getCanonicalName() + " ("
+                + (rate == 0 ? "back-to-back" : rate + " commands/s") + ", "
+                + nbCommands + " commands per run, " + script.size() + " commands in the script)");
+
+        /* Warm-up */
+        generator.run(nbCommands);
+
+        for (int i = 0; i < NB_RUNS; i++) {
+            debugListener.clearAllCommands();
+            clientListener.getCallbackTimes().reset();
+
+            TcpClientLoadGenerator.Result result = generator.run(nbCommands);
+            assertEquals(0, result.getNbFailed());
+
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%.0f commands/s, latency: ", Double.valueOf(result.getCommandsPerSecond())));
+            sb.append(result.getLatencies().formatPercentiles(PERCENTILES));
+            sb.append(", callback: ");
+            sb.append(clientListener.getCallbackTimes().formatPercentiles(PERCENTILES));
+            System.out.println(sb.toString());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.lttng.tools.utils.LatencyHistogram;
+import org.lttng.ust.agent.ILttngAgent;
+import org.lttng.ust.agent.integration.client.MockSessiond;
+import org.lttng.ust.agent.integration.client.MockSessiondClients;
+import org.lttng.ust.agent.integration.client.SyntheticLoggerRegistry;
+import org.lttng.ust.agent.integration.client.TcpClientDebugListener;
+import org.lttng.ust.agent.integration.client.TimingClientListener;
+import org.lttng.ust.agent.utils.TestPrintExtension;
+
+/**
+ * Benchmark of the "list" command of the TCP client, as the number of loggers
+ * of the application grows. The loggers come from a
+ * {@link SyntheticLoggerRegistry}, and the commands are sent by a
+ * {@link MockSessiond}.
+ *
+ * For each number of loggers, it prints percentiles of the end-to-end latency
+ * of the command as seen by the session daemon, and of the time spent in the
+ * listener callback to get the logger names.
+ */
+@ExtendWith(TestPrintExtension.class)
+@Tag("benchmark")
+public class TcpClientListBenchmark {
+
+    /** Number of "list" commands per run */
+    private static final int NB_LISTS = 20;
+
+    /** Number of runs per logger count, after a warm-up run */
+    private static final int NB_RUNS = 5;
+
+    private static final double[] PERCENTILES = { 50.0, 99.0 };
+
+    private static TcpClientDebugListener debugListener;
+    private static TimingClientListener clientListener;
+    private static MockSessiondClients clients;
+    private static MockSessiond.Agent agent;
+
+    /**
+     * Class setup
+     *
+     * @throws IOException
+     *             If the mock session daemon could not be started
+     * @throws InterruptedException
+     *             If the wait for the client was interrupted
+     */
+    @BeforeAll
+    public static void setupClass() throws IOException, InterruptedException {
+        debugListener = new TcpClientDebugListener();
+        clientListener = new TimingClientListener(debugListener);
+        clients = new MockSessiondClients(ILttngAgent.Domain.JUL, clientListener);
+        agent = clients.getAgent(ILttngAgent.Domain.JUL);
+    }
+
+    /**
+     * Class teardown
+     */
+    @AfterAll
+    public static void teardownClass() {
+        if (clients != null) {
+            clients.close();
+        }
+    }
+
+    /**
+     * Run the benchmark with the given number of loggers.
+     *
+     * @param nbLoggers
+     *            The number of loggers the application has
+     * @throws IOException
+     *             If the client stopped replying
+     */
+    @ParameterizedTest(name = "{0} loggers")
+    @ValueSource(ints = { 10, 1000, 10000, SyntheticLoggerRegistry.MAX_LOGGERS })
+    public void runListBenchmark(int nbLoggers) throws IOException {
+        debugListener.getLoggerRegistry().generateLoggers(nbLoggers);
+        long replySize = debugListener.getLoggerRegistry().getLoggers().stream()
+                .mapToLong(name -> name.getBytes(StandardCharsets.UTF_8).length + 1)
+                .sum();
+
+        System.out.println();
+        System.out.println("Running benchmark: " + getClass().getCanonicalName() + " ("
+                + nbLoggers + " loggers, " + replySize + " bytes per reply, "
+                + NB_LISTS + " lists per run)");
+
+        /* Warm-up */
+        runLists(nbLoggers, new LatencyHistogram());
+
+        for (int i = 0; i < NB_RUNS; i++) {
+            debugListener.clearAllCommands();
+            clientListener.getCallbackTimes().reset();
+
+            LatencyHistogram latencies = new LatencyHistogram();
+            runLists(nbLoggers, latencies);
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("latency: ");
+            sb.append(latencies.formatPercentiles(PERCENTILES));
+            sb.append(", callback: ");
+            sb.append(clientListener.getCallbackTimes().formatPercentiles(PERCENTILES));
+            System.out.println(sb.toString());
+        }
+        debugListener.getLoggerRegistry().clear();
+    }
+
+    private static void runLists(int nbLoggers, LatencyHistogram latencies) throws IOException {
+        for (int i = 0; i < NB_LISTS; i++) {
+            long start = System.nanoTime();
+            int listed = agent.listLoggers().size();
+            latencies.record(System.nanoTime() - start);
+            assertEquals(nbLoggers, listed);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.lttng.ust.agent.benchmarks.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.lttng.ust.agent.ILttngAgent;
+import org.lttng.ust.agent.integration.client.MockSessiond;
+import org.lttng.ust.agent.integration.client.MockSessiondClients;
+import org.lttng.ust.agent.integration.client.TcpClientDebugListener;
+import org.lttng.ust.agent.integration.client.TcpClientLoadGenerator;
+import org.lttng.ust.agent.utils.TestPrintExtension;
+
+/**
+ * Benchmark of the command processing of one TCP client per domain, all
+ * connected to the same {@link MockSessiond}, as in a JVM which loads the
+ * JUL, log4j and log4j 2.x agents. All the domains receive a stream of
+ * enable/disable/context commands at the same time.
+ *
+ * For each command rate, it prints the number of commands processed per
+ * second and percentiles of the latency of each command, for each domain.
+ */
+@ExtendWith(TestPrintExtension.class)
+@Tag("benchmark")
+public class TcpClientMultiDomainBenchmark {
+
+    /** Number of rules enabled then disabled by the script of each domain */
+    private static final int NB_RULES = 200;
+
+    /** Enable an application context every this many rules */
+    private static final int CONTEXT_EVERY = 10;
+
+    /**
+     * Number of times each domain runs its script per run. At a fixed rate,
+     * runs are limited to {@value #MAX_RUN_SECONDS} seconds.
+     */
+    private static final int NB_PASSES = 10;
+
+    /** Maximum duration of the runs at a fixed rate */
+    private static final int MAX_RUN_SECONDS = 2;
+
+    /** Number of runs per rate, after a warm-up run */
+    private static final int NB_RUNS = 5;
+
+    private static final double[] PERCENTILES = { 50.0, 99.0, 99.9 };
+
+    private static final Map<ILttngAgent.Domain, TcpClientDebugListener> listeners = new EnumMap<>(ILttngAgent.Domain.class);
+    private static MockSessiondClients clients;
+
+    /**
+     * Class setup
+     *
+     * @throws IOException
+     *             If the mock session daemon could not be started
+     * @throws InterruptedException
+     *             If the wait for the clients was interrupted
+     */
+    @BeforeAll
+    public static void setupClass() throws IOException, InterruptedException {
+        for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+            listeners.put(domain, new TcpClientDebugListener());
+        }
+        clients = new MockSessiondClients(listeners);
+    }
+
+    /**
+     * Class teardown
+     */
+    @AfterAll
+    public static void teardownClass() {
+        if (clients != null) {
+            clients.close();
+        }
+        listeners.clear();
+    }
+
+    /**
+     * Run the benchmark at the given rate.
+     *
+     * @param rate
+     *            The number of commands per second sent to each domain, or 0
+     *            to send them back-to-back
+     * @throws Exception
+     *             If a client stopped replying, or the benchmark was
+     *             interrupted
+     */
+    @ParameterizedTest(name = "{0} commands/s per domain")
+    @ValueSource(longs = { 0, 1000 })
+    @SuppressWarnings("resource")
+    public void runMultiDomainBenchmark(long rate) throws Exception {
+        Map<ILttngAgent.Domain, TcpClientLoadGenerator> generators = new EnumMap<>(ILttngAgent.Domain.class);
+        long nbCommands = 0;
+        for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+            String name = domain.name().toLowerCase();
+            List<TcpClientLoadGenerator.ScriptedCommand> script = TcpClientLoadGenerator.ruleChurnScript(
+                    "org.lttng." + name + '.', name + "_retriever", NB_RULES, CONTEXT_EVERY);
+            generators.put(domain, new TcpClientLoadGenerator(clients.getAgent(domain), script, rate));
+            nbCommands = (long) script.size() * NB_PASSES;
+        }
+        if (rate > 0) {
+            nbCommands = Math.min(nbCommands, rate * MAX_RUN_SECONDS);
+        }
+
+        System.out.println();
+        System.out.println("Running benchmark: " + getClass().getCanonicalName() + " ("
+                + (rate == 0 ? "back-to-back" : rate + " commands/s per domain") + ", "
+                + ILttngAgent.Domain.values().length + " domains, " + nbCommands + " commands per domain per run)");
+
+        /* Warm-up */
+        runConcurrently(generators, nbCommands);
+
+        for (int i = 0; i < NB_RUNS; i++) {
+            listeners.values().forEach(TcpClientDebugListener::clearAllCommands);
+
+            Map<ILttngAgent.Domain, TcpClientLoadGenerator.Result> results = runConcurrently(generators, nbCommands);
+            for (Map.Entry<ILttngAgent.Domain, TcpClientLoadGenerator.Result> entry : results.entrySet()) {
+                TcpClientLoadGenerator.Result result = entry.getValue();
+                assertEquals(0, result.getNbFailed(), entry.getKey().toString());
+                System.out.println(entry.getKey() + ": "
+                        + String.format("%.0f commands/s, latency: ", Double.valueOf(result.getCommandsPerSecond()))
+                        + result.getLatencies().formatPercentiles(PERCENTILES));
+            }
+        }
+    }
+
+    /**
+     * Run the generators of all the domains at the same time.
+     */
+    private static Map<ILttngAgent.Domain, TcpClientLoadGenerator.Result> runConcurrently(
+            Map<ILttngAgent.Domain, TcpClientLoadGenerator> generators, long nbCommands)
+            throws InterruptedException, IOException {
+        Map<ILttngAgent.Domain, Future<TcpClientLoadGenerator.Result>> futures = new EnumMap<>(ILttngAgent.Domain.class);
+        Map<ILttngAgent.Domain, TcpClientLoadGenerator.Result> results = new EnumMap<>(ILttngAgent.Domain.class);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(generators.size());
+        try {
+            for (Map.Entry<ILttngAgent.Domain, TcpClientLoadGenerator> entry : generators.entrySet()) {
+                TcpClientLoadGenerator generator = entry.getValue();
+                futures.put(entry.getKey(), executor.submit(() -> {
+                    start.await();
+                    return generator.run(nbCommands);
+                }));
+            }
+            start.countDown();
+
+            for (Map.Entry<ILttngAgent.Domain, Future<TcpClientLoadGenerator.Result>> entry : futures.entrySet()) {
+                results.put(entry.getKey(), getResult(entry.getValue()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    private static TcpClientLoadGenerator.Result getResult(Future<TcpClientLoadGenerator.Result> future)
+            throws InterruptedException, IOException {
+        try {
+            return future.get(60, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new AssertionError(e.getCause());
+        } catch (TimeoutException e) {
+            throw new AssertionError("Timed out waiting for the commands", e);
+        }
+    }
+}
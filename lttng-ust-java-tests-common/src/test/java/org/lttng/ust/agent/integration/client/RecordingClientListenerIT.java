@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lttng.ust.agent.integration.client.RecordingClientListener.CommandType;
+import org.lttng.ust.agent.integration.client.RecordingClientListener.Record;
+import org.lttng.ust.agent.utils.TestPrintExtension;
+
+/**
+ * Tests for the {@link RecordingClientListener}, whose methods are called
+ * directly instead of through a TCP client.
+ */
+@ExtendWith(TestPrintExtension.class)
+public class RecordingClientListenerIT {
+
+    private static final int NB_THREADS = 4;
+    private static final int NB_COMMANDS_PER_THREAD = 10000;
+
+    /**
+     * Test that the commands are recorded in order, with their type and
+     * payload.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testRecordOrder() {
+        RecordingClientListener listener = new RecordingClientListener();
+        listener.eventDisabled("eventA");
+        listener.appContextEnabled("retriever", "context");
+        listener.listAvailableEvents();
+        listener.appContextDisabled("retriever", "context");
+
+        List<Record> records = listener.getRecords();
+        assertEquals(4, records.size());
+        assertEquals(Arrays.asList(CommandType.EVENT_DISABLED, CommandType.APP_CONTEXT_ENABLED,
+                CommandType.LIST, CommandType.APP_CONTEXT_DISABLED),
+                records.stream().map(Record::getType).collect(Collectors.toList()));
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i + 1, records.get(i).getSequence());
+        }
+        assertEquals(Arrays.asList("retriever:context"),
+                listener.getPayloads(CommandType.APP_CONTEXT_ENABLED, String.class));
+    }
+
+    /**
+     * Test that clearing the listener forgets the previous commands, but does
+     * not reset the sequence numbers.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testClear() {
+        RecordingClientListener listener = new RecordingClientListener();
+        listener.eventDisabled("eventA");
+        listener.clear();
+        assertEquals(0, listener.getRecordCount());
+        assertTrue(listener.getRecords().isEmpty());
+
+        listener.eventDisabled("eventB");
+        assertEquals(1, listener.getRecordCount());
+        assertEquals(2, listener.getRecords().get(0).getSequence());
+    }
+
+    /**
+     * Test that commands recorded concurrently by many threads are all kept,
+     * each with its own sequence number, and that a waiting thread is woken up
+     * once they are all recorded.
+     *
+     * @throws InterruptedException
+     *             If the test is interrupted
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testConcurrentRecording() throws InterruptedException {
+        RecordingClientListener listener = new RecordingClientListener();
+        long expected = (long) NB_THREADS * NB_COMMANDS_PER_THREAD;
+
+        ExecutorService executor = Executors.newFixedThreadPool(NB_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < NB_THREADS; i++) {
+                String name = "event" + i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < NB_COMMANDS_PER_THREAD; j++) {
+                        listener.eventDisabled(name);
+                    }
+                });
+            }
+            start.countDown();
+            assertTrue(listener.awaitRecords(expected, 30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Record> records = listener.getRecords();
+        assertEquals(expected, records.size());
+        Set<Long> sequences = new HashSet<>();
+        records.forEach(record -> sequences.add(Long.valueOf(record.getSequence())));
+        assertEquals(expected, sequences.size());
+    }
+
+    /**
+     * Test clearing the listener while commands are being recorded. Once they
+     * are all recorded, the count should match the records that were kept,
+     * which should be sorted by sequence number.
+     *
+     * @throws InterruptedException
+     *             If the test is interrupted
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testConcurrentClear() throws InterruptedException {
+        RecordingClientListener listener = new RecordingClientListener();
+
+        ExecutorService executor = Executors.newFixedThreadPool(NB_THREADS);
+        CountDownLatch done = new CountDownLatch(NB_THREADS);
+        try {
+            for (int i = 0; i < NB_THREADS; i++) {
+                String name = "event" + i;
+                executor.execute(() -> {
+                    for (int j = 0; j < NB_COMMANDS_PER_THREAD; j++) {
+                        listener.eventDisabled(name);
+                    }
+                    done.countDown();
+                });
+            }
+            while (done.getCount() > 0) {
+                listener.clear();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Record> records = listener.getRecords();
+        assertEquals(listener.getRecordCount(), records.size());
+        for (int i = 1; i < records.size(); i++) {
+            assertTrue(records.get(i - 1).getSequence() < records.get(i).getSequence());
+        }
+    }
+
+    /**
+     * Test that waiting for commands that do not come times out.
+     *
+     * @throws InterruptedException
+     *             If the test is interrupted
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testAwaitTimeout() throws InterruptedException {
+        RecordingClientListener listener = new RecordingClientListener();
+        listener.eventDisabled("eventA");
+
+        assertTrue(listener.awaitRecords(1, 0, TimeUnit.MILLISECONDS));
+        assertFalse(listener.awaitRecords(2, 100, TimeUnit.MILLISECONDS));
+    }
+}
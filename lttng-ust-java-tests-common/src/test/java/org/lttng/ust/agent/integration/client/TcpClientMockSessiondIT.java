@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lttng.tools.ILttngSession;
+import org.lttng.ust.agent.ILttngAgent;
+import org.lttng.ust.agent.session.EventRule;
+import org.lttng.ust.agent.session.LogLevelSelector;
+import org.lttng.ust.agent.session.LogLevelSelector.LogLevelType;
+import org.lttng.ust.agent.utils.EventRuleFactory;
+import org.lttng.ust.agent.utils.ILogLevelStrings;
+import org.lttng.ust.agent.utils.TestPrintExtension;
+
+/**
+ * Tests for the TCP client only, against a {@link MockSessiond} instead of a
+ * real session daemon. The commands are sent to the client directly, so these
+ * tests do not need lttng-tools.
+ */
+@ExtendWith(TestPrintExtension.class)
+public class TcpClientMockSessiondIT {
+
+    private static final String EVENT_NAME_A = "eventA";
+    private static final String EVENT_NAME_B = "eventB";
+
+    private static final String CONTEXT_RETRIEVER_NAME_A = "retrieverA";
+    private static final String CONTEXT_NAME_A = "contextA";
+    private static final String CONTEXT_NAME_B = "contextB";
+
+    /* Test configuration */
+    private static final ILttngAgent.Domain DOMAIN = ILttngAgent.Domain.JUL;
+    private static final ILttngSession.Domain SESSION_DOMAIN = ILttngSession.Domain.JUL;
+
+    private static final EventRuleFactory eventRuleFactory = new EventRuleFactory(SESSION_DOMAIN);
+
+    private static TcpClientDebugListener clientListener;
+    private static MockSessiondClients clients;
+    private static MockSessiond.Agent agent;
+
+    // ------------------------------------------------------------------------
+    // Maintenance
+    // ------------------------------------------------------------------------
+
+    /**
+     * Class setup
+     *
+     * @throws IOException
+     *             If the mock session daemon could not be started
+     * @throws InterruptedException
+     *             If the wait for the client was interrupted
+     */
+    @BeforeAll
+    public static void setupClass() throws IOException, InterruptedException {
+        clientListener = new TcpClientDebugListener();
+        clients = new MockSessiondClients(DOMAIN, clientListener);
+        agent = clients.getAgent(DOMAIN);
+    }
+
+    /**
+     * Class teardown
+     */
+    @AfterAll
+    public static void teardownClass() {
+        if (clients != null) {
+            clients.close();
+        }
+    }
+
+    /**
+     * Test setup
+     */
+    @BeforeEach
+    @SuppressWarnings("static-method")
+    public void setup() {
+        clientListener.clearAllCommands();
+        clientListener.getLoggerRegistry().clear();
+    }
+
+    private static ILogLevelStrings getLogLevelStrings() {
+        return ILogLevelStrings.JUL_LOGLEVEL_STRINGS;
+    }
+
+    // ------------------------------------------------------------------------
+    // Test cases
+    // ------------------------------------------------------------------------
+
+    /**
+     * Test the registration message of the client.
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testRegistration() {
+        String pid = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+
+        assertEquals(DOMAIN.value(), agent.getDomain());
+        assertEquals(Integer.parseInt(pid), agent.getPid());
+        assertEquals(2, agent.getMajorVersion());
+    }
+
+    /**
+     * Test enabling one event.
+     *
+     * @throws IOException
+     *             If the client did not reply
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testEnableEvent() throws IOException {
+        EventRule rule = eventRuleFactory.createRule(EVENT_NAME_A);
+        assertEquals(MockSessiond.REPLY_SUCCESS, agent.enableEvent(rule));
+
+        assertEquals(Collections.singletonList(rule), clientListener.getEnabledEventCommands());
+    }
+
+    /**
+     * Test enabling all events.
+     *
+     * @throws IOException
+     *             If the client did not reply
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testEnableAllEvents() throws IOException {
+        EventRule rule = eventRuleFactory.createRuleAllEvents();
+        assertEquals(MockSessiond.REPLY_SUCCESS, agent.enableEvent(rule));
+
+        assertEquals(Collections.singletonList(rule), clientListener.getEnabledEventCommands());
+    }
+
+    /**
+     * Test enabling events with log levels and filters.
+     *
+     * @throws IOException
+     *             If the client did not reply
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testEnableEventsLogLevelsAndFilters() throws IOException {
+        LogLevelSelector range = new LogLevelSelector(getLogLevelStrings().warningInt(), LogLevelType.LTTNG_EVENT_LOGLEVEL_RANGE);
+        LogLevelSelector single = new LogLevelSelector(getLogLevelStrings().warningInt(), LogLevelType.LTTNG_EVENT_LOGLEVEL_SINGLE);
+
+        List<EventRule> rules = Arrays.asList(
+                eventRuleFactory.createRule(EVENT_NAME_A, range),
+                eventRuleFactory.createRule(EVENT_NAME_A, single),
+                eventRuleFactory.createRule(EVENT_NAME_B, eventRuleFactory.LOG_LEVEL_UNSPECIFIED, "filter1"),
+                eventRuleFactory.createRule(EVENT_NAME_B, range, "filter2"));
+        for (EventRule rule : rules) {
+            assertEquals(MockSessiond.REPLY_SUCCESS, agent.enableEvent(rule));
+        }
+
+        assertEquals(rules, clientListener.getEnabledEventCommands());
+    }
+
+    /**
+     * Test disabling events.
+     *
+     * @throws IOException
+     *             If the client did not reply
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testDisableEvents() throws IOException {
+        assertEquals(MockSessiond.REPLY_SUCCESS, agent.disableEvent(EVENT_NAME_A));
+        assertEquals(MockSessiond.REPLY_SUCCESS, agent.disableEvent(EventRuleFactory.EVENT_NAME_ALL));
+
+        assertEquals(Arrays.asList(EVENT_NAME_A, EventRuleFactory.EVENT_NAME_ALL),
+                clientListener.getDisabledEventCommands());
+    }
+
+    /**
+     * Test enabling and disabling application contexts.
+     *
+     * @throws IOException
+     *             If the client did not reply
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testAppContexts() throws IOException {
+        assertEquals(MockSessiond.REPLY_SUCCESS, agent.enableAppContext(CONTEXT_RETRIEVER_NAME_A, CONTEXT_NAME_A));
+        assertEquals(MockSessiond.REPLY_SUCCESS, agent.enableAppContext(CONTEXT_RETRIEVER_NAME_A, CONTEXT_NAME_B));
+        assertEquals(MockSessiond.REPLY_SUCCESS, agent.disableAppContext(CONTEXT_RETRIEVER_NAME_A, CONTEXT_NAME_A));
+
+        assertEquals(Arrays.asList(
+                CONTEXT_RETRIEVER_NAME_A + ':' + CONTEXT_NAME_A,
+                CONTEXT_RETRIEVER_NAME_A + ':' + CONTEXT_NAME_B),
+                clientListener.getEnabledAppContextCommands());
+        assertEquals(Collections.singletonList(CONTEXT_RETRIEVER_NAME_A + ':' + CONTEXT_NAME_A),
+                clientListener.getDisabledAppContextCommands());
+    }
+
+    /**
+     * Test listing the loggers when there are none.
+     *
+     * @throws IOException
+     *             If the client did not reply
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testListEmpty() throws IOException {
+        assertEquals(Collections.emptyList(), agent.listLoggers());
+        assertEquals(1, clientListener.getListCommandCount());
+    }
+
+    /**
+     * Test listing a few loggers.
+     *
+     * @throws IOException
+     *             If the client did not reply
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testList() throws IOException {
+        List<String> loggers = Arrays.asList(EVENT_NAME_A, EVENT_NAME_B, "org.lttng.somecomponent");
+        clientListener.getLoggerRegistry().setLoggers(loggers);
+
+        assertEquals(loggers, agent.listLoggers());
+    }
+
+    /**
+     * Test listing the maximum number of loggers of the registry.
+     *
+     * @throws IOException
+     *             If the client did not reply
+     */
+    @Test
+    @SuppressWarnings("static-method")
+    public void testListManyLoggers() throws IOException {
+        int count = SyntheticLoggerRegistry.MAX_LOGGERS;
+        clientListener.getLoggerRegistry().generateLoggers(count);
+
+        List<String> loggers = agent.listLoggers();
+        assertEquals(count, loggers.size());
+        assertEquals(SyntheticLoggerRegistry.getGeneratedName(0), loggers.get(0));
+        assertEquals(SyntheticLoggerRegistry.getGeneratedName(count - 1), loggers.get(count - 1));
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lttng.ust.agent.ILttngAgent;
+import org.lttng.ust.agent.session.EventRule;
+import org.lttng.ust.agent.utils.TestPrintExtension;
+
+/**
+ * Tests for one TCP client per domain, all connected to the same
+ * {@link MockSessiond}, as in a JVM which loads the JUL, log4j and log4j 2.x
+ * agents. Commands sent to the client of one domain should only reach the
+ * listener of that domain, even when all the clients are busy at the same
+ * time.
+ */
+@ExtendWith(TestPrintExtension.class)
+public class TcpClientMultiDomainIT {
+
+    /** Number of rules enabled then disabled by the script of each domain */
+    private static final int NB_RULES = 200;
+
+    /** Enable an application context every this many rules */
+    private static final int CONTEXT_EVERY = 10;
+
+    /** Number of times each domain runs its script in the concurrent test */
+    private static final int NB_PASSES = 10;
+
+    private static final Map<ILttngAgent.Domain, TcpClientDebugListener> listeners = new EnumMap<>(ILttngAgent.Domain.class);
+    private static final Map<ILttngAgent.Domain, MockSessiond.Agent> agents = new EnumMap<>(ILttngAgent.Domain.class);
+    private static MockSessiondClients clients;
+
+    // ------------------------------------------------------------------------
+    // Maintenance
+    // ------------------------------------------------------------------------
+
+    /**
+     * Class setup
+     *
+     * @throws IOException
+     *             If the mock session daemon could not be started
+     * @throws InterruptedException
+     *             If the wait for the clients was interrupted
+     */
+    @BeforeAll
+    @SuppressWarnings("resource")
+    public static void setupClass() throws IOException, InterruptedException {
+        for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+            listeners.put(domain, new TcpClientDebugListener());
+        }
+        clients = new MockSessiondClients(listeners);
+        for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+            agents.put(domain, clients.getAgent(domain));
+        }
+    }
+
+    /**
+     * Class teardown
+     */
+    @AfterAll
+    public static void teardownClass() {
+        if (clients != null) {
+            clients.close();
+        }
+        listeners.clear();
+        agents.clear();
+    }
+
+    /**
+     * Test setup
+     */
+    @BeforeEach
+    @SuppressWarnings("static-method")
+    public void setup() {
+        for (TcpClientDebugListener listener : listeners.values()) {
+            listener.clearAllCommands();
+            listener.getLoggerRegistry().clear();
+        }
+    }
+
+    private static String getLoggerPrefix(ILttngAgent.Domain domain) {
+        return "org.lttng." + domain.name().toLowerCase() + '.';
+    }
+
+    private static String getRetrieverName(ILttngAgent.Domain domain) {
+        return domain.name().toLowerCase() + "_retriever";
+    }
+
+    // ------------------------------------------------------------------------
+    // Test cases
+    // ------------------------------------------------------------------------
+
+    /**
+     * Test that commands sent to one client are only received by the listener
+     * of its domain.
+     *
+     * @throws IOException
+     *             If a client did not reply
+     */
+    @Test
+    @SuppressWarnings({ "resource", "static-method" })
+    public void testCommandRouting() throws IOException {
+        for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+            String eventName = getLoggerPrefix(domain) + "Logger";
+            assertEquals(MockSessiond.REPLY_SUCCESS, agents.get(domain).enableEvent(eventName, 0, 0, null));
+            assertEquals(MockSessiond.REPLY_SUCCESS, agents.get(domain).enableAppContext(getRetrieverName(domain), "context"));
+        }
+
+        for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+            TcpClientDebugListener listener = listeners.get(domain);
+            List<String> enabledEvents = listener.getEnabledEventCommands().stream()
+                    .map(EventRule::getEventName)
+                    .collect(Collectors.toList());
+            assertEquals(Collections.singletonList(getLoggerPrefix(domain) + "Logger"), enabledEvents);
+            assertEquals(Collections.singletonList(getRetrieverName(domain) + ":context"),
+                    listener.getEnabledAppContextCommands());
+        }
+    }
+
+    /**
+     * Test that each client lists the loggers of its own domain.
+     *
+     * @throws IOException
+     *             If a client did not reply
+     */
+    @Test
+    @SuppressWarnings({ "resource", "static-method" })
+    public void testListRouting() throws IOException {
+        for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+            listeners.get(domain).getLoggerRegistry().setLoggers(
+                    Arrays.asList(getLoggerPrefix(domain) + "LoggerA", getLoggerPrefix(domain) + "LoggerB"));
+        }
+
+        for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+            assertEquals(listeners.get(domain).getLoggerRegistry().getLoggers(), agents.get(domain).listLoggers());
+        }
+    }
+
+    /**
+     * Test all the clients receiving a stream of commands at the same time.
+     * Each listener should receive exactly the commands of its domain, in
+     * order. The latency under this load is measured by
+     * TcpClientMultiDomainBenchmark.
+     *
+     * @throws Exception
+     *             If a client did not reply, or the test was interrupted
+     */
+    @Test
+    @SuppressWarnings({ "resource", "static-method" })
+    public void testConcurrentCommands() throws Exception {
+        Map<ILttngAgent.Domain, List<TcpClientLoadGenerator.ScriptedCommand>> scripts = new EnumMap<>(ILttngAgent.Domain.class);
+        Map<ILttngAgent.Domain, Future<TcpClientLoadGenerator.Result>> results = new EnumMap<>(ILttngAgent.Domain.class);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(ILttngAgent.Domain.values().length);
+        try {
+            for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+                List<TcpClientLoadGenerator.ScriptedCommand> script = TcpClientLoadGenerator.ruleChurnScript(
+                        getLoggerPrefix(domain), getRetrieverName(domain), NB_RULES, CONTEXT_EVERY);
+                scripts.put(domain, script);
+                TcpClientLoadGenerator generator = new TcpClientLoadGenerator(agents.get(domain), script, 0);
+                results.put(domain, executor.submit(() -> {
+                    start.await();
+                    return generator.run((long) script.size() * NB_PASSES);
+                }));
+            }
+            start.countDown();
+
+            for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+                TcpClientLoadGenerator.Result result = getResult(results.get(domain));
+                assertEquals(0, result.getNbFailed(), domain.toString());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (ILttngAgent.Domain domain : ILttngAgent.Domain.values()) {
+            checkCommands(domain, listeners.get(domain));
+        }
+    }
+
+    private static TcpClientLoadGenerator.Result getResult(Future<TcpClientLoadGenerator.Result> future)
+            throws InterruptedException, IOException {
+        try {
+            return future.get(60, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new AssertionError(e.getCause());
+        } catch (TimeoutException e) {
+            throw new AssertionError("Timed out waiting for the commands", e);
+        }
+    }
+
+    /**
+     * Check that a listener received the commands of {@link #NB_PASSES} runs
+     * of the script of its domain, and nothing else.
+     */
+    private static void checkCommands(ILttngAgent.Domain domain, TcpClientDebugListener listener) {
+        List<String> expectedEvents = new ArrayList<>();
+        List<String> expectedContexts = new ArrayList<>();
+        for (int i = 0; i < NB_RULES; i++) {
+            expectedEvents.add(getLoggerPrefix(domain) + "Logger" + i);
+            if (i % CONTEXT_EVERY == 0) {
+                expectedContexts.add(getRetrieverName(domain) + ":context" + i);
+            }
+        }
+        expectedEvents = Collections.nCopies(NB_PASSES, expectedEvents).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        expectedContexts = Collections.nCopies(NB_PASSES, expectedContexts).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+
+        List<String> enabledEvents = listener.getEnabledEventCommands().stream()
+                .map(EventRule::getEventName)
+                .collect(Collectors.toList());
+        assertEquals(expectedEvents, enabledEvents, domain.toString());
+        assertEquals(expectedEvents, listener.getDisabledEventCommands(), domain.toString());
+        assertEquals(expectedContexts, listener.getEnabledAppContextCommands(), domain.toString());
+        assertEquals(expectedContexts, listener.getDisabledAppContextCommands(), domain.toString());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jul.handler;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.lttng.ust.agent.benchmarks.LoggingBenchmarkBase;
+import org.lttng.ust.agent.benchmarks.MessageMode;
+
+/**
+ * Base abstract class for JUL benchmarks, which logs to the handler set up by
+ * the sub-class. Sub-classes also provide the test methods, which run the
+ * benchmark under a name of their choice. See {@link JulHandlerBenchmarkBase}
+ * for the benchmarks which run only once.
+ */
+@Tag("agent:jul")
+@Tag("domain:jul")
+@Tag("benchmark")
+public abstract class JulLoggingBenchmarkBase extends LoggingBenchmarkBase {
+
+    // ------------------------------------------------------------------------
+    // Attributes
+    // ------------------------------------------------------------------------
+
+    protected Logger logger;
+    protected Handler handler;
+
+    // ------------------------------------------------------------------------
+    // Maintenance methods
+    // ------------------------------------------------------------------------
+
+    /**
+     * Base test setup
+     */
+    @BeforeEach
+    public void setup() {
+        /* Set up the logger */
+        logger = Logger.getLogger("Test logger");
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+
+        /* Sub-classes' @Before will setup the Handler */
+    }
+
+    /**
+     * Base test teardown
+     */
+    @AfterEach
+    public void teardown() {
+        if (handler != null) {
+            logger.removeHandler(handler);
+            handler.close();
+        }
+        handler = null;
+        logger = null;
+    }
+
+    // ------------------------------------------------------------------------
+    // Benchmark methods
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected IntFunction<IntConsumer> prepareBenchmark() {
+        if (logger != null && handler != null) {
+            logger.addHandler(handler);
+        }
+
+        Logger log = logger;
+        MessageMode mode = getMessageMode();
+        return threadId -> {
+            if (log == null) {
+                return i -> {};
+            }
+            if (mode == MessageMode.PARAMETERIZED) {
+                IntFunction<Object[]> parameters = getParameters(threadId);
+                return i -> log.log(Level.INFO, "Thread {0}, iteration {1}", parameters.apply(i));
+            }
+            IntFunction<String> messages = getMessages(mode, threadId);
+            return i -> log.info(messages.apply(i));
+        };
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jul.handler.lttng;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.lttng.tools.ILttngSession;
+import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.ust.agent.benchmarks.jul.handler.JulLoggingBenchmarkBase;
+import org.lttng.ust.agent.context.ContextInfoManager;
+import org.lttng.ust.agent.context.IContextInfoRetriever;
+import org.lttng.ust.agent.jul.LttngLogHandler;
+import org.lttng.ust.agent.utils.JulTestUtils;
+
+/**
+ * Test the LTTng-JUL handler with an increasing number of application context
+ * retrievers, each providing one enabled context, to see what retrieving and
+ * serializing the contexts costs per event.
+ */
+@Tag("agent:jul")
+@Tag("domain:jul")
+@Tag("benchmark")
+public class LttngJulHandlerAppContextBenchmark extends JulLoggingBenchmarkBase {
+
+    private static final String RETRIEVER_NAME_PREFIX = "benchmark_retriever";
+    private static final String CONTEXT_NAME = "some_context";
+
+    /** Numbers of retrievers to register */
+    private static final int[] NB_RETRIEVERS = { 1, 5, 20 };
+
+    /** Only run with one thread, after a warm-up, unless specified otherwise */
+    private static final int[] NB_THREADS = { 1, 1 };
+
+    /**
+     * Types of context values
+     */
+    enum ValueType {
+        /** An Integer, serialized as an integer */
+        INTEGER(Integer.valueOf(42)),
+        /** A String, like a request ID */
+        STRING("3f2c9a7e-1b44-4c1e-9d8f-6a0b5e2d7c13"),
+        /** Another object, serialized with its toString() */
+        OBJECT(new Object() {
+            @Override
+            public String toString() {
+                return "ValueToString";
+            }
+        });
+
+        private final Object value;
+
+        private ValueType(Object value) {
+            this.value = value;
+        }
+
+        IContextInfoRetriever createRetriever() {
+            return (key -> (CONTEXT_NAME.equals(key) ? value : null));
+        }
+    }
+
+    private ContextInfoManager cim;
+    private int nbRegistered = 0;
+
+    /**
+     * Class setup
+     */
+    @BeforeAll
+    public static void julClassSetup() {
+        JulTestUtils.testClassSetup();
+    }
+
+    /**
+     * Class cleanup
+     */
+    @AfterAll
+    public static void julClassCleanup() {
+        JulTestUtils.testClassCleanup();
+    }
+
+    /**
+     * Test setup
+     *
+     * @throws IOException
+     */
+    @BeforeEach
+    public void testSetup() throws IOException {
+        cim = ContextInfoManager.getInstance();
+        handler = new LttngLogHandler();
+    }
+
+    /**
+     * Test teardown
+     */
+    @AfterEach
+    public void testTeardown() {
+        for (int i = 0; i < nbRegistered; i++) {
+            cim.unregisterContextInfoRetriever(RETRIEVER_NAME_PREFIX + i);
+        }
+        nbRegistered = 0;
+    }
+
+    /**
+     * @return The test parameters: no retriever, then every value type with
+     *         every number of retrievers
+     */
+    protected static Stream<Arguments> provideArguments() {
+        return Stream.concat(
+                Stream.of(Arguments.of(ValueType.INTEGER, Integer.valueOf(0))),
+                Arrays.stream(ValueType.values())
+                        .flatMap(type -> IntStream.of(NB_RETRIEVERS).mapToObj(nb -> Arguments.of(type, Integer.valueOf(nb)))));
+    }
+
+    @Override
+    protected int[] getDefaultThreadCounts() {
+        return NB_THREADS;
+    }
+
+    /**
+     * Run the benchmark with the given number of retrievers, each with one
+     * context enabled in the session.
+     *
+     * @param type
+     *            The type of the context values
+     * @param nbRetrievers
+     *            The number of retrievers
+     */
+    @ParameterizedTest(name = "{0}, {1} retrievers")
+    @MethodSource("provideArguments")
+    public void runAppContextBenchmark(ValueType type, int nbRetrievers) {
+        try (ILttngSession session = ILttngSession.createSession(null, Domain.JUL)) {
+            assertTrue(session.enableAllEvents());
+            for (int i = 0; i < nbRetrievers; i++) {
+                String retrieverName = RETRIEVER_NAME_PREFIX + i;
+                assertTrue(cim.registerContextInfoRetriever(retrieverName, type.createRetriever()));
+                nbRegistered++;
+                assertTrue(session.enableAppContext(retrieverName, CONTEXT_NAME));
+            }
+            assertTrue(session.start());
+
+            String variant = (nbRetrievers == 0 ? "0" : type + "-" + nbRetrievers);
+            runBenchmark(getClass().getName() + '-' + variant);
+
+            assertTrue(session.stop());
+        }
+    }
+}
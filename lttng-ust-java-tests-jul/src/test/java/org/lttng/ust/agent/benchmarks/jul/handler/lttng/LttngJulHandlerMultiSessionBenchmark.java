@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jul.handler.lttng;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.lttng.tools.AsyncLttngSession;
+import org.lttng.tools.ILttngSession;
+import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.ust.agent.benchmarks.jul.handler.JulLoggingBenchmarkBase;
+import org.lttng.ust.agent.jul.LttngLogHandler;
+import org.lttng.ust.agent.utils.ILogLevelStrings;
+import org.lttng.ust.agent.utils.JulTestUtils;
+
+/**
+ * Test the LTTng-JUL handler with the same events enabled in an increasing
+ * number of concurrent tracing sessions, to see how the cost of dispatching
+ * the events grows with the number of sessions.
+ *
+ * The sessions have overlapping rules: all of them enable the benchmark
+ * logger by name, every other one also enables it through a wildcard, and
+ * every fourth one also enables it with a log level range.
+ *
+ * The operations which apply to all the sessions, like creating, starting
+ * and stopping them, are run concurrently.
+ */
+@Tag("agent:jul")
+@Tag("domain:jul")
+@Tag("benchmark")
+public class LttngJulHandlerMultiSessionBenchmark extends JulLoggingBenchmarkBase {
+
+    private static final String LOGGER_NAME = "org.lttng.benchmark.sessions.Logger";
+
+    /** Run with one and four threads, after a warm-up, unless specified otherwise */
+    private static final int[] NB_THREADS = { 1, 1, 4 };
+
+    /** Maximum number of sessions set up at the same time */
+    private static final int MAX_CONCURRENT_SETUP = 8;
+
+    /**
+     * Class setup
+     */
+    @BeforeAll
+    public static void julClassSetup() {
+        JulTestUtils.testClassSetup();
+    }
+
+    /**
+     * Class cleanup
+     */
+    @AfterAll
+    public static void julClassCleanup() {
+        JulTestUtils.testClassCleanup();
+    }
+
+    /**
+     * Test setup
+     *
+     * @throws IOException
+     */
+    @BeforeEach
+    public void testSetup() throws IOException {
+        logger = Logger.getLogger(LOGGER_NAME);
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+
+        handler = new LttngLogHandler();
+    }
+
+    @Override
+    protected int[] getDefaultThreadCounts() {
+        return NB_THREADS;
+    }
+
+    /**
+     * Run the benchmark with the events enabled in the given number of
+     * sessions.
+     *
+     * @param nbSessions
+     *            The number of sessions
+     */
+    @ParameterizedTest(name = "{0} sessions")
+    @ValueSource(ints = { 1, 2, 4, 8, 16, 32 })
+    public void runMultiSessionBenchmark(int nbSessions) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(nbSessions, MAX_CONCURRENT_SETUP));
+        List<AsyncLttngSession> sessions = new ArrayList<>();
+        try {
+            List<CompletableFuture<ILttngSession>> created = new ArrayList<>();
+            for (int i = 0; i < nbSessions; i++) {
+                created.add(CompletableFuture.supplyAsync(() -> ILttngSession.createSession(null, Domain.JUL), executor));
+            }
+            created.forEach(future -> sessions.add(future.join().async(executor)));
+
+            List<CompletableFuture<Boolean>> enabled = new ArrayList<>();
+            for (int i = 0; i < sessions.size(); i++) {
+                AsyncLttngSession session = sessions.get(i);
+                enabled.add(session.enableEvent(LOGGER_NAME, null, false, null));
+                if (i % 2 == 1) {
+                    enabled.add(session.enableEvent("org.lttng.benchmark.*", null, false, null));
+                }
+                if (i % 4 == 3) {
+                    enabled.add(session.enableEvent(LOGGER_NAME, ILogLevelStrings.JUL_LOGLEVEL_STRINGS.infoName(), false, null));
+                }
+            }
+            assertTrue(enabled.stream().allMatch(CompletableFuture::join));
+            assertTrue(AsyncLttngSession.forAll(sessions, AsyncLttngSession::start));
+
+            runBenchmark(getClass().getName() + '-' + nbSessions);
+
+            assertTrue(AsyncLttngSession.forAll(sessions, AsyncLttngSession::stop));
+        } finally {
+            CompletableFuture.allOf(sessions.stream()
+                    .map(AsyncLttngSession::close)
+                    .toArray(CompletableFuture[]::new)).join();
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026, EfficiOS Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package org.lttng.ust.agent.benchmarks.jul.handler.lttng;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.lttng.tools.ILttngSession;
+import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.tools.LttngEventBatch;
+import org.lttng.ust.agent.benchmarks.jul.handler.JulLoggingBenchmarkBase;
+import org.lttng.ust.agent.jul.LttngLogHandler;
+import org.lttng.ust.agent.utils.ILogLevelStrings;
+import org.lttng.ust.agent.utils.JulTestUtils;
+
+/**
+ * Test the LTTng-JUL handler with an increasing number of enabled event rules,
+ * to see how the per-event cost of matching the rules scales.
+ *
+ * Only the last rule matches the benchmark logger, the other ones are for
+ * other loggers, so every event is checked against all the rules.
+ */
+@Tag("agent:jul")
+@Tag("domain:jul")
+@Tag("benchmark")
+public class LttngJulHandlerRuleCountBenchmark extends JulLoggingBenchmarkBase {
+
+    private static final String LOGGER_NAME = "org.lttng.benchmark.rules.Logger";
+
+    /** Numbers of rules to enable */
+    private static final int[] NB_RULES = { 1, 10, 100, 1000 };
+
+    /** Only run with one thread, after a warm-up, unless specified otherwise */
+    private static final int[] NB_THREADS = { 1, 1 };
+
+    /**
+     * Types of event rules
+     */
+    enum RuleType {
+        /** Rules on exact logger names */
+        EXACT {
+            @Override
+            void enable(LttngEventBatch batch, int index) {
+                batch.enable(otherLoggerName(index));
+            }
+
+            @Override
+            void enableMatching(LttngEventBatch batch) {
+                batch.enable(LOGGER_NAME);
+            }
+        },
+
+        /** Rules on logger name patterns */
+        WILDCARD {
+            @Override
+            void enable(LttngEventBatch batch, int index) {
+                batch.enable(otherLoggerName(index) + ".*");
+            }
+
+            @Override
+            void enableMatching(LttngEventBatch batch) {
+                batch.enable("org.lttng.benchmark.rules.*");
+            }
+        },
+
+        /** Rules on exact logger names, with a log level range */
+        LOGLEVEL_RANGE {
+            @Override
+            void enable(LttngEventBatch batch, int index) {
+                batch.enable(otherLoggerName(index), LOG_LEVELS.infoName(), false, null);
+            }
+
+            @Override
+            void enableMatching(LttngEventBatch batch) {
+                batch.enable(LOGGER_NAME, LOG_LEVELS.infoName(), false, null);
+            }
+        };
+
+        static final ILogLevelStrings LOG_LEVELS = ILogLevelStrings.JUL_LOGLEVEL_STRINGS;
+
+        /** Add a rule which does not match the benchmark logger */
+        abstract void enable(LttngEventBatch batch, int index);
+
+        /** Add the rule which matches the benchmark logger */
+        abstract void enableMatching(LttngEventBatch batch);
+
+        static String otherLoggerName(int index) {
+            return "org.lttng.benchmark.other" + index + ".Logger";
+        }
+    }
+
+    /**
+     * Class setup
+     */
+    @BeforeAll
+    public static void julClassSetup() {
+        JulTestUtils.testClassSetup();
+    }
+
+    /**
+     * Class cleanup
+     */
+    @AfterAll
+    public static void julClassCleanup() {
+        JulTestUtils.testClassCleanup();
+    }
+
+    /**
+     * Test setup
+     *
+     * @throws IOException
+     */
+    @BeforeEach
+    public void testSetup() throws IOException {
+        logger = Logger.getLogger(LOGGER_NAME);
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+
+        handler = new LttngLogHandler();
+    }
+
+    /**
+     * @return The test parameters: every rule type with every number of rules
+     */
+    protected static Stream<Arguments> provideArguments() {
+        return Arrays.stream(RuleType.values())
+                .flatMap(type -> Arrays.stream(NB_RULES).mapToObj(nbRules -> Arguments.of(type, Integer.valueOf(nbRules))));
+    }
+
+    @Override
+    protected int[] getDefaultThreadCounts() {
+        return NB_THREADS;
+    }
+
+    /**
+     * Run the benchmark with the given rules enabled in a session.
+     *
+     * @param type
+     *            The type of rules
+     * @param nbRules
+     *            The total number of rules
+     */
+    @ParameterizedTest(name = "{0}, {1} rules")
+    @MethodSource("provideArguments")
+    public void runRuleCountBenchmark(RuleType type, int nbRules) {
+        try (ILttngSession session = ILttngSession.createSession(null, Domain.JUL)) {
+            LttngEventBatch batch = session.batch();
+            for (int i = 0; i < nbRules - 1; i++) {
+                type.enable(batch, i);
+            }
+            type.enableMatching(batch);
+            assertTrue(batch.apply());
+            assertTrue(session.start());
+
+            runBenchmark(getClass().getName() + '-' + type + '-' + nbRules);
+
+            assertTrue(session.stop());
+        }
+    }
+}
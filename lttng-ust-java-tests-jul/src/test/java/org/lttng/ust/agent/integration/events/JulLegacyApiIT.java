@@ -42,6 +42,7 @@ import org.lttng.tools.ILttngSession;
 import org.lttng.tools.ILttngSession.Domain;
 import org.lttng.ust.agent.ILttngHandler;
 import org.lttng.ust.agent.LTTngAgent;
+import org.lttng.ust.agent.utils.CommandMetricsExtension;
 import org.lttng.ust.agent.utils.JulTestUtils;
 import org.lttng.ust.agent.utils.TestPrintExtension;
 
@@ -49,6 +50,7 @@ import org.lttng.ust.agent.utils.TestPrintExtension;
  * Enabled events test for the LTTng-UST JUL log handler, using the legacy API.
  */
 @ExtendWith(TestPrintExtension.class)
+@ExtendWith(CommandMetricsExtension.class)
 @SuppressWarnings("deprecation")
 @Tag("agent:jul")
 @Tag("domain:jul")
@@ -40,6 +40,7 @@ import org.lttng.tools.ILttngSession;
 import org.lttng.tools.ILttngSession.Domain;
 import org.lttng.ust.agent.ILttngHandler;
 import org.lttng.ust.agent.LTTngAgent;
+import org.lttng.ust.agent.utils.CommandMetricsExtension;
 import org.lttng.ust.agent.utils.Log4jTestUtils;
 import org.lttng.ust.agent.utils.TestPrintExtension;
 
@@ -48,6 +49,7 @@ import org.lttng.ust.agent.utils.TestPrintExtension;
  * API.
  */
 @ExtendWith(TestPrintExtension.class)
+@ExtendWith(CommandMetricsExtension.class)
 @SuppressWarnings("deprecation")
 @Tag("agent:log4j")
 @Tag("domain:log4j")
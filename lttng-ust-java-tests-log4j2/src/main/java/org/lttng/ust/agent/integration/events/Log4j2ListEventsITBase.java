@@ -37,6 +37,7 @@ import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.lttng.tools.ILttngSession;
 import org.lttng.tools.ILttngSession.Domain;
+import org.lttng.ust.agent.utils.CommandMetricsExtension;
 import org.lttng.ust.agent.utils.Log4j2TestContext;
 import org.lttng.ust.agent.utils.Log4j2TestUtils;
 import org.lttng.ust.agent.utils.TestPrintExtension;
@@ -46,6 +47,7 @@ import org.lttng.ust.agent.utils.TestPrintExtension;
  */
 @TestInstance(Lifecycle.PER_CLASS)
 @ExtendWith(TestPrintExtension.class)
+@ExtendWith(CommandMetricsExtension.class)
 public abstract class Log4j2ListEventsITBase {
 
     protected static final String LOGGER_NAME_1 = "org.lttng.somecomponent";